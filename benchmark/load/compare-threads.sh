@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# =====================================================================
+# Poređenje propusnosti i p99 latencije /api/events endpointa:
+# platform niti (Tomcat pool) vs virtuelne niti (+ ConnectionPoolLimitFilter)
+#
+# Potrebno: Java 21, Maven, k6, jq i lokalni PostgreSQL iz application.yml
+# sa podacima (npr. napunjen kroz POST /api/events/batch); MAX_EVENT_ID u k6 skripti je opseg ID-eva.
+#
+# Pokretanje iz korena projekta:
+#   benchmark/load/compare-threads.sh
+#   VUS=800 DURATION=120s benchmark/load/compare-threads.sh
+#
+# Za svaki režim: pokreće aplikaciju, čeka /actuator/health, zagreva je 15s,
+# pokreće k6 i na kraju ispisuje tabelu (req/s, p99, broj 503 odgovora).
+# Rezultati (k6 summary JSON i log aplikacije) ostaju u benchmark/load/results/.
+# =====================================================================
+set -euo pipefail
+
+VUS="${VUS:-400}"
+DURATION="${DURATION:-60s}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+RESULTS_DIR="benchmark/load/results"
+JAR="target/event-backend-1.0.0.jar"
+
+mkdir -p "$RESULTS_DIR"
+
+if [[ ! -f "$JAR" || "${REBUILD:-false}" == "true" ]]; then
+    mvn -B -q -DskipTests package
+fi
+
+APP_PID=""
+stop_app() {
+    if [[ -n "$APP_PID" ]]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+        APP_PID=""
+    fi
+}
+trap stop_app EXIT
+
+wait_for_health() {
+    for _ in $(seq 1 60); do
+        if curl -fs "${BASE_URL}/actuator/health" | grep -q '"UP"'; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Aplikacija se nije pokrenula (vidi ${RESULTS_DIR}/app-$1.log)" >&2
+    exit 1
+}
+
+run_mode() {
+    local mode="$1" virtual="$2"
+    echo "=== Režim: ${mode} (spring.threads.virtual.enabled=${virtual}) ==="
+
+    VIRTUAL_THREADS="$virtual" java -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.jpa.show-sql=false \
+        > "${RESULTS_DIR}/app-${mode}.log" 2>&1 &
+    APP_PID=$!
+    wait_for_health "$mode"
+
+    # Zagrevanje (JIT, keš, Hikari pool) - rezultat se ne računa
+    k6 run --quiet -e BASE_URL="$BASE_URL" -e VUS=50 -e DURATION=15s \
+        benchmark/load/events-endpoints.js > /dev/null
+
+    k6 run --quiet -e BASE_URL="$BASE_URL" -e VUS="$VUS" -e DURATION="$DURATION" \
+        --summary-export "${RESULTS_DIR}/summary-${mode}.json" \
+        benchmark/load/events-endpoints.js
+
+    stop_app
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+printf '%-10s %12s %12s %12s %10s\n' "režim" "req/s" "p50 (ms)" "p99 (ms)" "greške"
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '[
+        $mode,
+        (.metrics.http_reqs.rate | floor),
+        (.metrics.http_req_duration.med * 100 | floor / 100),
+        (.metrics.http_req_duration["p(99)"] * 100 | floor / 100),
+        (.metrics.http_req_failed.passes // 0)
+    ] | @tsv' "${RESULTS_DIR}/summary-${mode}.json" \
+        | awk -F'\t' '{ printf "%-10s %12s %12s %12s %10s\n", $1, $2, $3, $4, $5 }'
+done
@@ -0,0 +1,66 @@
+// =====================================================================
+// k6 load test: čitanje /api/events endpointa
+//
+// Pokretanje (aplikacija već radi na BASE_URL):
+//   k6 run benchmark/load/events-endpoints.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=60s benchmark/load/events-endpoints.js
+//
+// Koristi ga benchmark/load/compare-threads.sh za poređenje platform i virtuelnih niti.
+// Mešavina zahteva (po iteraciji jedan, slučajno izabran):
+//   40% GET /api/events sa filterima (OFFSET stranica + COUNT)
+//   20% GET /api/events?cursor= (keyset)
+//   20% GET /api/events/{id}
+//   10% GET /api/events/upcoming
+//   10% GET /api/events/status/PUBLISHED
+// =====================================================================
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_EVENT_ID = parseInt(__ENV.MAX_EVENT_ID || '1000', 10);
+
+export const options = {
+    vus: parseInt(__ENV.VUS || '400', 10),
+    duration: __ENV.DURATION || '60s',
+    // p(99) nije u podrazumevanom izveštaju
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    // 503 iz ConnectionPoolLimitFilter-a je očekivan odgovor pod preopterećenjem (broji se posebno)
+    thresholds: {
+        'checks': ['rate>0.95'],
+    },
+};
+
+const LOCATIONS = ['Beograd', 'Novi Sad', 'Niš', 'Kragujevac', 'Subotica'];
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+function request() {
+    const roll = Math.random();
+    if (roll < 0.4) {
+        const page = Math.floor(Math.random() * 20);
+        return http.get(`${BASE_URL}/api/events?page=${page}&size=20&status=PUBLISHED&location=${encodeURIComponent(pick(LOCATIONS))}`,
+            { tags: { name: 'GET /api/events (filteri)' } });
+    }
+    if (roll < 0.6) {
+        return http.get(`${BASE_URL}/api/events?cursor=&size=20`, { tags: { name: 'GET /api/events (cursor)' } });
+    }
+    if (roll < 0.8) {
+        const id = 1 + Math.floor(Math.random() * MAX_EVENT_ID);
+        return http.get(`${BASE_URL}/api/events/${id}`, { tags: { name: 'GET /api/events/{id}' } });
+    }
+    if (roll < 0.9) {
+        return http.get(`${BASE_URL}/api/events/upcoming?size=20`, { tags: { name: 'GET /api/events/upcoming' } });
+    }
+    return http.get(`${BASE_URL}/api/events/status/PUBLISHED?size=20`, { tags: { name: 'GET /api/events/status' } });
+}
+
+export default function () {
+    const response = request();
+    // 404 je ispravan odgovor za nepostojeći ID
+    check(response, {
+        'status 2xx/404': (r) => (r.status >= 200 && r.status < 300) || r.status === 404,
+    });
+}
@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# =====================================================================
+# Load suite: sintetički podaci + svi endpointi + izveštaj (req/s, p50/p95/p99 po endpointu)
+#
+# Potrebno: Java 21, Maven, k6, psql; Docker samo za DOCKER=true
+#
+# Pokretanje iz korena projekta:
+#   DOCKER=true benchmark/load/run-suite.sh                    # nova baza u kontejneru (postgres:16-alpine)
+#   benchmark/load/run-suite.sh                                # lokalna baza (PGHOST/PGPORT/PGDATABASE/PGUSER/PGPASSWORD)
+#   USERS=1000 EVENTS=100000 DURATION=1m benchmark/load/run-suite.sh   # brza provera
+#   SEED=false benchmark/load/run-suite.sh                     # baza je već napunjena
+#
+# Koraci:
+# 1. (DOCKER=true) pokreće PostgreSQL kontejner
+# 2. pokreće aplikaciju jednom da napravi šemu (Hibernate + schema.sql), pa je gasi
+# 3. puni bazu: benchmark/sql/seed.sql (USERS korisnika, EVENTS događaja)
+# 4. ponovo pokreće aplikaciju (da se in-memory indeksi napune novim podacima)
+# 5. k6 benchmark/load/suite.js - izveštaj na ekranu i u benchmark/load/results/suite.json
+# =====================================================================
+set -euo pipefail
+
+USERS="${USERS:-10000}"
+EVENTS="${EVENTS:-5000000}"
+SEED="${SEED:-true}"
+DOCKER="${DOCKER:-false}"
+DURATION="${DURATION:-5m}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+RESULTS_DIR="benchmark/load/results"
+JAR="target/event-backend-1.0.0.jar"
+CONTAINER="event-load-db"
+
+export PGHOST="${PGHOST:-localhost}"
+export PGPORT="${PGPORT:-5432}"
+export PGDATABASE="${PGDATABASE:-event}"
+export PGUSER="${PGUSER:-postgres}"
+export PGPASSWORD="${PGPASSWORD:-koliko11}"
+
+mkdir -p "$RESULTS_DIR"
+
+APP_PID=""
+cleanup() {
+    stop_app
+    if [[ "$DOCKER" == "true" && "${KEEP_DB:-false}" != "true" ]]; then
+        docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+    fi
+}
+trap cleanup EXIT
+
+stop_app() {
+    if [[ -n "$APP_PID" ]]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+        APP_PID=""
+    fi
+}
+
+start_app() {
+    local log="$1"
+    SPRING_DATASOURCE_URL="jdbc:postgresql://${PGHOST}:${PGPORT}/${PGDATABASE}?reWriteBatchedInserts=true" \
+    SPRING_DATASOURCE_USERNAME="$PGUSER" \
+    SPRING_DATASOURCE_PASSWORD="$PGPASSWORD" \
+        java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        > "${RESULTS_DIR}/${log}" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 120); do
+        if curl -fs "${BASE_URL}/actuator/health" | grep -q '"UP"'; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Aplikacija se nije pokrenula (vidi ${RESULTS_DIR}/${log})" >&2
+    exit 1
+}
+
+if [[ ! -f "$JAR" || "${REBUILD:-false}" == "true" ]]; then
+    mvn -B -q -DskipTests package
+fi
+
+# 1. Baza
+if [[ "$DOCKER" == "true" ]]; then
+    export PGPORT="${DOCKER_PORT:-55432}"
+    docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+    docker run -d --name "$CONTAINER" -p "${PGPORT}:5432" \
+        -e POSTGRES_DB="$PGDATABASE" -e POSTGRES_USER="$PGUSER" -e POSTGRES_PASSWORD="$PGPASSWORD" \
+        postgres:16-alpine -c shared_buffers=512MB -c max_wal_size=4GB > /dev/null
+    until pg_isready -q; do sleep 1; done
+fi
+
+# 2. Šema
+echo "=== Šema (prvo pokretanje aplikacije) ==="
+start_app app-schema.log
+stop_app
+
+# 3. Podaci
+if [[ "$SEED" == "true" ]]; then
+    echo "=== Punjenje: ${USERS} korisnika, ${EVENTS} događaja ==="
+    psql -q -v users="$USERS" -v events="$EVENTS" -f benchmark/sql/seed.sql
+fi
+
+read -r USER_MIN USER_MAX EVENT_MAX < <(psql -At -F ' ' -c \
+    "SELECT coalesce(min(u.id), 1), coalesce(max(u.id), 1), (SELECT coalesce(max(id), 1) FROM events) FROM users u")
+
+# 4. Aplikacija sa napunjenom bazom
+echo "=== Pokretanje aplikacije ==="
+start_app app-suite.log
+
+# 5. Load test
+echo "=== k6 (${DURATION}) ==="
+k6 run --quiet \
+    -e BASE_URL="$BASE_URL" -e DURATION="$DURATION" \
+    -e USER_MIN="$USER_MIN" -e USER_MAX="$USER_MAX" -e EVENT_MAX="$EVENT_MAX" \
+    -e RESULTS="${RESULTS_DIR}/suite.json" \
+    ${READ_RATE:+-e READ_RATE="$READ_RATE"} \
+    ${WRITE_RATE:+-e WRITE_RATE="$WRITE_RATE"} \
+    ${USER_RATE:+-e USER_RATE="$USER_RATE"} \
+    benchmark/load/suite.js
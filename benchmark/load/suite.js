@@ -0,0 +1,313 @@
+// =====================================================================
+// k6 load suite: svi EventController i UserController endpointi
+//
+// Pokreće ga benchmark/load/run-suite.sh (posle punjenja baze benchmark/sql/seed.sql),
+// a može i ručno nad aplikacijom koja već radi:
+//   k6 run -e USER_MIN=1 -e USER_MAX=10000 -e EVENT_MAX=5000000 benchmark/load/suite.js
+//
+// Četiri scenarija (constant-arrival-rate - broj zahteva u sekundi ne zavisi od latencije):
+//   browse   - čitanje događaja: filteri, duboke stranice, keyset, po ID-u, upcoming, search...
+//   organize - organizator: kreira događaj, objavljuje ga (PATCH status), menja ili briše
+//   users    - čitanje korisnika, registracija novih i brisanje
+//   bulk     - retki masovni zahtevi: batch kreiranje, uvoz korisnika, export
+//
+// Podešavanje (env): BASE_URL, DURATION, READ_RATE, WRITE_RATE, USER_RATE, BULK_INTERVAL,
+// USER_MIN, USER_MAX, EVENT_MAX, RESULTS (putanja JSON izveštaja)
+//
+// Izveštaj (handleSummary): po endpointu broj zahteva, req/s, p50/p95/p99 i procenat grešaka.
+// =====================================================================
+
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const DURATION = __ENV.DURATION || '5m';
+const USER_MIN = parseInt(__ENV.USER_MIN || '1', 10);
+const USER_MAX = parseInt(__ENV.USER_MAX || '10000', 10);
+const EVENT_MAX = parseInt(__ENV.EVENT_MAX || '5000000', 10);
+const RESULTS = __ENV.RESULTS || 'benchmark/load/results/suite.json';
+
+// Isti rečnik kao benchmark/sql/seed.sql
+const LOCATIONS = ['Beograd', 'Novi Sad', 'Niš', 'Kragujevac', 'Subotica', 'Zrenjanin', 'Pančevo', 'Čačak',
+    'Kraljevo', 'Novi Pazar', 'Kruševac', 'Leskovac', 'Valjevo', 'Šabac', 'Smederevo',
+    'Užice', 'Vranje', 'Sombor', 'Zaječar', 'Pirot'];
+const TOPICS = ['Java', 'Spring', 'PostgreSQL', 'Kotlin', 'DevOps', 'Cloud', 'Python', 'Frontend', 'Security', 'Data'];
+const KINDS = ['meetup', 'konferencija', 'radionica', 'predavanje', 'hakaton'];
+const STATUSES = ['DRAFT', 'PUBLISHED', 'CANCELLED', 'COMPLETED'];
+
+const ENDPOINTS = [
+    'events_list', 'events_list_filtered', 'events_list_deep', 'events_list_cursor',
+    'events_by_id', 'events_by_user', 'events_by_status', 'events_upcoming', 'events_search',
+    'events_create', 'events_update', 'events_patch_status', 'events_delete',
+    'events_batch', 'events_export',
+    'users_list', 'users_by_id', 'users_by_username', 'users_exists', 'users_create', 'users_delete',
+    'users_import',
+];
+
+function scenario(rate, exec, timeUnit = '1s') {
+    return {
+        executor: 'constant-arrival-rate',
+        rate,
+        timeUnit,
+        duration: DURATION,
+        preAllocatedVUs: Math.max(10, rate),
+        maxVUs: Math.max(50, rate * 10),
+        exec,
+    };
+}
+
+// Pod-metrike po endpointu se pojavljuju u izveštaju samo ako imaju threshold
+const thresholds = { checks: ['rate>0.95'] };
+for (const endpoint of ENDPOINTS) {
+    thresholds[`http_req_duration{endpoint:${endpoint}}`] = ['p(99)>=0'];
+    thresholds[`http_reqs{endpoint:${endpoint}}`] = ['count>=0'];
+    thresholds[`http_req_failed{endpoint:${endpoint}}`] = ['rate>=0'];
+}
+
+export const options = {
+    scenarios: {
+        browse: scenario(parseInt(__ENV.READ_RATE || '200', 10), 'browse'),
+        organize: scenario(parseInt(__ENV.WRITE_RATE || '20', 10), 'organize'),
+        users: scenario(parseInt(__ENV.USER_RATE || '30', 10), 'users'),
+        bulk: scenario(1, 'bulk', __ENV.BULK_INTERVAL || '10s'),
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds,
+};
+
+// 404 (nepostojeći ID/username u slučajnom izboru) je ispravan odgovor, ne greška
+http.setResponseCallback(http.expectedStatuses({ min: 200, max: 299 }, 404));
+
+// ---------------------------------------------------------------------
+// Pomoćne funkcije
+// ---------------------------------------------------------------------
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+function randomInt(min, max) {
+    return min + Math.floor(Math.random() * (max - min + 1));
+}
+
+/**
+ * Neravnomeran izbor kao u seed.sql - manji brojevi su češći (popularni događaji/korisnici)
+ */
+function skewed(min, max) {
+    return min + Math.floor(Math.pow(Math.random(), 2) * (max - min + 1));
+}
+
+function isoDate(offsetDays) {
+    return new Date(Date.now() + offsetDays * 86400000).toISOString().substring(0, 19);
+}
+
+function get(path, endpoint) {
+    return http.get(`${BASE_URL}${path}`, { tags: { endpoint } });
+}
+
+function json(method, path, body, endpoint) {
+    return http.request(method, `${BASE_URL}${path}`, body === null ? null : JSON.stringify(body), {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { endpoint },
+    });
+}
+
+function ok(response, ...accepted) {
+    return check(response, {
+        'očekivan status': (r) => (r.status >= 200 && r.status < 300) || accepted.includes(r.status),
+    });
+}
+
+function newEvent() {
+    return {
+        title: `${pick(TOPICS)} ${pick(KINDS)} (load test)`,
+        description: 'Događaj napravljen tokom load testa',
+        eventDate: isoDate(randomInt(1, 365)),
+        location: pick(LOCATIONS),
+        status: 'DRAFT',
+    };
+}
+
+function uniqueName(prefix) {
+    return `${prefix}_${exec.vu.idInTest}_${exec.scenario.iterationInTest}_${Date.now() % 100000000}`;
+}
+
+// ---------------------------------------------------------------------
+// browse - čitanje događaja
+// ---------------------------------------------------------------------
+
+export function browse() {
+    const roll = Math.random();
+
+    if (roll < 0.05) {
+        ok(get('/api/events?page=0&size=20', 'events_list'));
+    } else if (roll < 0.30) {
+        // Filtrirana lista - slučajna kombinacija filtera i sortiranja
+        const params = [`page=${randomInt(0, 5)}`, 'size=20'];
+        if (Math.random() < 0.7) params.push(`status=${Math.random() < 0.8 ? 'PUBLISHED' : pick(STATUSES)}`);
+        if (Math.random() < 0.5) params.push(`location=${encodeURIComponent(pick(LOCATIONS))}`);
+        if (Math.random() < 0.3) params.push(`title=${encodeURIComponent(pick(TOPICS).toLowerCase())}`);
+        if (Math.random() < 0.3) params.push(`fromDate=${isoDate(0)}`, `toDate=${isoDate(randomInt(7, 90))}`);
+        params.push(`sortBy=${pick(['id', 'eventDate'])}`, `sortDir=${pick(['asc', 'desc'])}`);
+        ok(get(`/api/events?${params.join('&')}`, 'events_list_filtered'));
+    } else if (roll < 0.40) {
+        // Duboka stranica (OFFSET stotine hiljada redova)
+        ok(get(`/api/events?page=${randomInt(1000, 20000)}&size=20&sortBy=eventDate`, 'events_list_deep'));
+    } else if (roll < 0.55) {
+        // Keyset - prve tri stranice prateći nextCursor
+        let cursor = '';
+        for (let i = 0; i < 3; i++) {
+            const response = get(`/api/events?cursor=${encodeURIComponent(cursor)}&size=20&status=PUBLISHED`,
+                'events_list_cursor');
+            ok(response);
+            cursor = response.status === 200 ? response.json('nextCursor') : null;
+            if (!cursor) break;
+        }
+    } else if (roll < 0.70) {
+        ok(get(`/api/events/${skewed(1, EVENT_MAX)}`, 'events_by_id'), 404);
+    } else if (roll < 0.78) {
+        ok(get('/api/events/upcoming?size=20', 'events_upcoming'));
+    } else if (roll < 0.83) {
+        ok(get(`/api/events/status/${pick(STATUSES)}?page=${randomInt(0, 10)}&size=20`, 'events_by_status'));
+    } else if (roll < 0.90) {
+        ok(get(`/api/events/user/${skewed(USER_MIN, USER_MAX)}?size=20`, 'events_by_user'));
+    } else {
+        const q = Math.random() < 0.5 ? `${pick(TOPICS)} ${pick(KINDS)}` : pick(TOPICS);
+        ok(get(`/api/events/search?q=${encodeURIComponent(q)}&size=20`, 'events_search'));
+    }
+}
+
+// ---------------------------------------------------------------------
+// organize - organizator kreira i menja svoj događaj
+// ---------------------------------------------------------------------
+
+export function organize() {
+    const userId = skewed(USER_MIN, USER_MAX);
+    const created = json('POST', `/api/events?userId=${userId}`, newEvent(), 'events_create');
+    if (!ok(created) || created.status !== 201) {
+        return;
+    }
+    const id = created.json('id');
+
+    ok(json('PATCH', `/api/events/${id}/status?status=PUBLISHED&userId=${userId}`, null, 'events_patch_status'));
+
+    const roll = Math.random();
+    if (roll < 0.3) {
+        const updated = newEvent();
+        updated.status = 'PUBLISHED';
+        ok(json('PUT', `/api/events/${id}?userId=${userId}`, updated, 'events_update'));
+    } else if (roll < 0.5) {
+        ok(http.del(`${BASE_URL}/api/events/${id}?userId=${userId}`, null, { tags: { endpoint: 'events_delete' } }));
+    }
+}
+
+// ---------------------------------------------------------------------
+// users - čitanje korisnika, registracija i brisanje
+// ---------------------------------------------------------------------
+
+export function users() {
+    const roll = Math.random();
+    const n = skewed(USER_MIN, USER_MAX);
+
+    if (roll < 0.40) {
+        ok(get(`/api/users/${n}`, 'users_by_id'), 404);
+    } else if (roll < 0.70) {
+        ok(get(`/api/users/username/user_${n}`, 'users_by_username'), 404);
+    } else if (roll < 0.85) {
+        ok(get(`/api/users/exists/user_${n}`, 'users_exists'));
+    } else if (roll < 0.995) {
+        const username = uniqueName('lt');
+        const created = json('POST', '/api/users', {
+            username,
+            email: `${username}@example.com`,
+            password: 'password123',
+            role: 'USER',
+        }, 'users_create');
+        ok(created);
+        // Deo novih korisnika odmah obriše nalog (nemaju događaje, pa brisanje uspeva)
+        if (created.status === 201 && Math.random() < 0.3) {
+            ok(http.del(`${BASE_URL}/api/users/${created.json('id')}`, null, { tags: { endpoint: 'users_delete' } }));
+        }
+    } else {
+        // GET /api/users vraća sve korisnike - retko, ali postoji u API-ju
+        ok(get('/api/users', 'users_list'));
+    }
+}
+
+// ---------------------------------------------------------------------
+// bulk - batch kreiranje, uvoz korisnika, export
+// ---------------------------------------------------------------------
+
+export function bulk() {
+    const userId = skewed(USER_MIN, USER_MAX);
+    const events = [];
+    for (let i = 0; i < 100; i++) {
+        events.push(newEvent());
+    }
+    ok(json('POST', `/api/events/batch?userId=${userId}`, events, 'events_batch'));
+
+    const rows = [];
+    for (let i = 0; i < 100; i++) {
+        const username = uniqueName(`imp${i}`);
+        rows.push(JSON.stringify({ username, email: `${username}@example.com`, password: 'password123', role: 'USER' }));
+    }
+    ok(http.post(`${BASE_URL}/api/users/import`, rows.join('\n'), {
+        headers: { 'Content-Type': 'application/x-ndjson' },
+        tags: { endpoint: 'users_import' },
+    }));
+
+    // Mali isečak (retka lokacija + otkazani) da export ne bi trajao minutima
+    ok(get(`/api/events/export?format=${pick(['ndjson', 'csv'])}&status=CANCELLED&location=Pirot`
+        + `&fromDate=${isoDate(0)}&toDate=${isoDate(30)}`, 'events_export'));
+}
+
+// ---------------------------------------------------------------------
+// Izveštaj po endpointu
+// ---------------------------------------------------------------------
+
+function metricValue(data, name, stat) {
+    const metric = data.metrics[name];
+    return metric && metric.values[stat] !== undefined ? metric.values[stat] : 0;
+}
+
+function pad(value, width) {
+    const text = String(value);
+    return text.length >= width ? text : ' '.repeat(width - text.length) + text;
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const lines = [
+        '',
+        `Trajanje: ${seconds.toFixed(0)}s`,
+        '',
+        `${'endpoint'.padEnd(24)}${pad('zahteva', 10)}${pad('req/s', 10)}${pad('p50 ms', 10)}`
+            + `${pad('p95 ms', 10)}${pad('p99 ms', 10)}${pad('greške %', 10)}`,
+    ];
+
+    for (const endpoint of ENDPOINTS) {
+        const count = metricValue(data, `http_reqs{endpoint:${endpoint}}`, 'count');
+        if (count === 0) continue;
+        const duration = `http_req_duration{endpoint:${endpoint}}`;
+        lines.push(endpoint.padEnd(24)
+            + pad(count, 10)
+            + pad((count / seconds).toFixed(1), 10)
+            + pad(metricValue(data, duration, 'med').toFixed(1), 10)
+            + pad(metricValue(data, duration, 'p(95)').toFixed(1), 10)
+            + pad(metricValue(data, duration, 'p(99)').toFixed(1), 10)
+            + pad((metricValue(data, `http_req_failed{endpoint:${endpoint}}`, 'rate') * 100).toFixed(2), 10));
+    }
+
+    const total = metricValue(data, 'http_reqs', 'count');
+    lines.push('');
+    lines.push(`Ukupno: ${total} zahteva, ${(total / seconds).toFixed(1)} req/s, `
+        + `p50 ${metricValue(data, 'http_req_duration', 'med').toFixed(1)} ms, `
+        + `p99 ${metricValue(data, 'http_req_duration', 'p(99)').toFixed(1)} ms`);
+    lines.push('');
+
+    return {
+        stdout: lines.join('\n'),
+        [RESULTS]: JSON.stringify(data, null, 2),
+    };
+}
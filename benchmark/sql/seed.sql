@@ -0,0 +1,80 @@
+-- =====================================================================
+-- Sintetički podaci za load testove (benchmark/load/run-suite.sh)
+--
+-- Pokretanje (tabele već moraju postojati - aplikacija ih pravi pri prvom pokretanju):
+--   psql -d event -f benchmark/sql/seed.sql
+--   psql -d event -v users=10000 -v events=5000000 -f benchmark/sql/seed.sql
+--
+-- Dodaje podatke na postojeće (ne briše ništa). Raspodele su namerno neravnomerne,
+-- kao u pravim podacima, da bi planovi upita i keš bili realni:
+-- - lokacije: nekoliko velikih gradova ima većinu događaja (power(random(), 3))
+-- - datumi: 20% u prošlih 6 meseci, ostatak do 2 godine unapred (gušće u bliskoj budućnosti)
+-- - statusi: 70% PUBLISHED, 15% DRAFT, 10% COMPLETED, 5% CANCELLED
+-- - kreatori: mali broj korisnika kreira većinu događaja
+--
+-- 5M događaja traje nekoliko minuta (održavaju se i trigram/full-text indeksi).
+-- =====================================================================
+
+\set ON_ERROR_STOP on
+\if :{?users}
+\else
+  \set users 10000
+\endif
+\if :{?events}
+\else
+  \set events 5000000
+\endif
+\timing on
+
+SELECT coalesce(max(id), 0) AS user_offset FROM users \gset
+SELECT coalesce(max(id), 0) AS event_offset FROM events \gset
+
+-- ---------------------------------------------------------------------
+-- Korisnici: user_<n> / user_<n>@example.com, lozinka password123, 10% ADMIN
+-- ---------------------------------------------------------------------
+\echo 'Korisnici:' :users
+INSERT INTO users (username, email, password, role, created_at, updated_at)
+SELECT 'user_' || (:user_offset + g),
+       'user_' || (:user_offset + g) || '@example.com',
+       'password123',
+       CASE WHEN g % 10 = 0 THEN 'ADMIN' ELSE 'USER' END,
+       now() - (g % 365) * interval '1 day',
+       now() - (g % 365) * interval '1 day'
+FROM generate_series(1, :users) AS g;
+
+SELECT min(id) AS user_min, max(id) AS user_max FROM users WHERE id > :user_offset \gset
+
+-- ---------------------------------------------------------------------
+-- Događaji (ID-evi posle postojećih; events_seq se na kraju pomera iza njih)
+-- x - slučajne vrednosti po redu (g * 0 - da bi se LATERAL računao za svaki red)
+-- ---------------------------------------------------------------------
+\echo 'Događaji:' :events
+INSERT INTO events (id, title, description, event_date, location, status, user_id, created_at, updated_at)
+SELECT :event_offset + g,
+       (ARRAY['Java', 'Spring', 'PostgreSQL', 'Kotlin', 'DevOps', 'Cloud', 'Python', 'Frontend', 'Security', 'Data'])[1 + (g % 10)]
+           || ' ' || (ARRAY['meetup', 'konferencija', 'radionica', 'predavanje', 'hakaton'])[1 + ((g / 10) % 5)]
+           || ' #' || g,
+       'Opis događaja ' || g || ': ' || md5(g::text),
+       now() + CASE WHEN x.d < 0.2 THEN -x.d * 900
+                    ELSE power((x.d - 0.2) / 0.8, 2) * 730 END * interval '1 day',
+       (ARRAY['Beograd', 'Novi Sad', 'Niš', 'Kragujevac', 'Subotica', 'Zrenjanin', 'Pančevo', 'Čačak',
+              'Kraljevo', 'Novi Pazar', 'Kruševac', 'Leskovac', 'Valjevo', 'Šabac', 'Smederevo',
+              'Užice', 'Vranje', 'Sombor', 'Zaječar', 'Pirot'])[1 + floor(power(x.l, 3) * 20)::int],
+       CASE WHEN x.s < 0.70 THEN 'PUBLISHED'
+            WHEN x.s < 0.85 THEN 'DRAFT'
+            WHEN x.s < 0.95 THEN 'COMPLETED'
+            ELSE 'CANCELLED' END,
+       :user_min + floor(power(x.u, 2) * (:user_max - :user_min + 1))::bigint,
+       now() - (g % 365) * interval '1 day',
+       now() - (g % 30) * interval '1 day'
+FROM generate_series(1, :events) AS g
+CROSS JOIN LATERAL (
+    SELECT random() + g * 0 AS d, random() AS l, random() AS s, random() AS u
+) AS x;
+
+SELECT setval('events_seq', GREATEST((SELECT last_value FROM events_seq), (SELECT max(id) FROM events) + 50));
+
+ANALYZE users;
+ANALYZE events;
+
+SELECT (SELECT count(*) FROM users) AS users_total, (SELECT count(*) FROM events) AS events_total;
@@ -0,0 +1,89 @@
+-- =====================================================================
+-- Benchmark: pretraga po delu naslova/lokacije sa i bez trigram indeksa
+--
+-- Pokretanje (na lokalnoj bazi, ne dira tabelu events):
+--   psql -d event -f benchmark/sql/trigram-search.sql
+--
+-- Broj redova se menja preko promenljive rows:
+--   psql -d event -v rows=5000000 -f benchmark/sql/trigram-search.sql
+--
+-- Skripta pravi tabelu events_bench sa istim kolonama kao events,
+-- meri upite koje generiše EventSpecifications (lower(kolona) LIKE '%tekst%')
+-- prvo bez, pa sa GIN trigram indeksima, i na kraju briše tabelu.
+-- Porediti "Execution Time" iz EXPLAIN ANALYZE izlaza.
+-- =====================================================================
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 1000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS events_bench;
+CREATE TABLE events_bench (
+    id          bigserial PRIMARY KEY,
+    title       varchar(255) NOT NULL,
+    location    varchar(255) NOT NULL,
+    status      varchar(255) NOT NULL,
+    event_date  timestamp(6) NOT NULL
+);
+
+-- Sintetički podaci: naslovi od nekoliko reči, lokacije sa neravnomernom raspodelom
+INSERT INTO events_bench (title, location, status, event_date)
+SELECT
+    (ARRAY['Konferencija', 'Meetup', 'Radionica', 'Koncert', 'Festival', 'Predavanje'])[1 + (g % 6)]
+        || ' ' || (ARRAY['Java', 'Python', 'Spring', 'PostgreSQL', 'Kotlin', 'Rust', 'DevOps', 'Cloud'])[1 + ((g / 6) % 8)]
+        || ' ' || g,
+    (ARRAY['Beograd', 'Beograd', 'Beograd', 'Novi Sad', 'Novi Sad', 'Niš', 'Kragujevac', 'Subotica', 'Čačak', 'Zrenjanin'])[1 + (g % 10)],
+    (ARRAY['DRAFT', 'PUBLISHED', 'PUBLISHED', 'PUBLISHED', 'CANCELLED', 'COMPLETED'])[1 + (g % 6)],
+    now() + (g % 1000) * interval '1 hour'
+FROM generate_series(1, :rows) AS g;
+
+ANALYZE events_bench;
+
+-- ---------------------------------------------------------------------
+-- 1) Bez trigram indeksa - sekvencijalno skeniranje cele tabele
+-- ---------------------------------------------------------------------
+\echo '=== BEZ trigram indeksa ==='
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title, location FROM events_bench
+WHERE lower(title) LIKE '%postgres%' AND lower(location) LIKE '%novi sad%'
+ORDER BY id LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM events_bench
+WHERE lower(title) LIKE '%postgres%' AND lower(location) LIKE '%novi sad%';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM events_bench
+WHERE lower(title) LIKE '%12345%'
+ORDER BY id LIMIT 10;
+
+-- ---------------------------------------------------------------------
+-- 2) Sa trigram indeksima (isti izrazi kao u src/main/resources/schema.sql)
+-- ---------------------------------------------------------------------
+CREATE INDEX idx_events_bench_title_trgm ON events_bench USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX idx_events_bench_location_trgm ON events_bench USING gin (lower(location) gin_trgm_ops);
+ANALYZE events_bench;
+
+\echo '=== SA trigram indeksima ==='
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title, location FROM events_bench
+WHERE lower(title) LIKE '%postgres%' AND lower(location) LIKE '%novi sad%'
+ORDER BY id LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM events_bench
+WHERE lower(title) LIKE '%postgres%' AND lower(location) LIKE '%novi sad%';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM events_bench
+WHERE lower(title) LIKE '%12345%'
+ORDER BY id LIMIT 10;
+
+DROP TABLE events_bench;
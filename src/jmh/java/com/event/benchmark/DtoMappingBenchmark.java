@@ -0,0 +1,94 @@
+package com.event.benchmark;
+
+import com.event.dto.EventRequest;
+import com.event.dto.EventResponse;
+import com.event.dto.UserResponse;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DtoMappingBenchmark - mapiranje entitet ↔ DTO koje se izvršava u svakom zahtevu
+ * 
+ * - EventResponse.from(Event) - odgovor za create/update/status (i snapshot za EventChangedEvent)
+ * - UserResponse.from(User) - svaki /api/users odgovor
+ * - EventRequest.toEntity() - svaki POST/PUT događaja
+ * 
+ * Sa -prof gc (podrazumevano u jmh profilu) izveštaj sadrži i gc.alloc.rate.norm -
+ * broj bajtova alociranih po operaciji, što je najosetljiviji pokazatelj regresije.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+    
+    private Event event;
+    private User user;
+    private EventRequest request;
+    
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 15, 10, 0);
+        
+        user = User.builder()
+                .id(42L)
+                .username("organizator")
+                .email("organizator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        
+        event = Event.builder()
+                .id(1000L)
+                .title("Java konferencija 2026")
+                .description("Dvodnevna konferencija o Javi, Spring-u i PostgreSQL-u")
+                .eventDate(now.plusDays(30))
+                .location("Beograd")
+                .status(EventStatus.PUBLISHED)
+                .createdBy(user)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        
+        request = EventRequest.builder()
+                .title("Java konferencija 2026")
+                .description("Dvodnevna konferencija o Javi, Spring-u i PostgreSQL-u")
+                .eventDate(now.plusDays(30))
+                .location("Beograd")
+                .status(EventStatus.PUBLISHED)
+                .build();
+    }
+    
+    @Benchmark
+    public EventResponse eventResponseFrom() {
+        return EventResponse.from(event);
+    }
+    
+    @Benchmark
+    public UserResponse userResponseFrom() {
+        return UserResponse.from(user);
+    }
+    
+    @Benchmark
+    public Event eventRequestToEntity() {
+        return request.toEntity();
+    }
+}
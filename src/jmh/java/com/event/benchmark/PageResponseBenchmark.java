@@ -0,0 +1,108 @@
+package com.event.benchmark;
+
+import com.event.dto.EventResponse;
+import com.event.dto.PageResponse;
+import com.event.model.Event.EventStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageResponseBenchmark - pravljenje i JSON serijalizacija stranice događaja
+ * 
+ * Isti put kao u svakom listing endpointu EventController-a:
+ * Page<EventResponse> → PageResponse.from(page) → Jackson → bajtovi odgovora
+ * 
+ * pageSize - realne veličine stranica (10 - podrazumevano, 100 - veće liste, 1000 - izvoz/integracije)
+ * 
+ * ObjectMapper je podešen kao u Spring Boot-u (JavaTimeModule, datumi kao ISO string).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageResponseBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private Page<EventResponse> page;
+    private PageResponse<EventResponse> pageResponse;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        
+        LocalDateTime now = LocalDateTime.of(2026, 10, 15, 10, 0);
+        EventStatus[] statuses = EventStatus.values();
+        List<EventResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(EventResponse.builder()
+                    .id((long) i + 1)
+                    .title("Događaj " + i)
+                    .description("Opis događaja broj " + i + " sa nešto dužim tekstom, kao u pravim podacima")
+                    .eventDate(now.plusHours(i))
+                    .location(i % 2 == 0 ? "Beograd" : "Novi Sad")
+                    .status(statuses[i % statuses.length])
+                    .createdById(42L)
+                    .createdByUsername("organizator")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 50_000);
+        pageResponse = PageResponse.from(page);
+    }
+    
+    /**
+     * Samo builder kod iz kontrolera (Page → PageResponse)
+     */
+    @Benchmark
+    public PageResponse<EventResponse> buildPageResponse() {
+        return PageResponse.from(page);
+    }
+    
+    /**
+     * Samo Jackson serijalizacija gotovog PageResponse-a
+     */
+    @Benchmark
+    public byte[] serializePageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+    
+    /**
+     * Ceo put od stranice iz servisa do bajtova odgovora
+     */
+    @Benchmark
+    public byte[] buildAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PageResponse.from(page));
+    }
+}
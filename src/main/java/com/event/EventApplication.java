@@ -2,6 +2,7 @@ package com.event;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Glavna klasa Spring Boot aplikacije
@@ -15,8 +16,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Pokreće embedded Tomcat server (default port 8080)
  * - Učitava sve komponente iz paketa com.event i podpaketa
  * - Konfiguriše sve što je potrebno na osnovu dependency-ja u pom.xml
+ * 
+ * @EnableScheduling - uključuje @Scheduled zadatke (npr. čišćenje isteklih događaja iz UpcomingEventsIndex)
  */
 @SpringBootApplication
+@EnableScheduling
 public class EventApplication {
 
     public static void main(String[] args) {
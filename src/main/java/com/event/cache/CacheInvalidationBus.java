@@ -0,0 +1,297 @@
+package com.event.cache;
+
+import com.event.datasource.ReadRoutingContext;
+import com.event.notify.PostgresListener;
+import com.event.notify.PostgresNotifier;
+import com.event.service.EventChangedEvent;
+import com.event.service.UserDeletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * CacheInvalidationBus - invalidacija in-memory keševa na svim čvorovima preko PostgreSQL LISTEN/NOTIFY
+ *
+ * Keševi (EventResponseCache, UpcomingEventsIndex) se ažuriraju posle commit-a izmene, ali samo na
+ * čvoru koji je izmenu napravio. Sa više čvorova iza load balancer-a, ostali bi vraćali staro stanje
+ * do isteka ttl-a. Zato se posle commit-a izmene šalju i kao mala poruka na kanal cache_invalidation,
+ * a svaki čvor je primenjuje na svoje keševe - bez dodatne infrastrukture.
+ *
+ * Jedna poruka po transakciji: izmene se skupljaju dok transakcija traje (id događaja -> verzija,
+ * id-evi obrisanih korisnika) i šalju zajedno posle commit-a - batch od hiljadu događaja ne pravi
+ * hiljadu NOTIFY poruka. Ako transakcija promeni više od maxKeys ključeva (ili poruka ne staje u
+ * NOTIFY), šalje se poruka "isprazni sve" (flush) - jeftinije nego hiljade pojedinačnih invalidacija.
+ *
+ * Redosled: poruke sa različitih čvorova mogu stići drugim redom nego što su izmene commit-ovane.
+ * Zato poruka nosi verziju događaja posle izmene (Event.version), a EventResponseCache pamti najveću
+ * invalidiranu verziju po id-u - starija poruka ne izbacuje noviji unos, a zastareo unos (npr. učitan
+ * sa replike koja kasni) se ne pamti.
+ *
+ * Propuštene poruke - svi keševi se prazne i ponovo pune iz baze (flush):
+ * - dok LISTEN konekcija ne postoji, NOTIFY poruke se gube - flush posle ponovnog povezivanja
+ * - pun red za slanje (PostgresNotifier) - umesto odbačenih poruka ostali čvorovi dobijaju flush poruku
+ * - pun red za primenu na ovom čvoru - flush posle poruka koje su već u redu
+ *
+ * Primena ne ide na niti slušaoca: ta nit je jedna za sve kanale, a ponovno čitanje događaja je
+ * upit na bazu. Poruke se primenjuju na posebnoj niti (redom kojim su stigle), sa čitanjem sa
+ * primarne baze - replika možda još nije primila izmenu.
+ *
+ * Sopstvene poruke (origin = ovaj čvor) se preskaču - lokalni keševi su već ažurirani
+ * svojim AFTER_COMMIT slušaocima.
+ *
+ * Metrike: event.cache-bus.received{entity}, event.cache-bus.flushes.
+ */
+@Component
+@ConditionalOnProperty(name = "event.cache-bus.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationBus {
+
+    /**
+     * Poruka na kanalu - origin je čvor koji je poslao poruku
+     *
+     * @param events - id događaja -> verzija posle izmene
+     * @param users - id-evi obrisanih korisnika
+     * @param flush - primalac prazni sve keševe (events i users su tada prazni)
+     */
+    public record Invalidation(String origin, Map<Long, Long> events, Set<Long> users, boolean flush) {
+
+        public Invalidation {
+            events = events != null ? events : Map.of();
+            users = users != null ? users : Set.of();
+        }
+    }
+
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final PostgresNotifier notifier;
+    private final ObjectMapper objectMapper;
+    private final EventResponseCache eventResponseCache;
+    private final EventCountCache eventCountCache;
+    private final UpcomingEventsIndex upcomingEventsIndex;
+    private final EventCounters eventCounters;
+    private final String channel;
+    private final int maxKeys;
+    private final String flushPayload;
+    private final MeterRegistry meterRegistry;
+    private final Counter flushes;
+
+    /**
+     * Nit za primenu poruka - kada je red pun, poruke se ne primenjuju pojedinačno, već flush
+     */
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    public CacheInvalidationBus(
+            PostgresNotifier notifier,
+            PostgresListener listener,
+            ObjectMapper objectMapper,
+            EventResponseCache eventResponseCache,
+            EventCountCache eventCountCache,
+            UpcomingEventsIndex upcomingEventsIndex,
+            EventCounters eventCounters,
+            MeterRegistry meterRegistry,
+            @Value("${event.cache-bus.channel:cache_invalidation}") String channel,
+            @Value("${event.cache-bus.max-keys:200}") int maxKeys
+    ) {
+        this.notifier = notifier;
+        this.objectMapper = objectMapper;
+        this.eventResponseCache = eventResponseCache;
+        this.eventCountCache = eventCountCache;
+        this.upcomingEventsIndex = upcomingEventsIndex;
+        this.eventCounters = eventCounters;
+        this.channel = channel;
+        this.maxKeys = maxKeys;
+        this.flushPayload = toJson(new Invalidation(nodeId, Map.of(), Set.of(), true));
+        this.meterRegistry = meterRegistry;
+        this.flushes = Counter.builder("event.cache-bus.flushes")
+                .description("Pražnjenja keševa posle propuštenih ili prevelikih invalidacija")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                Thread.ofPlatform().name("cache-bus").daemon().factory(),
+                (task, pool) -> overflow());
+
+        notifier.onOverflow(channel, flushPayload);
+        listener.listen(channel, this::onNotification);
+        listener.onReconnect(this::requestFlush);
+    }
+
+    /**
+     * Izmena događaja (kreiranje, izmena, status, brisanje) - šalje se posle commit-a transakcije
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent change) {
+        collect(pending -> pending.events.merge(change.getEventId(), EventResponseCache.versionAfter(change), Math::max));
+    }
+
+    /**
+     * Brisanje korisnika - posle commit-a se izbacuje lokalno i javlja ostalim čvorovima
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent deleted) {
+        collect(pending -> pending.users.add(deleted.getUserId()));
+    }
+
+    /**
+     * Poruka sa LISTEN konekcije (nit slušaoca) - samo se čita i predaje niti za primenu
+     */
+    void onNotification(String payload) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(payload, Invalidation.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Neispravna poruka na kanalu {}: {}", channel, e.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        if (invalidation.flush()) {
+            requestFlush();
+            return;
+        }
+        meterRegistry.counter("event.cache-bus.received", "entity", "event").increment(invalidation.events().size());
+        meterRegistry.counter("event.cache-bus.received", "entity", "user").increment(invalidation.users().size());
+        submit(() -> apply(invalidation));
+    }
+
+    /**
+     * Poruke su možda propuštene - svi keševi se prazne i pune iz baze (na niti za primenu)
+     */
+    void requestFlush() {
+        submit(this::flush);
+    }
+
+    void flush() {
+        log.info("Keševi se prazne i ponovo pune iz baze (propuštene ili prevelike invalidacije)");
+        flushes.increment();
+        eventResponseCache.invalidateAll();
+        eventCountCache.invalidateAll();
+        upcomingEventsIndex.reload();
+        if (eventCounters.isReady()) {
+            eventCounters.reconcile();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Dodaje izmenu u izmene tekuće transakcije - van transakcije se šalje odmah
+     */
+    private void collect(Consumer<Pending> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending immediate = new Pending();
+            change.accept(immediate);
+            immediate.afterCommit();
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        change.accept(pending);
+    }
+
+    /**
+     * Izmene jedne transakcije - posle commit-a jedna poruka, posle rollback-a ništa
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<Long, Long> events = new LinkedHashMap<>();
+        private final Set<Long> users = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            publish(events, users);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+
+    private void publish(Map<Long, Long> events, Set<Long> users) {
+        for (Long userId : users) {
+            removeCreatedBy(userId);
+        }
+
+        String payload = flushPayload;
+        if (events.size() + users.size() <= maxKeys) {
+            String keys = toJson(new Invalidation(nodeId, events, users, false));
+            if (PostgresNotifier.fits(keys)) {
+                payload = keys;
+            }
+        }
+        notifier.send(channel, payload);
+    }
+
+    private void apply(Invalidation invalidation) {
+        invalidation.events().forEach((id, version) -> {
+            eventResponseCache.invalidate(id, version);
+            upcomingEventsIndex.refresh(id);
+        });
+        for (Long userId : invalidation.users()) {
+            removeCreatedBy(userId);
+        }
+    }
+
+    private void removeCreatedBy(Long userId) {
+        eventResponseCache.invalidateCreatedBy(userId);
+        upcomingEventsIndex.removeCreatedBy(userId);
+    }
+
+    /**
+     * Zadatak na niti za primenu, sa čitanjem sa primarne baze; posle njega flush ako je red bio pun
+     */
+    private void submit(Runnable task) {
+        executor.execute(() -> {
+            ReadRoutingContext.runOnPrimary(task);
+            if (flushRequested.compareAndSet(true, false)) {
+                ReadRoutingContext.runOnPrimary(this::flush);
+            }
+        });
+    }
+
+    private void overflow() {
+        if (flushRequested.compareAndSet(false, true)) {
+            log.warn("Red invalidacija je pun ({} poruka) - keševi će biti ispražnjeni", QUEUE_CAPACITY);
+        }
+    }
+
+    private String toJson(Invalidation invalidation) {
+        try {
+            return objectMapper.writeValueAsString(invalidation);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalidacija ne može da se serijalizuje", e);
+        }
+    }
+}
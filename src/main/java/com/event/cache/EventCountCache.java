@@ -0,0 +1,88 @@
+package com.event.cache;
+
+import com.event.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * EventCountCache - procenjen broj događaja za stranice sa totalMode=estimated
+ * 
+ * Dva izvora procene:
+ * - cela tabela (bez filtera) - pg_class.reltuples, broj redova iz statistike planera
+ *   (osvežava ga ANALYZE/autovacuum), čita se bez skeniranja tabele
+ * - sa uslovima (filteri, status, korisnik, pretraga) - pravi COUNT, ali jednom u ttl po ključu;
+ *   ostali zahtevi u tom periodu dobijaju zapamćen broj
+ * 
+ * Izmene događaja ne brišu zapamćene brojeve - procena sme da kasni najviše ttl.
+ * 
+ * Metrike: cache.gets/cache.size sa tagom cache=events.count.
+ */
+@Component
+public class EventCountCache {
+    
+    static final String CACHE_NAME = "events.count";
+    
+    /**
+     * Ključ zapamćenog broja: vrsta upita (npr. "status") i njegov parametar
+     */
+    public record Key(String query, Object parameter) {
+    }
+    
+    private static final Key ALL = new Key("all", null);
+    
+    private final Cache<Key, Long> cache;
+    private final EventRepository eventRepository;
+    
+    public EventCountCache(
+            @Value("${event.count-cache.maximum-size:10000}") long maximumSize,
+            @Value("${event.count-cache.ttl:1m}") Duration ttl,
+            EventRepository eventRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.eventRepository = eventRepository;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * Zapamćen broj za ključ, ili ga računa (counter) i pamti
+     * 
+     * @param query - vrsta upita, npr. "filter", "status", "user", "search"
+     * @param parameter - parametar upita (mora imati equals/hashCode)
+     * @param counter - COUNT upit koji se izvršava samo kada broj nije zapamćen
+     */
+    public long get(String query, Object parameter, LongSupplier counter) {
+        return cache.get(new Key(query, parameter), key -> counter.getAsLong());
+    }
+    
+    /**
+     * Briše sve zapamćene brojeve (npr. kada su izmene sa drugih čvorova možda propuštene)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * Procena broja svih događaja iz statistike planera
+     * 
+     * Ako tabela još nije analizirana (reltuples = -1), koristi se zapamćen COUNT.
+     */
+    public long estimateAll() {
+        long estimate = eventRepository.estimateRowCount();
+        if (estimate >= 0) {
+            return estimate;
+        }
+        return cache.get(ALL, key -> eventRepository.count());
+    }
+}
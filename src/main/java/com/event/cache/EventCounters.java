@@ -0,0 +1,211 @@
+package com.event.cache;
+
+import com.event.datasource.ReadRoutingContext;
+import com.event.dto.EventResponse;
+import com.event.dto.EventStats;
+import com.event.model.Event.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.service.EventChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EventCounters - in-memory broj događaja po statusu i po kreatoru
+ * 
+ * Služi GET /api/events/stats i totalElements za /api/events/status/{status} i /api/events/user/{userId}
+ * sa totalMode=estimated, bez COUNT upita nad tabelom events. totalMode=exact je uvek COUNT - vidi napomenu
+ * o više čvorova ispod.
+ * 
+ * LongAdder - brojač koji interno deli vrednost na više ćelija (po niti), pa istovremena
+ * povećanja iz više zahteva ne čekaju jedno na drugo; sum() sabira ćelije.
+ * 
+ * Ažuriranje: posle commit-a svake izmene (EventChangedEvent) - previous se oduzima (status, kreator),
+ * a novo stanje dodaje. Rollback-ovane izmene se nikad ne vide.
+ * 
+ * Usklađivanje: pri pokretanju i zatim svakih event.counters.reconcile-interval brojevi se čitaju iz baze
+ * (GROUP BY) i postavljaju. Izmena koja se desi baš tokom usklađivanja može da ostavi malo odstupanje,
+ * koje ispravlja sledeće usklađivanje. GROUP BY se uvek čita sa primarne baze - replika koja kasni
+ * bi tačne brojače prepisala starim.
+ * 
+ * Napomena: brojači su lokalni za jedan čvor (instancu aplikacije). Izmene napravljene na drugim
+ * čvorovima se ne primenjuju kao promene brojača - sa više čvorova su brojači tačni samo za sopstvene
+ * izmene, a izmene sa ostalih čvorova vide tek posle sledećeg usklađivanja (reconcile-interval).
+ */
+@Component
+@Slf4j
+public class EventCounters {
+    
+    private final Map<EventStatus, LongAdder> byStatus = new EnumMap<>(EventStatus.class);
+    private final Map<Long, LongAdder> byCreator = new ConcurrentHashMap<>();
+    
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime reconciledAt;
+    
+    public EventCounters(
+            EventRepository eventRepository,
+            @Value("${event.counters.enabled:true}") boolean enabled
+    ) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        // Mapa po statusu se puni jednom i posle se samo čita - bezbedno iz više niti
+        for (EventStatus status : EventStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+    
+    /**
+     * Da li su brojači napunjeni iz baze i mogu da se koriste
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Puni brojače kada se aplikacija pokrene
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("EventCounters su isključeni (event.counters.enabled=false)");
+            return;
+        }
+        reconcile();
+        ready = true;
+    }
+    
+    /**
+     * Povremeno usklađivanje sa bazom
+     */
+    @Scheduled(fixedDelayString = "${event.counters.reconcile-interval:PT5M}",
+               initialDelayString = "${event.counters.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        if (ready) {
+            reconcile();
+        }
+    }
+    
+    /**
+     * Čita broj događaja po statusu i po kreatoru iz baze i postavlja brojače
+     */
+    public synchronized void reconcile() {
+        ReadRoutingContext.runOnPrimary(this::reconcileFromDatabase);
+    }
+    
+    private void reconcileFromDatabase() {
+        Map<EventStatus, Long> statusCounts = new EnumMap<>(EventStatus.class);
+        for (Object[] row : eventRepository.countGroupedByStatus()) {
+            statusCounts.put((EventStatus) row[0], (Long) row[1]);
+        }
+        Map<Long, Long> creatorCounts = new HashMap<>();
+        for (Object[] row : eventRepository.countGroupedByCreator()) {
+            creatorCounts.put((Long) row[0], (Long) row[1]);
+        }
+        
+        int corrected = 0;
+        for (Map.Entry<EventStatus, LongAdder> entry : byStatus.entrySet()) {
+            corrected += set(entry.getValue(), statusCounts.getOrDefault(entry.getKey(), 0L));
+        }
+        for (Map.Entry<Long, Long> entry : creatorCounts.entrySet()) {
+            corrected += set(byCreator.computeIfAbsent(entry.getKey(), id -> new LongAdder()), entry.getValue());
+        }
+        // Korisnici koji više nemaju događaja
+        for (Map.Entry<Long, LongAdder> entry : byCreator.entrySet()) {
+            if (!creatorCounts.containsKey(entry.getKey())) {
+                corrected += set(entry.getValue(), 0L);
+                byCreator.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        reconciledAt = LocalDateTime.now();
+        if (ready && corrected > 0) {
+            log.info("EventCounters usklađeni sa bazom: ispravljeno {} brojača", corrected);
+        } else if (!ready) {
+            log.info("EventCounters napunjeni: {} događaja, {} kreatora", total(), creatorCounts.size());
+        }
+    }
+    
+    /**
+     * Posle commit-a izmene: prebacuje događaj sa starog na novi status/kreatora
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.getPrevious() != null) {
+            add(change.getPrevious(), -1);
+        }
+        if (change.getEvent() != null) {
+            add(change.getEvent(), 1);
+        }
+    }
+    
+    public long countByStatus(EventStatus status) {
+        return byStatus.get(status).sum();
+    }
+    
+    public long countByCreator(Long userId) {
+        LongAdder counter = byCreator.get(userId);
+        return counter == null ? 0 : counter.sum();
+    }
+    
+    public long total() {
+        long total = 0;
+        for (LongAdder counter : byStatus.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+    
+    /**
+     * Trenutno stanje brojača
+     * 
+     * @param userId - korisnik za koga se vraća i broj njegovih događaja (opciono)
+     */
+    public EventStats stats(Long userId) {
+        Map<EventStatus, Long> statusCounts = new EnumMap<>(EventStatus.class);
+        for (Map.Entry<EventStatus, LongAdder> entry : byStatus.entrySet()) {
+            statusCounts.put(entry.getKey(), entry.getValue().sum());
+        }
+        
+        return EventStats.builder()
+                .total(statusCounts.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(statusCounts)
+                .userId(userId)
+                .userEvents(userId != null ? countByCreator(userId) : null)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+    
+    private void add(EventResponse event, long delta) {
+        byStatus.get(event.getStatus()).add(delta);
+        byCreator.computeIfAbsent(event.getCreatedById(), id -> new LongAdder()).add(delta);
+    }
+    
+    /**
+     * Postavlja brojač na vrednost iz baze
+     * 
+     * @return 1 ako je brojač imao drugu vrednost, inače 0
+     */
+    private static int set(LongAdder counter, long value) {
+        long current = counter.sum();
+        if (current == value) {
+            return 0;
+        }
+        counter.add(value - current);
+        return 1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.event.cache;
+
+import com.event.dto.EventResponse;
+import com.event.service.EventChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * EventResponseCache - in-memory keš gotovih EventResponse objekata za GET /api/events/{id}
+ * 
+ * Read-through: ako događaj nije u kešu, učitava se iz baze (loader) i pamti.
+ * Pogodak (hit) ne otvara transakciju i ne ide u bazu.
+ * 
+ * Ograničenja (Caffeine):
+ * - maximumSize - najviše N događaja, ređe korišćeni se izbacuju
+ * - expireAfterWrite (ttl) - unos važi najduže ttl, čak i ako invalidacija iz nekog razloga izostane
+ * 
+ * Invalidacija: posle commit-a svake izmene događaja (EventChangedEvent), a izmene sa drugih čvorova
+ * stižu kroz CacheInvalidationBus.
+ * 
+ * Verzije: za svaki invalidiran događaj pamti se najveća verzija iz invalidacije (invalidatedVersions).
+ * Unos sa manjom verzijom je zastareo - ne pamti se, čak i ako ga loader tek učita (npr. sa replike
+ * koja kasni), a invalidacija koja stigne posle novije (drugim redom nego što su izmene commit-ovane)
+ * ne izbacuje noviji unos.
+ * 
+ * Metrike (Micrometer): cache.gets{result=hit|miss}, cache.evictions, cache.size
+ * sa tagom cache=events.byId - vidljive na /actuator/metrics.
+ */
+@Component
+@Slf4j
+public class EventResponseCache {
+    
+    static final String CACHE_NAME = "events.byId";
+    
+    /**
+     * Verzija koja se briše da bi se događaj sigurno izbacio (brisanje, izmena bez poznate verzije)
+     */
+    public static final long ANY_VERSION = Long.MAX_VALUE;
+    
+    private final Cache<Long, EventResponse> cache;
+    
+    /**
+     * id → najveća invalidirana verzija; unosi žive koliko i unosi keša (ttl), posle toga ni
+     * zastareo unos ne bi preživeo duže od ttl
+     */
+    private final Cache<Long, Long> invalidatedVersions;
+    
+    public EventResponseCache(
+            @Value("${event.cache.maximum-size:10000}") long maximumSize,
+            @Value("${event.cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidatedVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * Vraća događaj iz keša, ili ga učitava kroz loader i pamti
+     * 
+     * @param id - ID događaja
+     * @param loader - učitavanje iz baze; ako vrati null, ništa se ne pamti
+     * @return EventResponse ili null ako događaj ne postoji
+     */
+    public EventResponse get(Long id, Function<Long, EventResponse> loader) {
+        EventResponse response = cache.get(id, loader);
+        if (response != null && isStale(response)) {
+            // Učitan pre nego što je stigla invalidacija ili sa replike koja kasni - ne pamti se
+            cache.asMap().remove(id, response);
+        }
+        return response;
+    }
+    
+    /**
+     * Vraća događaj samo ako je već u kešu (bez učitavanja)
+     */
+    public EventResponse getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+    
+    /**
+     * Izbacuje jedan događaj iz keša
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+    
+    /**
+     * Izbacuje događaj ako je u kešu starija verzija od date i pamti verziju za buduća učitavanja
+     * 
+     * @param id - ID događaja
+     * @param version - verzija posle izmene (ANY_VERSION - izbaci bilo koju)
+     */
+    public void invalidate(Long id, long version) {
+        invalidatedVersions.asMap().merge(id, version, Math::max);
+        cache.asMap().computeIfPresent(id, (key, cached) -> versionOf(cached) >= version ? cached : null);
+    }
+    
+    /**
+     * Izbacuje sve događaje jednog kreatora (npr. posle brisanja korisnika)
+     */
+    public void invalidateCreatedBy(Long userId) {
+        cache.asMap().values().removeIf(cached -> userId.equals(cached.getCreatedById()));
+    }
+    
+    /**
+     * Prazni ceo keš
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * Posle commit-a izmene (update, promena statusa, brisanje) izbacuje događaj iz keša
+     * 
+     * AFTER_COMMIT - ako se transakcija rollback-uje, keš ostaje netaknut,
+     * a sledeće čitanje posle commit-a učitava nove podatke.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent change) {
+        log.debug("Invalidacija keša za događaj {} ({})", change.getEventId(), change.getType());
+        invalidate(change.getEventId(), versionAfter(change));
+    }
+    
+    /**
+     * Verzija događaja posle izmene - za brisanje (i izmenu bez verzije) ANY_VERSION
+     */
+    public static long versionAfter(EventChangedEvent change) {
+        EventResponse event = change.getEvent();
+        return event != null && event.getVersion() != null ? event.getVersion() : ANY_VERSION;
+    }
+    
+    private boolean isStale(EventResponse response) {
+        Long invalidated = invalidatedVersions.getIfPresent(response.getId());
+        return invalidated != null && versionOf(response) < invalidated;
+    }
+    
+    private static long versionOf(EventResponse response) {
+        return response.getVersion() != null ? response.getVersion() : 0;
+    }
+}
@@ -0,0 +1,342 @@
+package com.event.cache;
+
+import com.event.dto.EventCursor;
+import com.event.dto.EventResponse;
+import com.event.model.Event.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.service.EventChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UpcomingEventsIndex - in-memory indeks budućih objavljenih (PUBLISHED) događaja
+ *
+ * Služi GET /api/events/upcoming bez odlaska u bazu. Upit "status = PUBLISHED AND event_date > now()"
+ * se ne može keširati jer se now() stalno menja, ali skup budućih događaja sortiran po datumu može:
+ * - ConcurrentSkipListMap sortirana po (eventDate, id) - isti redosled kao keyset upiti
+ * - tailMap(sada) daje samo događaje koji još nisu počeli, pa istekli unosi nikad nisu vidljivi
+ * - @Scheduled zadatak povremeno fizički uklanja istekle unose (headMap(sada))
+ *
+ * Punjenje: pri pokretanju aplikacije (ApplicationReadyEvent), u serijama kroz keyset upit.
+ * Dok punjenje nije završeno (isReady() == false), EventService čita iz baze. Red iz punjenja prolazi
+ * istu proveru verzije kao izmene - ne prepisuje izmenu ili brisanje primenjeno u međuvremenu.
+ *
+ * Ažuriranje: posle commit-a svake izmene (EventChangedEvent) - događaj se dodaje ako je
+ * PUBLISHED i u budućnosti, a u suprotnom uklanja. Stanje starije verzije (Event.version) od već
+ * primenjenog se preskače - dva slušaoca ili refresh mogu stići drugim redom nego izmene.
+ *
+ * Ukupan broj za page() se ne broji prolaskom kroz mapu (size() skip liste je O(n)), već se
+ * održava pri svakom dodavanju i uklanjanju; od njega se oduzimaju samo istekli a još neuklonjeni unosi.
+ *
+ * Izmene sa drugih čvorova stižu kroz CacheInvalidationBus (refresh - događaj se ponovo čita iz baze).
+ *
+ * Napomena: indeks drži sve buduće objavljene događaje u memoriji, na svakom čvoru posebno.
+ */
+@Component
+@Slf4j
+public class UpcomingEventsIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * Koliko dugo se pamti poslednja primenjena verzija događaja (i uklonjenog) - dovoljno da
+     * zakasneli stariji snimak ne vrati događaj u indeks
+     */
+    private static final Duration VERSION_MEMORY = Duration.ofMinutes(10);
+
+    /**
+     * Verzija za brisanje - posle nje se nijedan snimak tog događaja ne primenjuje
+     */
+    private static final long DELETED = Long.MAX_VALUE;
+
+    /**
+     * Ključ (eventDate, id) - id razbija izjednačenja kada više događaja ima isti datum
+     */
+    private static final Comparator<EventCursor> ORDER = Comparator
+            .comparing(EventCursor::getEventDate)
+            .thenComparing(EventCursor::getId);
+
+    private final ConcurrentSkipListMap<EventCursor, EventResponse> events = new ConcurrentSkipListMap<>(ORDER);
+
+    /**
+     * id → ključ u mapi (da bi se događaj uklonio i kada mu se promeni datum)
+     */
+    private final Map<Long, EventCursor> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Broj unosa u mapi events (uključujući istekle koje expire() još nije uklonio)
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * id → poslednja primenjena verzija
+     */
+    private final Cache<Long, Long> appliedVersions = Caffeine.newBuilder()
+            .expireAfterWrite(VERSION_MEMORY)
+            .build();
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public UpcomingEventsIndex(
+            EventRepository eventRepository,
+            @Value("${event.upcoming-index.enabled:true}") boolean enabled
+    ) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Da li je indeks napunjen i može da služi zahteve
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Puni indeks iz baze kada se aplikacija pokrene
+     *
+     * Čita u serijama od LOAD_BATCH_SIZE kroz keyset upit (bez OFFSET-a i COUNT-a).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("UpcomingEventsIndex je isključen (event.upcoming-index.enabled=false)");
+            return;
+        }
+
+        loading = true;
+        LocalDateTime now = LocalDateTime.now();
+        EventCursor after = EventCursor.START;
+        int loaded = 0;
+
+        List<EventResponse> batch;
+        do {
+            batch = eventRepository.findUpcomingAfter(EventStatus.PUBLISHED, now,
+                    after.getEventDate(), after.getId(), PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (EventResponse event : batch) {
+                putLoaded(event);
+            }
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                after = EventCursor.from(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        loading = false;
+        ready = true;
+        log.info("UpcomingEventsIndex napunjen: {} budućih objavljenih događaja", loaded);
+    }
+
+    /**
+     * Stranica budućih događaja (page/size), sortirano po eventDate rastuće
+     *
+     * @param page - broj stranice
+     * @param size - broj elemenata po stranici
+     * @param now - trenutno vreme (događaji pre ovog trenutka se ne vraćaju)
+     * @return Page<EventResponse> - stranica sa budućim objavljenim događajima
+     */
+    public Page<EventResponse> page(int page, int size, LocalDateTime now) {
+        ConcurrentNavigableMap<EventCursor, EventResponse> upcoming = upcomingFrom(now);
+
+        long offset = (long) page * size;
+        List<EventResponse> content = new ArrayList<>(size);
+        Iterator<EventResponse> iterator = upcoming.values().iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (content.size() < size && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+
+        return new PageImpl<>(content, PageRequest.of(page, size), countFrom(now));
+    }
+
+    /**
+     * Broj budućih događaja: održavan broj minus istekli unosi koje expire() još nije uklonio
+     *
+     * headMap(now) sadrži samo događaje koji su počeli od poslednjeg expire() - obično ih je malo.
+     */
+    private long countFrom(LocalDateTime now) {
+        long expired = events.headMap(new EventCursor(now, Long.MAX_VALUE), true).size();
+        return Math.max(0, count.get() - expired);
+    }
+
+    /**
+     * Keyset stranica budućih događaja posle kursora
+     *
+     * @param after - pozicija poslednjeg događaja sa prethodne stranice
+     * @param size - broj elemenata po stranici
+     * @param now - trenutno vreme
+     * @return Slice<EventResponse> - stranica i informacija da li postoji sledeća
+     */
+    public Slice<EventResponse> sliceAfter(EventCursor after, int size, LocalDateTime now) {
+        // Počinjemo od kasnijeg od dva: kursora ili trenutka now
+        EventCursor nowKey = new EventCursor(now, Long.MAX_VALUE);
+        EventCursor from = ORDER.compare(after, nowKey) > 0 ? after : nowKey;
+        ConcurrentNavigableMap<EventCursor, EventResponse> upcoming = events.tailMap(from, false);
+
+        List<EventResponse> content = new ArrayList<>(size);
+        Iterator<EventResponse> iterator = upcoming.values().iterator();
+        while (content.size() < size && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, size), iterator.hasNext());
+    }
+
+    /**
+     * Posle commit-a izmene: dodaje, pomera ili uklanja događaj iz indeksa
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent change) {
+        apply(change.getEventId(), change.getEvent());
+    }
+
+    /**
+     * Ponovo čita jedan događaj iz baze (izmena na drugom čvoru) i ažurira indeks
+     */
+    public void refresh(Long id) {
+        if (loading || ready) {
+            apply(id, eventRepository.findResponseById(id).orElse(null));
+        }
+    }
+
+    /**
+     * Uklanja sve događaje jednog kreatora (npr. posle brisanja korisnika)
+     */
+    public void removeCreatedBy(Long userId) {
+        for (EventResponse event : events.values()) {
+            if (userId.equals(event.getCreatedById())) {
+                remove(event.getId());
+            }
+        }
+    }
+
+    /**
+     * Prazni indeks i puni ga ponovo iz baze (kada su izmene sa drugih čvorova možda propuštene)
+     *
+     * Dok traje punjenje, isReady() je false i EventService čita iz baze.
+     */
+    public void reload() {
+        if (!ready) {
+            return;
+        }
+        ready = false;
+        synchronized (this) {
+            events.clear();
+            keysById.clear();
+            count.set(0);
+        }
+        load();
+    }
+
+    /**
+     * Primenjuje stanje događaja (null - obrisan), osim ako je već primenjena novija verzija
+     */
+    private synchronized void apply(Long id, EventResponse event) {
+        long version = event == null ? DELETED : versionOf(event);
+        Long applied = appliedVersions.getIfPresent(id);
+        if (applied != null && applied > version) {
+            return;
+        }
+        appliedVersions.put(id, version);
+
+        if (event != null
+                && event.getStatus() == EventStatus.PUBLISHED
+                && event.getEventDate().isAfter(LocalDateTime.now())) {
+            put(event);
+        } else {
+            remove(id);
+        }
+    }
+
+    /**
+     * Dodaje događaj pročitan punjenjem, osim ako je izmena posle commit-a već primenila istu ili noviju
+     * verziju (ili brisanje) - punjenje čita snimak koji može biti stariji od te izmene
+     *
+     * Provera i upis su pod istim zaključavanjem kao apply, pa izmena ne može da stigne između njih.
+     * Verzija iz punjenja se ne pamti - appliedVersions drži samo izmene, ne ceo indeks.
+     */
+    private synchronized void putLoaded(EventResponse event) {
+        Long applied = appliedVersions.getIfPresent(event.getId());
+        if (applied != null && applied >= versionOf(event)) {
+            return;
+        }
+        put(event);
+    }
+
+    private static long versionOf(EventResponse event) {
+        return event.getVersion() != null ? event.getVersion() : 0;
+    }
+
+    /**
+     * Uklanja događaje koji su počeli (istekli)
+     *
+     * Čitanja ih ionako preskaču (tailMap), ovo samo oslobađa memoriju.
+     */
+    @Scheduled(fixedDelayString = "${event.upcoming-index.expire-interval:PT1M}")
+    public void expire() {
+        ConcurrentNavigableMap<EventCursor, EventResponse> expired =
+                events.headMap(new EventCursor(LocalDateTime.now(), Long.MAX_VALUE), true);
+        for (EventCursor key : expired.keySet()) {
+            if (events.remove(key) != null) {
+                count.decrementAndGet();
+                keysById.remove(key.getId(), key);
+            }
+        }
+    }
+
+    /**
+     * Deo mape sa događajima posle trenutka now
+     */
+    private ConcurrentNavigableMap<EventCursor, EventResponse> upcomingFrom(LocalDateTime now) {
+        return events.tailMap(new EventCursor(now, Long.MAX_VALUE), false);
+    }
+
+    private synchronized void put(EventResponse event) {
+        EventCursor key = EventCursor.from(event);
+        EventCursor previous = keysById.put(event.getId(), key);
+        if (previous != null && ORDER.compare(previous, key) != 0 && events.remove(previous) != null) {
+            count.decrementAndGet();
+        }
+        if (events.put(key, event) == null) {
+            count.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        EventCursor previous = keysById.remove(id);
+        if (previous != null && events.remove(previous) != null) {
+            count.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.event.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ConcurrencyLimitConfig - registruje ConnectionPoolLimitFilter za /api/*
+ * 
+ * Podrazumevano je uključen samo u režimu virtuelnih niti (spring.threads.virtual.enabled=true),
+ * jer tada Tomcat više ne ograničava broj istovremenih zahteva.
+ * 
+ * Broj dozvola = spring.datasource.hikari.maximum-pool-size * event.concurrency-limit.permits-per-connection
+ * (malo više od broja konekcija, da bi sledeći zahtev već čekao kada se konekcija oslobodi).
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${event.concurrency-limit.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${event.concurrency-limit.acquire-timeout:2s}") Duration acquireTimeout,
+            ObjectMapper objectMapper
+    ) {
+        int maxConcurrentRequests = maximumPoolSize * permitsPerConnection;
+        log.info("Ograničenje istovremenih API zahteva: {} (Hikari pool {} x {})",
+                maxConcurrentRequests, maximumPoolSize, permitsPerConnection);
+        
+        FilterRegistrationBean<ConnectionPoolLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPoolLimitFilter(maxConcurrentRequests, acquireTimeout, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
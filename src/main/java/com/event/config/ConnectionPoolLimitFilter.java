@@ -0,0 +1,153 @@
+package com.event.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ConnectionPoolLimitFilter - ograničava broj API zahteva koji se obrađuju istovremeno
+ * 
+ * Sa platform nitima, Tomcat pool (200 niti) je prirodna granica. Sa virtuelnim nitima granice nema -
+ * svaki zahtev dobija svoju nit, pa hiljade zahteva istovremeno čeka na Hikari konekciju
+ * (connection-timeout) i troši memoriju.
+ * 
+ * Ovaj filter drži Semaphore sa brojem dozvola srazmernim veličini Hikari pool-a:
+ * - zahtev čeka dozvolu najviše acquireTimeout (jeftino - virtuelna nit se samo "parkira")
+ * - ako je ne dobije, odmah vraća 503 + Retry-After umesto da čeka konekciju
+ * 
+ * Asinhroni zahtevi (export kroz StreamingResponseBody) drže konekciju dok se odgovor ne završi,
+ * a ne samo dok se kontroler ne vrati - dozvola se tada vraća tek iz AsyncListener-a
+ * (onComplete, onError, onTimeout).
+ * 
+ * Preskaču se zahtevi koji ne koriste Hikari pool i traju koliko i veza klijenta:
+ * SSE tok promena (/api/events/stream) i reaktivni endpointi (/api/reactive/**, R2DBC pool).
+ * 
+ * Registruje se samo kada je event.concurrency-limit.enabled=true (ConcurrencyLimitConfig).
+ */
+@Slf4j
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+    
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+    
+    public ConnectionPoolLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/api/events/stream") || path.startsWith("/api/reactive/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        
+        if (!acquired) {
+            log.warn("Previše istovremenih zahteva, odbijen: {} {}", request.getMethod(), request.getRequestURI());
+            rejectWithServiceUnavailable(response);
+            return;
+        }
+        
+        AtomicBoolean released = new AtomicBoolean();
+        boolean asyncStarted = false;
+        try {
+            filterChain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+            if (asyncStarted) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(released));
+            }
+        } finally {
+            if (!asyncStarted) {
+                release(released);
+            }
+        }
+    }
+    
+    /**
+     * Vraća dozvolu tačno jednom (kraj zahteva ili asinhronog odgovora)
+     */
+    private void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Vraća dozvolu kada se asinhroni odgovor završi, uspešno ili ne
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+        
+        private final AtomicBoolean released;
+        
+        ReleaseOnCompletion(AtomicBoolean released) {
+            this.released = released;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(released);
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            release(released);
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Novi asinhroni ciklus uklanja slušaoce - dodajemo se ponovo
+            event.getAsyncContext().addListener(this);
+        }
+    }
+    
+    /**
+     * 503 sa istim oblikom tela kao greške iz GlobalExceptionHandler-a
+     */
+    private void rejectWithServiceUnavailable(HttpServletResponse response) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("error", "Service Unavailable");
+        error.put("message", "Server je trenutno preopterećen, pokušajte ponovo");
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
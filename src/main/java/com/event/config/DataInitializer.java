@@ -5,6 +5,7 @@ import com.event.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,8 +20,12 @@ import org.springframework.stereotype.Component;
  * - Testiranje da li Service i Repository rade
  * - Dodavanje početnih podataka u bazu
  * - Debug-ovanje
+ *
+ * Uključuje se sa event.data-initializer.enabled=true (podrazumevano isključen) -
+ * podatke za razvoj i load testove puni benchmark/sql/seed.sql.
  */
 @Component
+@ConditionalOnProperty(name = "event.data-initializer.enabled", havingValue = "true")
 @RequiredArgsConstructor
 @Slf4j  // Lombok - automatski kreira logger (log.info(), log.error(), itd.)
 public class DataInitializer implements CommandLineRunner {
@@ -0,0 +1,62 @@
+package com.event.config;
+
+import com.event.metrics.StatementCountingDataSource;
+import com.event.metrics.StatementMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * MetricsConfig - metrike koje Spring Boot ne pravi sam
+ * 
+ * Automatski (actuator + micrometer-registry-prometheus):
+ * - http.server.requests - trajanje HTTP zahteva po endpointu
+ * - hikaricp.connections.* - aktivne, slobodne i konekcije na čekanju, vreme čekanja na konekciju
+ * - hibernate.* - statistika Hibernate-a (hibernate.generate_statistics=true + hibernate-micrometer):
+ *   broj naredbi, učitanih entiteta, izvršenih upita, pogodaka keša
+ * - cache.* - EventResponseCache (Caffeine)
+ * 
+ * Ovde (event.statement-count.enabled, podrazumevano uključeno):
+ * - StatementCountingDataSource - DataSource se obmotava proxy-jem koji broji izvršene naredbe
+ * - StatementMetricsFilter - broj SQL naredbi po zahtevu i upozorenje kada se ista naredba ponavlja (N+1)
+ * 
+ * ServiceMetricsAspect (@Component) meri trajanje servisnih metoda po kombinaciji filtera.
+ * Sve je dostupno na /actuator/prometheus.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.statement-count.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+    
+    /**
+     * static - BeanPostProcessor mora da postoji pre ostalih bean-ova (i DataSource-a)
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${event.statement-count.repeated-threshold:10}") int repeatedThreshold
+    ) {
+        FilterRegistrationBean<StatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new StatementMetricsFilter(meterRegistry, repeatedThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,75 @@
+package com.event.config;
+
+import com.event.datasource.ReactivePool;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * ReactiveConfig - R2DBC konekcije za neblokirajuće čitanje događaja (/api/reactive/events)
+ * 
+ * Uključeno podrazumevano (event.reactive.enabled). Pravi se:
+ * 
+ *   ReactivePool (r2dbc-pool, ConnectionPool) → DatabaseClient bean
+ * 
+ * - URL: event.reactive.r2dbc-url (npr. r2dbc:postgresql://localhost:5432/event)
+ * - korisnik i lozinka: iz URL-a, a ako ih URL nema - spring.datasource.username/password
+ * - pool je lenj (initial-size 0) - prva konekcija se otvara pri prvom reaktivnom zahtevu,
+ *   pa aplikacija koja ne koristi /api/reactive ne drži nijednu R2DBC konekciju
+ * - u pg_stat_activity se vidi kao application_name = event-reactive
+ * 
+ * Spring Boot R2dbcAutoConfiguration je isključena (application.yml, spring.autoconfigure.exclude),
+ * jer bi njen ConnectionFactory bean isključio JDBC DataSource koji koriste JPA i Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReactiveConfig {
+    
+    private static final Option<String> APPLICATION_NAME = Option.valueOf("applicationName");
+    
+    @Bean
+    public ReactivePool reactivePool(
+            DataSourceProperties properties,
+            @Value("${event.reactive.r2dbc-url}") String url,
+            @Value("${event.reactive.pool-size:10}") int poolSize,
+            @Value("${event.reactive.max-idle-time:30m}") Duration maxIdleTime
+    ) {
+        ConnectionFactoryOptions parsed = ConnectionFactoryOptions.parse(url);
+        ConnectionFactoryOptions.Builder options = parsed.mutate()
+                .option(APPLICATION_NAME, "event-reactive");
+        if (!parsed.hasOption(ConnectionFactoryOptions.USER)) {
+            options.option(ConnectionFactoryOptions.USER, properties.determineUsername());
+        }
+        if (!parsed.hasOption(ConnectionFactoryOptions.PASSWORD) && properties.determinePassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.determinePassword());
+        }
+        
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .maxIdleTime(maxIdleTime)
+                .build();
+        
+        log.info("R2DBC pool za /api/reactive: {} (najviše {} konekcija)", url, poolSize);
+        return new ReactivePool(new ConnectionPool(configuration));
+    }
+    
+    @Bean
+    public DatabaseClient databaseClient(ReactivePool reactivePool) {
+        return DatabaseClient.create(reactivePool.getConnectionPool());
+    }
+}
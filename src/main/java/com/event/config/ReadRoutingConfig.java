@@ -0,0 +1,118 @@
+package com.event.config;
+
+import com.event.datasource.ReadRoutingPools;
+import com.event.datasource.ReadWriteRoutingDataSource;
+import com.event.datasource.ReadYourWritesFilter;
+import com.event.datasource.ReplicaSelector;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReadRoutingConfig - čitanja (readOnly transakcije) sa replika, upisi na primarnu bazu
+ * 
+ * Uključuje se sa event.read-routing.enabled=true. Tada je DataSource bean (umesto onog koji
+ * Spring Boot pravi sam):
+ * 
+ *   LazyConnectionDataSourceProxy → ReadWriteRoutingDataSource → primarni pool ili pool replike
+ * 
+ * - primarni pool: spring.datasource.url/username/password i spring.datasource.hikari.* (kao i bez rutiranja)
+ * - replike: event.read-routing.replica-urls (lista JDBC URL-ova, isti korisnik i lozinka),
+ *   ista hikari podešavanja, a veličina pool-a iz replica-pool-size ako je zadata
+ * - ReplicaSelector: round-robin između replika koje ne kasne više od max-lag
+ * - ReadYourWritesFilter: klijent posle upisa čita sa primarne baze read-your-writes-window
+ * 
+ * Lokalno može i jedna baza da glumi obe uloge (replica-urls = spring.datasource.url) - baza koja
+ * nije replika uvek ima kašnjenje 0. U pg_stat_activity se pool vidi po application_name
+ * (event-primary, event-replica-1, ...).
+ * 
+ * MetricsConfig (StatementCountingDataSource) obmotava ovaj DataSource bean kao i podrazumevani.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.read-routing.enabled", havingValue = "true")
+@Slf4j
+public class ReadRoutingConfig {
+    
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    
+    @Bean
+    public ReadRoutingPools readRoutingPools(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${event.read-routing.replica-urls}") List<String> replicaUrls,
+            @Value("${event.read-routing.replica-pool-size:0}") int replicaPoolSize
+    ) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl(),
+                ReadWriteRoutingDataSource.PRIMARY);
+        
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(properties, environment, url.trim(), name);
+            replica.setReadOnly(true);
+            if (replicaPoolSize > 0) {
+                replica.setMaximumPoolSize(replicaPoolSize);
+            }
+            replicas.put(name, replica);
+        }
+        
+        log.info("Rutiranje čitanja: {} replika ({}), primarna baza {}", replicas.size(), replicaUrls, primary.getJdbcUrl());
+        return new ReadRoutingPools(primary, replicas);
+    }
+    
+    @Bean
+    public ReplicaSelector replicaSelector(
+            ReadRoutingPools pools,
+            @Value("${event.read-routing.max-lag:5s}") Duration maxLag
+    ) {
+        return new ReplicaSelector(pools.getReplicas(), maxLag);
+    }
+    
+    @Bean
+    public DataSource dataSource(ReadRoutingPools pools, ReplicaSelector replicaSelector) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(pools.getPrimary(), pools.getReplicas(), replicaSelector));
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${event.read-routing.read-your-writes-window:5s}") Duration window
+    ) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        // 0 - bez vezivanja za primarnu bazu posle upisa
+        registration.setEnabled(!window.isZero());
+        return registration;
+    }
+    
+    /**
+     * Hikari pool sa spring.datasource podešavanjima i zadatim URL-om
+     */
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.addDataSourceProperty("ApplicationName", "event-" + name);
+        return pool;
+    }
+}
@@ -0,0 +1,62 @@
+package com.event.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * WebAsyncConfig - ograničen executor za asinhrone MVC odgovore
+ *
+ * Na ovom executor-u se izvršavaju:
+ * - export (StreamingResponseBody) - jedan zadatak traje koliko i ceo export
+ * - upis Flux elemenata u odgovor (NDJSON /api/reactive/events/stream, SSE /api/events/stream) -
+ *   kratki zadaci, po jedan kada stigne novi element
+ *
+ * Bez ovoga MVC uzima SimpleAsyncTaskExecutor (nova nit za svaki zadatak, bez ograničenja) i upozorava
+ * "!!! Streaming through a reactive type requires an Executor". Zato je pool fiksne veličine
+ * (event.mvc-async.pool-size) sa ograničenim redom (event.mvc-async.queue-capacity); zadatak koji ne staje
+ * u red dobija TaskRejectedException (503 iz GlobalExceptionHandler-a).
+ *
+ * Sa virtuelnim nitima (spring.threads.virtual.enabled) niti pool-a su virtuelne, ali je broj i dalje
+ * ograničen - kao i ConnectionPoolLimitFilter za obične zahteve.
+ *
+ * Napomena: ovaj bean je Executor, pa Spring Boot ne pravi svoj applicationTaskExecutor
+ * (aplikacija nema @Async metode).
+ */
+@Configuration
+@Slf4j
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    public WebAsyncConfig(
+            @Value("${event.mvc-async.pool-size:16}") int poolSize,
+            @Value("${event.mvc-async.queue-capacity:500}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.mvcAsyncExecutor = new ThreadPoolTaskExecutor();
+        mvcAsyncExecutor.setCorePoolSize(poolSize);
+        mvcAsyncExecutor.setMaxPoolSize(poolSize);
+        mvcAsyncExecutor.setQueueCapacity(queueCapacity);
+        mvcAsyncExecutor.setThreadNamePrefix("mvc-async-");
+        if (virtualThreads) {
+            mvcAsyncExecutor.setThreadFactory(Thread.ofVirtual().name("mvc-async-", 1).factory());
+        }
+        log.info("Executor za asinhrone MVC odgovore: {} {} niti, red {}",
+                poolSize, virtualThreads ? "virtuelnih" : "platform", queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        return mvcAsyncExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
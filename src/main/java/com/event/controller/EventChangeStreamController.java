@@ -0,0 +1,53 @@
+package com.event.controller;
+
+import com.event.feed.EventChangeFeed;
+import com.event.model.Event.EventStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * EventChangeStreamController - tok promena događaja (Server-Sent Events)
+ * 
+ * Poseban kontroler pod istom putanjom /api/events, jer postoji samo kada je
+ * event.change-feed.enabled=true (vidi EventChangeFeed).
+ */
+@RestController
+@RequestMapping("/api/events")
+@ConditionalOnProperty(name = "event.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class EventChangeStreamController {
+    
+    private final EventChangeFeed eventChangeFeed;
+    
+    /**
+     * GET /api/events/stream
+     * SSE tok promena: kreiranje, izmena, promena statusa i brisanje događaja
+     * 
+     * Query parametri (opciono):
+     * - status: samo promene događaja koji imaju ili su imali ovaj status
+     * - userId: samo događaji ovog kreatora
+     * 
+     * SSE događaji:
+     * - change: EventChange (type, eventId, status, previousStatus, version, event)
+     * - resync: promene su možda propuštene (prekid LISTEN konekcije) - osvežiti liste
+     * - dropped: klijent nije stizao da čita, veza se zatvara - ponovo se povezati i osvežiti liste
+     * 
+     * Veza traje najduže spring.mvc.async.request-timeout; EventSource se zatim sam ponovo poveže.
+     * 
+     * Primer: GET /api/events/stream?status=PUBLISHED (Accept: text/event-stream)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) Long userId
+    ) {
+        return eventChangeFeed.subscribe(status, userId);
+    }
+}
@@ -1,20 +1,37 @@
 package com.event.controller;
 
+import com.event.dto.BatchResult;
+import com.event.dto.EventCursor;
+import com.event.dto.EventFilter;
+import com.event.dto.EventListVersion;
 import com.event.dto.EventRequest;
 import com.event.dto.EventResponse;
+import com.event.dto.EventStats;
+import com.event.dto.EventSyncResponse;
+import com.event.dto.EventVersion;
 import com.event.dto.PageResponse;
+import com.event.dto.TotalMode;
+import com.event.export.EventExportWriter;
+import com.event.export.DataFormat;
 import com.event.model.Event;
 import com.event.model.Event.EventStatus;
 import com.event.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * EventController - REST API endpointi za događaje
@@ -28,6 +45,7 @@ import java.time.LocalDateTime;
 public class EventController {
     
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
     
     /**
      * GET /api/events
@@ -43,8 +61,11 @@ public class EventController {
      * - status: filtriranje po statusu (opciono)
      * - fromDate: od datuma (opciono, format: yyyy-MM-ddTHH:mm:ss)
      * - toDate: do datuma (opciono, format: yyyy-MM-ddTHH:mm:ss)
+     * - cursor: keyset paginacija (opciono) - prazan za prvu stranicu, zatim nextCursor iz odgovora
+     * - totalMode: "exact" (default), "estimated" ili "none" - kako se računa totalElements (vidi TotalMode)
      * 
      * Primer: GET /api/events?page=0&size=10&sortBy=eventDate&sortDir=desc&status=PUBLISHED
+     * Primer (keyset): GET /api/events?cursor=&size=10&status=PUBLISHED
      */
     @GetMapping
     public ResponseEntity<PageResponse<EventResponse>> getAllEvents(
@@ -56,113 +77,258 @@ public class EventController {
             @RequestParam(required = false) String location,
             @RequestParam(required = false) EventStatus status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String totalMode,
+            WebRequest webRequest
     ) {
-        Page<Event> eventsPage = eventService.findAll(
-                page, size, sortBy, sortDir, title, location, status, fromDate, toDate
-        );
-        
-        // Mapiraj Event entitete u EventResponse DTO-je
-        Page<EventResponse> eventResponsePage = eventsPage.map(EventResponse::from);
-        
-        PageResponse<EventResponse> response = PageResponse.<EventResponse>builder()
-                .content(eventResponsePage.getContent())
-                .page(eventResponsePage.getNumber())
-                .size(eventResponsePage.getSize())
-                .totalElements(eventResponsePage.getTotalElements())
-                .totalPages(eventResponsePage.getTotalPages())
-                .first(eventResponsePage.isFirst())
-                .last(eventResponsePage.isLast())
+        TotalMode mode = TotalMode.from(totalMode);
+        EventFilter filter = EventFilter.builder()
+                .title(title)
+                .location(location)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
                 .build();
         
-        return ResponseEntity.ok(response);
+        // Keyset režim - klijent je poslao cursor parametar (i prazan znači prvu stranicu)
+        if (cursor != null) {
+            Slice<EventResponse> eventsSlice = eventService.findAllAfter(cursor, size, filter);
+            return ResponseEntity.ok(toCursorResponse(eventsSlice, cursor));
+        }
+        
+        // Validator liste (COUNT, MAX, SUM nad svim redovima filtera) samo kada je potreban:
+        // uslovni GET (304 bez upita za stranicu) i totalMode=exact, gde zamenjuje COUNT upit
+        if (mode == TotalMode.EXACT || EventETags.isConditional(webRequest)) {
+            EventListVersion listVersion = eventService.listVersion(filter);
+            if (notModified(webRequest, listVersion)) {
+                return null;
+            }
+            Slice<EventResponse> events = eventService.findAll(page, size, sortBy, sortDir, filter, mode, listVersion);
+            return ResponseEntity.ok(PageResponse.from(events, mode));
+        }
+        
+        // estimated/none - bez upita nad celim skupom (procena ili samo hasNext), pa ni bez ETag-a
+        Slice<EventResponse> events = eventService.findAll(page, size, sortBy, sortDir, filter, mode);
+        
+        return ResponseEntity.ok(PageResponse.from(events, mode));
     }
     
     /**
      * GET /api/events/{id}
-     * Vraća događaj po ID-u
+     * Vraća događaj po ID-u (iz keša kada je moguće)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id) {
-        Event event = eventService.findById(id);
-        return ResponseEntity.ok(EventResponse.from(event));
+    public ResponseEntity<EventResponse> getEventById(@PathVariable Long id, WebRequest webRequest) {
+        if (EventETags.isConditional(webRequest)) {
+            // Samo verzija (iz keša ili malim upitom) - 304 bez pravljenja i serijalizacije EventResponse-a
+            EventVersion version = eventService.findVersionById(id);
+            if (webRequest.checkNotModified(EventETags.of(version.getVersion()),
+                    EventETags.lastModified(version.getUpdatedAt()))) {
+                return null;
+            }
+            // checkNotModified je već postavio ETag i Last-Modified
+            return ResponseEntity.ok(eventService.findResponseById(id));
+        }
+        
+        EventResponse event = eventService.findResponseById(id);
+        return ResponseEntity.ok()
+                .eTag(EventETags.of(event.getVersion()))
+                .lastModified(EventETags.lastModified(event.getUpdatedAt()))
+                .body(event);
     }
     
     /**
      * GET /api/events/user/{userId}
      * Vraća sve događaje određenog korisnika
+     * 
+     * Podržava i keyset paginaciju kroz cursor parametar i totalMode (kao GET /api/events)
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<PageResponse<EventResponse>> getEventsByUser(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String totalMode,
+            WebRequest webRequest
     ) {
-        Page<Event> eventsPage = eventService.findByUserId(userId, page, size);
-        Page<EventResponse> eventResponsePage = eventsPage.map(EventResponse::from);
-        
-        PageResponse<EventResponse> response = PageResponse.<EventResponse>builder()
-                .content(eventResponsePage.getContent())
-                .page(eventResponsePage.getNumber())
-                .size(eventResponsePage.getSize())
-                .totalElements(eventResponsePage.getTotalElements())
-                .totalPages(eventResponsePage.getTotalPages())
-                .first(eventResponsePage.isFirst())
-                .last(eventResponsePage.isLast())
-                .build();
+        TotalMode mode = TotalMode.from(totalMode);
+        if (cursor != null) {
+            return ResponseEntity.ok(toCursorResponse(eventService.findByUserIdAfter(userId, cursor, size), cursor));
+        }
+        
+        // Validator liste samo za uslovni GET - inače exact je COUNT, a estimated iz EventCounters-a
+        if (EventETags.isConditional(webRequest)) {
+            EventListVersion listVersion = eventService.listVersionByUserId(userId);
+            if (notModified(webRequest, listVersion)) {
+                return null;
+            }
+            return ResponseEntity.ok(PageResponse.from(
+                    eventService.findByUserId(userId, page, size, mode, listVersion), mode));
+        }
         
-        return ResponseEntity.ok(response);
+        Slice<EventResponse> events = eventService.findByUserId(userId, page, size, mode);
+        
+        return ResponseEntity.ok(PageResponse.from(events, mode));
     }
     
     /**
      * GET /api/events/status/{status}
      * Vraća sve događaje sa određenim statusom
+     * 
+     * Podržava i keyset paginaciju kroz cursor parametar i totalMode (kao GET /api/events)
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<PageResponse<EventResponse>> getEventsByStatus(
             @PathVariable EventStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String totalMode,
+            WebRequest webRequest
     ) {
-        Page<EventResponse> eventsPage = eventService.findByStatus(status, page, size)
-                .map(EventResponse::from);
-        
-        PageResponse<EventResponse> response = PageResponse.<EventResponse>builder()
-                .content(eventsPage.getContent())
-                .page(eventsPage.getNumber())
-                .size(eventsPage.getSize())
-                .totalElements(eventsPage.getTotalElements())
-                .totalPages(eventsPage.getTotalPages())
-                .first(eventsPage.isFirst())
-                .last(eventsPage.isLast())
-                .build();
+        TotalMode mode = TotalMode.from(totalMode);
+        if (cursor != null) {
+            return ResponseEntity.ok(toCursorResponse(eventService.findByStatusAfter(status, cursor, size), cursor));
+        }
+        
+        // Validator liste samo za uslovni GET - inače exact je COUNT, a estimated iz EventCounters-a
+        if (EventETags.isConditional(webRequest)) {
+            EventListVersion listVersion = eventService.listVersionByStatus(status);
+            if (notModified(webRequest, listVersion)) {
+                return null;
+            }
+            return ResponseEntity.ok(PageResponse.from(
+                    eventService.findByStatus(status, page, size, mode, listVersion), mode));
+        }
         
-        return ResponseEntity.ok(response);
+        Slice<EventResponse> events = eventService.findByStatus(status, page, size, mode);
+        
+        return ResponseEntity.ok(PageResponse.from(events, mode));
     }
     
     /**
      * GET /api/events/upcoming
      * Vraća buduće objavljene događaje
+     * 
+     * Podržava i keyset paginaciju kroz cursor parametar (kao GET /api/events)
      */
     @GetMapping("/upcoming")
     public ResponseEntity<PageResponse<EventResponse>> getUpcomingEvents(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (cursor != null) {
+            return ResponseEntity.ok(toCursorResponse(eventService.findUpcomingPublishedEventsAfter(cursor, size), cursor));
+        }
+        
+        Page<EventResponse> eventResponsePage = eventService.findUpcomingPublishedEvents(page, size);
+        
+        return ResponseEntity.ok(PageResponse.from(eventResponsePage));
+    }
+    
+    /**
+     * GET /api/events/changes?since=...
+     * Inkrementalna sinhronizacija - događaji izmenjeni i obrisani posle kursora
+     * 
+     * Query parametri:
+     * - since: nextCursor iz prethodnog odgovora (bez njega - prva sinhronizacija, svi događaji)
+     * - size: najviše promena u odgovoru (default 100, najviše event.sync.max-size)
+     * 
+     * Dok je hasMore true, klijent odmah traži sledeću stranicu sa novim nextCursor-om.
+     * Kursor stariji od event.sync.tombstone-retention daje 410 - klijent briše lokalne podatke
+     * i sinhronizuje se od početka.
+     * 
+     * Primer: GET /api/events/changes?since=MTIzNHw1NnwyMDI2LTEwLTE1VDEwOjAw&size=500
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<EventSyncResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(eventService.findChangesSince(since, size));
+    }
+    
+    /**
+     * GET /api/events/search?q=...
+     * Full-text pretraga po naslovu i opisu, najrelevantniji događaji prvi
+     * 
+     * Query parametri:
+     * - q: tekst pretrage (obavezan) - npr. "java spring", tačna fraza u navodnicima, "java -python"
+     * - page, size: paginacija
+     * - totalMode: "exact" (default), "estimated" ili "none"
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<EventResponse>> searchEvents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "exact") String totalMode
+    ) {
+        TotalMode mode = TotalMode.from(totalMode);
+        Slice<EventResponse> events = eventService.search(q, page, size, mode);
+        
+        return ResponseEntity.ok(PageResponse.from(events, mode));
+    }
+    
+    /**
+     * GET /api/events/stats
+     * Broj događaja ukupno i po statusu, a uz userId i broj događaja tog korisnika
+     * 
+     * Čita se iz in-memory brojača (EventCounters) - bez COUNT upita nad tabelom events.
+     * 
+     * Primer: GET /api/events/stats?userId=1
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EventStats> getEventStats(@RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(eventService.getStats(userId));
+    }
+    
+    /**
+     * GET /api/events/export
+     * Izvozi sve događaje (NDJSON ili CSV) u jednom odgovoru, bez paginacije
+     * 
+     * Query parametri:
+     * - format: "ndjson" (default) ili "csv"
+     * - title, location, status, fromDate, toDate: isti filteri kao GET /api/events (opciono)
+     * 
+     * StreamingResponseBody - telo odgovora se piše u posebnoj niti dok se redovi čitaju iz baze,
+     * pa se ni cela lista ni ceo odgovor nikad ne drže u memoriji.
+     * 
+     * Primer: GET /api/events/export?format=csv&status=PUBLISHED
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate
     ) {
-        Page<Event> eventsPage = eventService.findUpcomingPublishedEvents(page, size);
-        Page<EventResponse> eventResponsePage = eventsPage.map(EventResponse::from);
-        
-        PageResponse<EventResponse> response = PageResponse.<EventResponse>builder()
-                .content(eventResponsePage.getContent())
-                .page(eventResponsePage.getNumber())
-                .size(eventResponsePage.getSize())
-                .totalElements(eventResponsePage.getTotalElements())
-                .totalPages(eventResponsePage.getTotalPages())
-                .first(eventResponsePage.isFirst())
-                .last(eventResponsePage.isLast())
+        // Format se proverava pre početka odgovora - neispravan format vraća 400
+        DataFormat exportFormat = DataFormat.from(format);
+        EventFilter filter = EventFilter.builder()
+                .title(title)
+                .location(location)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
                 .build();
         
-        return ResponseEntity.ok(response);
+        StreamingResponseBody body = outputStream -> {
+            try (EventExportWriter writer = new EventExportWriter(exportFormat, objectMapper, outputStream)) {
+                eventService.export(filter, writer::write);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"events." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
     
     /**
@@ -183,33 +349,57 @@ public class EventController {
         return ResponseEntity.status(HttpStatus.CREATED).body(EventResponse.from(savedEvent));
     }
     
+    /**
+     * POST /api/events/batch
+     * Kreira više događaja odjednom (npr. import)
+     * 
+     * Body: lista EventRequest objekata - svaka stavka može imati svoj userId,
+     * a userId query parametar (opciono) važi za stavke bez njega.
+     * 
+     * Stavke se ne validiraju kroz @Valid (jedna greška bi odbila ceo zahtev) -
+     * neispravne stavke se preskaču i vraćaju u errors, a ostale se sačuvaju.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createEvents(
+            @RequestBody List<EventRequest> requests,
+            @RequestParam(required = false) Long userId
+    ) {
+        BatchResult result = eventService.createEvents(requests, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+    
     /**
      * PUT /api/events/{id}
      * Ažurira događaj
+     * 
+     * If-Match (opciono) - ETag verzije na kojoj je klijent zasnovao izmenu; ako je događaj
+     * u međuvremenu izmenjen, odgovor je 412 Precondition Failed. Odgovor nosi ETag nove verzije.
      */
     @PutMapping("/{id}")
     public ResponseEntity<EventResponse> updateEvent(
             @PathVariable Long id,
             @Valid @RequestBody EventRequest request,
-            @RequestParam Long userId
+            @RequestParam Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Event updatedEvent = request.toEntity();
-        Event savedEvent = eventService.updateEvent(id, updatedEvent, userId);
-        return ResponseEntity.ok(EventResponse.from(savedEvent));
+        EventResponse updated = eventService.updateEvent(
+                id, request.toEntity(), userId, EventETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EventETags.of(updated.getVersion())).body(updated);
     }
     
     /**
      * PATCH /api/events/{id}/status
-     * Menja samo status događaja
+     * Menja samo status događaja (If-Match kao kod PUT)
      */
     @PatchMapping("/{id}/status")
     public ResponseEntity<EventResponse> updateEventStatus(
             @PathVariable Long id,
             @RequestParam EventStatus status,
-            @RequestParam Long userId
+            @RequestParam Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Event updatedEvent = eventService.updateStatus(id, status, userId);
-        return ResponseEntity.ok(EventResponse.from(updatedEvent));
+        EventResponse updated = eventService.updateStatus(id, status, userId, EventETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EventETags.of(updated.getVersion())).body(updated);
     }
     
     /**
@@ -224,4 +414,37 @@ public class EventController {
         eventService.deleteEvent(id, userId);
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * Uslovni GET liste: ETag i Last-Modified iz validatora liste
+     * 
+     * checkNotModified upoređuje If-None-Match/If-Modified-Since, postavlja zaglavlja i, kada se
+     * ništa nije promenilo, status 304 - tada kontroler vraća null (bez tela).
+     */
+    private static boolean notModified(WebRequest webRequest, EventListVersion listVersion) {
+        return webRequest.checkNotModified(EventETags.of(listVersion),
+                EventETags.lastModified(listVersion.getLastModified()));
+    }
+    
+    /**
+     * Pravi PageResponse za keyset (cursor) režim
+     * 
+     * nextCursor pokazuje na poslednji događaj na stranici i šalje se samo ako postoji sledeća stranica.
+     * Ukupan broj elemenata i stranica se ne računa (nema COUNT upita).
+     */
+    private PageResponse<EventResponse> toCursorResponse(Slice<EventResponse> eventsSlice, String cursor) {
+        List<EventResponse> content = eventsSlice.getContent();
+        
+        String nextCursor = eventsSlice.hasNext()
+                ? EventCursor.from(content.get(content.size() - 1)).encode()
+                : null;
+        
+        return PageResponse.<EventResponse>builder()
+                .content(content)
+                .size(eventsSlice.getSize())
+                .first(cursor.isBlank())
+                .last(!eventsSlice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
@@ -0,0 +1,97 @@
+package com.event.controller;
+
+import com.event.dto.EventListVersion;
+import com.event.exception.InvalidRequestException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * EventETags - ETag, Last-Modified i If-Match za događaje i liste događaja
+ * 
+ * ETag događaja je njegova verzija (Event.version) pod navodnicima, npr. "3".
+ * - uz izmenu klijent je šalje nazad u If-Match, a EventService je prenosi u WHERE deo UPDATE-a
+ *   (AND version = ?) - izmena prolazi samo ako niko nije izmenio događaj u međuvremenu
+ * - uz GET je šalje u If-None-Match - ako se verzija nije promenila, odgovor je 304 bez tela
+ * 
+ * ETag liste je napravljen od EventListVersion (count, max(updated_at), sum(version)).
+ */
+final class EventETags {
+    
+    /**
+     * Verzija koja ne postoji - UPDATE sa njom ne menja nijedan red, pa odgovor je 412
+     */
+    static final long NO_MATCH = -1L;
+    
+    private EventETags() {
+    }
+    
+    /**
+     * ETag za verziju događaja
+     */
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * ETag za listu događaja: "count-updatedAtMikrosekunde-zbirVerzija"
+     */
+    static String of(EventListVersion listVersion) {
+        LocalDateTime lastModified = listVersion.getLastModified();
+        long micros = 0;
+        if (lastModified != null) {
+            micros = lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        }
+        return "\"" + listVersion.getCount() + "-" + micros + "-" + listVersion.getVersionSum() + "\"";
+    }
+    
+    /**
+     * Last-Modified u milisekundama (-1 - nepoznato, zaglavlje se ne šalje)
+     * 
+     * updated_at se upisuje kao lokalno vreme servera (LocalDateTime.now()).
+     */
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+    
+    /**
+     * Da li je GET uslovni (If-None-Match ili If-Modified-Since)
+     */
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+    
+    /**
+     * Očekivana verzija iz If-Match zaglavlja
+     * 
+     * - bez zaglavlja ili "*" - null (izmena bez provere verzije, kao do sada)
+     * - "3" - verzija 3
+     * - slaba oznaka (W/"3") ili oznaka koju nismo mi izdali - NO_MATCH (If-Match koristi
+     *   strogo poređenje, pa se takva oznaka nikad ne poklapa)
+     * 
+     * @throws InvalidRequestException ako zaglavlje sadrži više oznaka
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new InvalidRequestException("If-Match podržava samo jednu oznaku: " + ifMatch);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return NO_MATCH;
+        }
+        
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+}
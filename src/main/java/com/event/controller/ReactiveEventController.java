@@ -0,0 +1,130 @@
+package com.event.controller;
+
+import com.event.dto.EventFilter;
+import com.event.dto.EventResponse;
+import com.event.dto.PageResponse;
+import com.event.model.Event.EventStatus;
+import com.event.service.ReactiveEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * ReactiveEventController - neblokirajući endpointi za čitanje događaja
+ * 
+ * Isti endpointi i odgovori kao GET /api/events, /{id}, /upcoming i /status/{status},
+ * ali pod /api/reactive/events i preko R2DBC-a (ReactiveEventService).
+ * 
+ * Metode vraćaju Mono/Flux. Spring MVC ih obrađuje asinhrono (kao DeferredResult):
+ * Tomcat nit se oslobađa čim metoda vrati Mono, a odgovor se piše kada baza vrati redove.
+ * Zato reaktivni i blokirajući kontroleri rade u istoj aplikaciji, na istom portu.
+ * 
+ * Flux sa application/x-ndjson (GET /stream) se šalje element po element - sledeći element se
+ * traži tek kada je prethodni upisan u odgovor (backpressure do baze, vidi streamResponses).
+ */
+@RestController
+@RequestMapping("/api/reactive/events")
+@ConditionalOnProperty(name = "event.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveEventController {
+    
+    private final ReactiveEventService reactiveEventService;
+    
+    /**
+     * GET /api/reactive/events
+     * Stranica događaja sa filterima i sortiranjem (isti parametri kao GET /api/events, bez cursor i totalMode)
+     * 
+     * Primer: GET /api/reactive/events?page=0&size=10&sortBy=eventDate&sortDir=desc&status=PUBLISHED
+     */
+    @GetMapping
+    public Mono<PageResponse<EventResponse>> getAllEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate
+    ) {
+        EventFilter filter = EventFilter.builder()
+                .title(title)
+                .location(location)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        
+        return reactiveEventService.findAll(page, size, sortBy, sortDir, filter);
+    }
+    
+    /**
+     * GET /api/reactive/events/{id}
+     * Vraća događaj po ID-u (404 ako ne postoji)
+     */
+    @GetMapping("/{id}")
+    public Mono<EventResponse> getEventById(@PathVariable Long id) {
+        return reactiveEventService.findResponseById(id);
+    }
+    
+    /**
+     * GET /api/reactive/events/status/{status}
+     * Vraća događaje sa određenim statusom
+     */
+    @GetMapping("/status/{status}")
+    public Mono<PageResponse<EventResponse>> getEventsByStatus(
+            @PathVariable EventStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return reactiveEventService.findByStatus(status, page, size);
+    }
+    
+    /**
+     * GET /api/reactive/events/upcoming
+     * Vraća buduće objavljene događaje
+     */
+    @GetMapping("/upcoming")
+    public Mono<PageResponse<EventResponse>> getUpcomingEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return reactiveEventService.findUpcomingPublishedEvents(page, size);
+    }
+    
+    /**
+     * GET /api/reactive/events/stream
+     * Svi događaji sa filterima kao NDJSON tok (jedan EventResponse JSON po liniji), sortirani po ID-u
+     * 
+     * Primer: GET /api/reactive/events/stream?status=PUBLISHED
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EventResponse> streamEvents(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate
+    ) {
+        EventFilter filter = EventFilter.builder()
+                .title(title)
+                .location(location)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        
+        return reactiveEventService.streamAll(filter);
+    }
+}
@@ -1,15 +1,20 @@
 package com.event.controller;
 
+import com.event.dto.BatchResult;
 import com.event.dto.UserRequest;
 import com.event.dto.UserResponse;
+import com.event.export.DataFormat;
 import com.event.model.User;
 import com.event.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -99,6 +104,29 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(UserResponse.from(savedUser));
     }
     
+    /**
+     * POST /api/users/import
+     * Masovni uvoz korisnika (npr. cela organizacija odjednom)
+     * 
+     * Format se određuje po Content-Type header-u:
+     * - text/csv - zaglavlje, pa redovi username,email,password,role
+     * - application/x-ndjson - jedan JSON objekat po redu (ista polja kao POST /api/users)
+     * 
+     * InputStream - telo zahteva se ne učitava u memoriju, već se strimuje direktno u bazu (COPY).
+     * consumes - zahtev sa drugim Content-Type-om (npr. form-urlencoded) se odbija sa 415,
+     * pre nego što bi servlet kontejner pročitao telo kao form parametre.
+     * 
+     * Neispravni redovi i duplikati se preskaču i vraćaju u errors (index = redni broj reda, 0-based).
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BatchResult> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        BatchResult result = userService.importUsers(body, DataFormat.from(contentType));
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * DELETE /api/users/{id}
      * Briše korisnika po ID-u
@@ -0,0 +1,25 @@
+package com.event.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ReactivePool - R2DBC pool konekcija za neblokirajuće čitanje (/api/reactive/events)
+ * 
+ * Pool namerno nije ConnectionFactory bean: Spring Boot (DataSourceAutoConfiguration) ne pravi
+ * JDBC DataSource kada u kontekstu postoji ConnectionFactory, a JPA i dalje radi preko JDBC-a.
+ * Zato se pool drži u ovom bean-u (koji ga zatvara pri gašenju aplikacije), a kao bean je
+ * izložen samo DatabaseClient (vidi ReactiveConfig).
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReactivePool implements AutoCloseable {
+    
+    private final ConnectionPool connectionPool;
+    
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,62 @@
+package com.event.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * ReadRoutingContext - da li tekuća nit (zahtev) mora da čita sa primarne baze
+ * 
+ * ReadYourWritesFilter ga postavlja za klijenta koji je nedavno nešto izmenio - replika možda
+ * još nije primila tu izmenu, pa bi klijent video staro stanje odmah posle sopstvenog upisa.
+ * ReadWriteRoutingDataSource tada i readOnly transakcije šalje na primarnu bazu.
+ */
+public final class ReadRoutingContext {
+    
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    
+    private ReadRoutingContext() {
+    }
+    
+    /**
+     * Sva čitanja tekuće niti idu na primarnu bazu (do clear())
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+    
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+    
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+    
+    /**
+     * Izvršava zadatak sa čitanjem sa primarne baze i vraća prethodno stanje niti
+     * (npr. kada poziva kod koji je već vezan za primarnu bazu)
+     */
+    public static void runOnPrimary(Runnable task) {
+        callOnPrimary(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Kao runOnPrimary, za zadatak koji vraća rezultat
+     * 
+     * U readOnly transakciji radi samo pre prve naredbe - konekcija se bira pri prvoj naredbi
+     * (LazyConnectionDataSourceProxy) i ostaje ista do kraja transakcije.
+     */
+    public static <T> T callOnPrimary(Supplier<T> task) {
+        boolean pinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return task.get();
+        } finally {
+            if (!pinned) {
+                clear();
+            }
+        }
+    }
+}
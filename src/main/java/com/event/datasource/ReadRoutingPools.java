@@ -0,0 +1,31 @@
+package com.event.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * ReadRoutingPools - Hikari pool-ovi primarne baze i replika
+ * 
+ * Pool-ovi nisu posebni DataSource bean-ovi (jedini DataSource bean je ruter, vidi ReadRoutingConfig),
+ * pa ih ovaj bean zatvara pri gašenju aplikacije.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReadRoutingPools implements AutoCloseable {
+    
+    private final HikariDataSource primary;
+    
+    /**
+     * Ime replike (ključ u ReadWriteRoutingDataSource) → pool
+     */
+    private final Map<String, HikariDataSource> replicas;
+    
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
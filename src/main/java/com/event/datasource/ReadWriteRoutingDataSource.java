@@ -0,0 +1,48 @@
+package com.event.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ReadWriteRoutingDataSource - readOnly transakcije na repliku, sve ostalo na primarnu bazu
+ * 
+ * Za svaku novu konekciju determineCurrentLookupKey() bira ključ:
+ * - @Transactional(readOnly = true), klijent nije vezan za primarnu bazu (ReadRoutingContext)
+ *   i postoji replika koja ne kasni → replika (ReplicaSelector, round-robin)
+ * - inače (upisi, kod bez transakcije, schema.sql, ddl-auto) → primarna baza
+ * 
+ * Mora se koristiti kroz LazyConnectionDataSourceProxy: JpaTransactionManager traži konekciju
+ * na početku transakcije, pre nego što je readOnly oznaka postavljena u
+ * TransactionSynchronizationManager-u. Proxy stvarnu konekciju uzima tek pri prvoj naredbi.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final ReplicaSelector replicaSelector;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, ? extends DataSource> replicas,
+                                      ReplicaSelector replicaSelector) {
+        this.replicaSelector = replicaSelector;
+        
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadRoutingContext.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        String replica = replicaSelector.select();
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,77 @@
+package com.event.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * ReadYourWritesFilter - posle upisa klijent kratko čita samo sa primarne baze
+ * 
+ * Zahtev koji menja podatke (POST, PUT, PATCH, DELETE) dobija cookie READ_PRIMARY_UNTIL
+ * (trenutak do kog važi, u milisekundama). Dok je taj trenutak u budućnosti, svi zahtevi tog
+ * klijenta su vezani za primarnu bazu (ReadRoutingContext), pa klijent odmah vidi svoju izmenu
+ * iako je replika još nije primila.
+ * 
+ * Stanje je kod klijenta (cookie), pa radi i kada sledeći zahtev stigne na drugu instancu aplikacije.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    static final String COOKIE_NAME = "READ_PRIMARY_UNTIL";
+    
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final Duration window;
+    
+    /**
+     * @param window - koliko dugo posle upisa klijent čita sa primarne baze
+     */
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            // Cookie se postavlja pre obrade - posle nje odgovor može već biti poslat
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + window.toMillis()));
+            cookie.setPath("/api");
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+            ReadRoutingContext.pinToPrimary();
+        } else if (pinnedUntil(request) > now) {
+            ReadRoutingContext.pinToPrimary();
+        }
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+    
+    private static long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
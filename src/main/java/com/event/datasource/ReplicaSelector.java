@@ -0,0 +1,142 @@
+package com.event.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaSelector - bira repliku za sledeću readOnly transakciju
+ * 
+ * - round-robin između replika koje su dostupne i ne kasne više od maxLag
+ * - kašnjenje (lag) se meri povremeno (@Scheduled), ne pri svakom izboru - izbor je bez upita
+ * - ako nijedna replika ne odgovara, select() vraća null i čita se sa primarne baze
+ * 
+ * Kašnjenje replike (LAG_SQL): 0 ako je replika primenila sve što je primila (ili ako baza nije
+ * replika - npr. lokalno ista baza glumi i primarnu i repliku), inače vreme od poslednje primenjene
+ * transakcije. Replika koja ne odgovori se izbacuje do sledećeg uspešnog merenja.
+ * 
+ * Metrike (MeterBinder - Spring Boot ih registruje kada je MeterRegistry spreman):
+ * - event.datasource.replica.lag (sekunde, tag replica; -1 kada replika nije dostupna)
+ * - hikaricp.* za pool-ove replika (Spring Boot ih sam pravi samo za DataSource bean-ove, a to je ovde ruter)
+ */
+@Slf4j
+public class ReplicaSelector implements MeterBinder {
+    
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END""";
+    
+    /**
+     * Jedna replika i njeno poslednje izmereno stanje
+     */
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+        private volatile long lagMillis;
+        
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+    
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    /**
+     * @param replicas - ime (ključ u ReadWriteRoutingDataSource) → pool replike
+     * @param maxLag - najveće dozvoljeno kašnjenje replike
+     */
+    public ReplicaSelector(Map<String, ? extends DataSource> replicas, Duration maxLag) {
+        this.maxLagMillis = maxLag.toMillis();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("event.datasource.replica.lag", replica,
+                            r -> r.available ? r.lagMillis / 1000.0 : -1)
+                    .description("Kašnjenje replike za primarnom bazom")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            if (replica.dataSource instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+                hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+        }
+    }
+    
+    /**
+     * Sledeća replika (round-robin) među dostupnima koje ne kasne previše
+     * 
+     * @return ime replike, ili null ako nijedna ne odgovara (čita se sa primarne baze)
+     */
+    public String select() {
+        List<Replica> eligible = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.available && replica.lagMillis <= maxLagMillis) {
+                eligible.add(replica);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return null;
+        }
+        return eligible.get(Math.floorMod(next.getAndIncrement(), eligible.size())).name;
+    }
+    
+    /**
+     * Meri kašnjenje svih replika
+     */
+    @Scheduled(fixedDelayString = "${event.read-routing.lag-check-interval:PT5S}")
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+                if (!replica.available) {
+                    log.info("Replika {} je ponovo dostupna", replica.name);
+                }
+                replica.available = true;
+            } catch (SQLException e) {
+                if (replica.available) {
+                    log.warn("Replika {} nije dostupna, čita se sa ostalih: {}", replica.name, e.getMessage());
+                }
+                replica.available = false;
+            }
+        }
+    }
+    
+    /**
+     * Postavlja izmereno kašnjenje (za testove, bez baze)
+     */
+    void setLag(String name, long lagMillis) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                replica.lagMillis = lagMillis;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * BatchResult - rezultat masovne operacije (npr. POST /api/events/batch)
+ * 
+ * Neispravne stavke ne prekidaju celu operaciju - ostale se sačuvaju,
+ * a za svaku odbijenu stavku vraća se njen redni broj (index) i razlozi.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    
+    /**
+     * Broj primljenih stavki
+     */
+    private int received;
+    
+    /**
+     * Broj sačuvanih stavki
+     */
+    private int created;
+    
+    /**
+     * Broj odbijenih stavki
+     */
+    private int rejected;
+    
+    /**
+     * ID-evi sačuvanih stavki, istim redosledom kao u zahtevu
+     */
+    private List<Long> createdIds;
+    
+    /**
+     * Greške po stavkama (prazna lista ako su sve stavke sačuvane)
+     */
+    private List<ItemError> errors;
+    
+    /**
+     * Greška jedne stavke
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemError {
+        
+        /**
+         * Redni broj stavke u zahtevu (0-based)
+         */
+        private long index;
+        
+        /**
+         * Razlozi odbijanja (npr. "title: Naslov je obavezan")
+         */
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,73 @@
+package com.event.dto;
+
+import com.event.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * ChangeCursor - kursor inkrementalne sinhronizacije (GET /api/events/changes)
+ * 
+ * Pozicija poslednje promene koju je klijent video: (changeXid, changeSeq) - transakcija koja je
+ * red poslednja upisala i redni broj upisa (trigger stamp_event_change, vidi schema.sql).
+ * Sledeći poziv čita samo promene posle nje: WHERE (change_xid, change_seq) > (?, ?).
+ * 
+ * changedAt (updated_at događaja ili deleted_at tombstone-a) služi samo za proveru da li je
+ * kursor stariji od sačuvanih tombstone-a.
+ * 
+ * Kao i EventCursor, za klijenta je neproziran Base64 string.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ChangeCursor {
+    
+    /**
+     * Početna pozicija - prva sinhronizacija (klijent još nema nijedan događaj)
+     */
+    public static final ChangeCursor START = new ChangeCursor(0L, 0L, LocalDateTime.of(1, 1, 1, 0, 0));
+    
+    private static final String SEPARATOR = "|";
+    
+    private final Long changeXid;
+    private final Long changeSeq;
+    private final LocalDateTime changedAt;
+    
+    /**
+     * Kodira kursor u string koji se vraća klijentu (nextCursor)
+     */
+    public String encode() {
+        String raw = changeXid + SEPARATOR + changeSeq + SEPARATOR + changedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Dekodira kursor koji je klijent poslao
+     * 
+     * @param value - kursor iz query parametra since (prazan ili bez vrednosti - prva sinhronizacija)
+     * @return dekodiran kursor
+     * @throws InvalidRequestException ako kursor nije ispravan
+     */
+    public static ChangeCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new InvalidRequestException("Neispravan kursor: " + value);
+            }
+            return new ChangeCursor(Long.valueOf(parts[0]), Long.valueOf(parts[1]), LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Neispravan kursor: " + value);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.event.dto;
+
+import com.event.model.Event.EventStatus;
+import com.event.service.EventChangedEvent;
+import com.event.service.EventChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventChange - jedna promena događaja u toku promena (GET /api/events/stream)
+ * 
+ * Ista poruka ide i kroz PostgreSQL NOTIFY između čvorova i klijentu kao SSE "change" događaj.
+ * 
+ * status i previousStatus omogućavaju filtriranje po statusu bez učitavanja događaja:
+ * klijent koji prati PUBLISHED vidi i događaj koji je iz PUBLISHED prešao u CANCELLED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventChange {
+    
+    private ChangeType type;
+    private Long eventId;
+    private Long createdById;
+    
+    /**
+     * Status posle promene (null za DELETED)
+     */
+    private EventStatus status;
+    
+    /**
+     * Status pre promene (null za CREATED)
+     */
+    private EventStatus previousStatus;
+    
+    private Long version;
+    private LocalDateTime changedAt;
+    
+    /**
+     * Događaj posle promene (null za DELETED)
+     */
+    private EventResponse event;
+    
+    /**
+     * Da li promena prolazi filtere pretplatnika (null - filter se ne primenjuje)
+     */
+    public boolean matches(EventStatus statusFilter, Long createdByFilter) {
+        if (createdByFilter != null && !createdByFilter.equals(createdById)) {
+            return false;
+        }
+        return statusFilter == null
+                || statusFilter == status
+                || statusFilter == previousStatus;
+    }
+    
+    /**
+     * Pravi poruku od EventChangedEvent-a (posle commit-a izmene)
+     */
+    public static EventChange from(EventChangedEvent change) {
+        EventResponse event = change.getEvent();
+        EventResponse previous = change.getPrevious();
+        EventResponse current = event != null ? event : previous;
+        return EventChange.builder()
+                .type(change.getType())
+                .eventId(change.getEventId())
+                .createdById(current != null ? current.getCreatedById() : null)
+                .status(event != null ? event.getStatus() : null)
+                .previousStatus(previous != null ? previous.getStatus() : null)
+                .version(current != null ? current.getVersion() : null)
+                .changedAt(event != null && event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now())
+                .event(event)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.event.dto;
+
+import com.event.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * EventCursor - kursor za keyset (seek) paginaciju događaja
+ *
+ * Umesto broja stranice (OFFSET), klijent šalje poziciju poslednjeg događaja
+ * koji je video: (eventDate, id). Sledeća stranica se čita upitom
+ * WHERE (event_date, id) > (?, ?), pa baza ne mora da preskače redove
+ * i brzina je ista bez obzira koliko je stranica klijent već prošao.
+ *
+ * Kursor je za klijenta neproziran (opaque) - Base64 string koji samo vraća nazad.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class EventCursor {
+
+    /**
+     * Početna pozicija - manja od svakog datuma događaja, koristi se za prvu stranicu
+     */
+    public static final EventCursor START = new EventCursor(LocalDateTime.of(1, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime eventDate;
+    private final Long id;
+
+    /**
+     * Pravi kursor od poslednjeg događaja na stranici
+     */
+    public static EventCursor from(EventResponse event) {
+        return new EventCursor(event.getEventDate(), event.getId());
+    }
+
+    /**
+     * Kodira kursor u string koji se vraća klijentu (nextCursor)
+     */
+    public String encode() {
+        String raw = eventDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Dekodira kursor koji je klijent poslao
+     *
+     * @param value - kursor iz query parametra (prazan string znači prva stranica)
+     * @return dekodiran kursor
+     * @throws InvalidRequestException ako kursor nije ispravan
+     */
+    public static EventCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidRequestException("Neispravan kursor: " + value);
+            }
+            LocalDateTime eventDate = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            Long id = Long.valueOf(raw.substring(separatorIndex + 1));
+            return new EventCursor(eventDate, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Neispravan kursor: " + value);
+        }
+    }
+}
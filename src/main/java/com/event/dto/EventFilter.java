@@ -0,0 +1,39 @@
+package com.event.dto;
+
+import com.event.model.Event.EventStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventFilter - filteri za listu događaja (GET /api/events)
+ * 
+ * Svi filteri su opcioni - null (ili prazan string) znači da se filter ne primenjuje.
+ * Od popunjenih filtera EventSpecifications pravi WHERE uslove.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFilter {
+    
+    private String title;
+    private String location;
+    private EventStatus status;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    
+    /**
+     * Da li nijedan filter nije popunjen
+     */
+    public boolean isEmpty() {
+        return (title == null || title.isBlank())
+                && (location == null || location.isBlank())
+                && status == null
+                && fromDate == null
+                && toDate == null;
+    }
+}
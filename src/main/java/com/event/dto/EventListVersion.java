@@ -0,0 +1,31 @@
+package com.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventListVersion - "verzija" liste događaja za jedan skup filtera (za ETag i Last-Modified)
+ * 
+ * Čita se jednim agregatnim upitom: COUNT(*), MAX(updated_at) i SUM(version) sa istim filterima
+ * kao lista. Svaka promena koja utiče na listu menja bar jednu vrednost:
+ * - novi ili obrisan događaj menja count
+ * - izmena postavlja updated_at na "sada" (obično novi max) i povećava version (zbir raste za 1,
+ *   i kada sat drugog čvora kasni pa max(updated_at) ostane isti)
+ * 
+ * count je ujedno tačan ukupan broj za totalElements, pa lista ne treba poseban COUNT.
+ */
+@Getter
+@AllArgsConstructor
+public class EventListVersion {
+    
+    private final Long count;
+    
+    /**
+     * Najnoviji updated_at u listi (null za praznu listu)
+     */
+    private final LocalDateTime lastModified;
+    
+    private final Long versionSum;
+}
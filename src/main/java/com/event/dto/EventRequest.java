@@ -43,6 +43,12 @@ public class EventRequest {
     
     private EventStatus status = EventStatus.DRAFT;
     
+    /**
+     * ID kreatora - koristi se samo u POST /api/events/batch (svaka stavka može imati svog kreatora)
+     * Kod POST /api/events kreator se i dalje šalje kroz userId query parametar.
+     */
+    private Long userId;
+    
     /**
      * Metoda za konverziju EventRequest DTO u Event entitet
      */
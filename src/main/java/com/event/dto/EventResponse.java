@@ -31,6 +31,11 @@ public class EventResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    /**
+     * Verzija reda (Event.version) - klijent je dobija i kao ETag i vraća je u If-Match
+     */
+    private Long version;
+    
     /**
      * Metoda za konverziju Event entiteta u EventResponse DTO
      */
@@ -46,6 +51,7 @@ public class EventResponse {
                 .createdByUsername(event.getCreatedBy().getUsername())
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
+                .version(event.getVersion())
                 .build();
     }
 }
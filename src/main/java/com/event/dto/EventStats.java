@@ -0,0 +1,32 @@
+package com.event.dto;
+
+import com.event.model.Event.EventStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * EventStats - broj događaja ukupno, po statusu i (opciono) za jednog korisnika
+ * (GET /api/events/stats)
+ * 
+ * reconciledAt - kada su brojači poslednji put usklađeni sa bazom
+ * (null kada su brojevi pročitani direktno iz baze)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventStats {
+    
+    private long total;
+    private Map<EventStatus, Long> byStatus;
+    private Long userId;
+    private Long userEvents;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,54 @@
+package com.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * EventSyncResponse - promene posle kursora (GET /api/events/changes)
+ * 
+ * Klijent primeni izmene (updated - dodaj ili zameni po id) i brisanja (deleted - ukloni po id),
+ * zapamti nextCursor i sledeći put ga pošalje kao since. Dok je hasMore true, odmah traži sledeću stranicu.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSyncResponse {
+    
+    /**
+     * Kreirani ili izmenjeni događaji (trenutno stanje), sortirani po (updatedAt, id)
+     */
+    private List<EventResponse> updated;
+    
+    /**
+     * Obrisani događaji
+     */
+    private List<DeletedEvent> deleted;
+    
+    /**
+     * Kursor za sledeću sinhronizaciju - uvek popunjen (bez novih promena ostaje isti)
+     */
+    private String nextCursor;
+    
+    /**
+     * Da li posle ove stranice ima još promena
+     */
+    private boolean hasMore;
+    
+    /**
+     * Obrisan događaj - samo ID, kreator i vreme brisanja
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedEvent {
+        private Long id;
+        private Long createdById;
+        private LocalDateTime deletedAt;
+    }
+}
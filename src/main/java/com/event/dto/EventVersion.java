@@ -0,0 +1,29 @@
+package com.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventVersion - trenutna verzija događaja, bez ostalih kolona
+ * 
+ * Čita se jednim malim upitom (bez JOIN-a i bez TEXT kolone description) kada treba samo
+ * proveriti vlasnika i verziju, npr. da bi se objasnilo zašto uslovni UPDATE nije izmenio red.
+ */
+@Getter
+@AllArgsConstructor
+public class EventVersion {
+    
+    private final Long id;
+    private final Long createdById;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    
+    /**
+     * Verzija događaja koji je već učitan (npr. iz EventResponseCache)
+     */
+    public static EventVersion from(EventResponse event) {
+        return new EventVersion(event.getId(), event.getCreatedById(), event.getVersion(), event.getUpdatedAt());
+    }
+}
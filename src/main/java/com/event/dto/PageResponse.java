@@ -1,28 +1,89 @@
 package com.event.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 /**
  * PageResponse - DTO za paginaciju odgovora
- * 
+ *
  * Koristi se za vraćanje stranica sa podacima kroz API
+ *
+ * Podržava dva načina paginacije:
+ * - klasičan (page/size) - popunjeni su page, totalElements i totalPages
+ *   (sa totalMode=estimated ukupan broj je procena, a sa totalMode=none se ne vraća)
+ * - keyset (cursor) - popunjen je nextCursor, a ukupan broj se ne računa (nema COUNT upita)
+ *
+ * @JsonInclude(NON_NULL) - polja koja nisu popunjena (npr. nextCursor u klasičnom režimu) se ne vraćaju
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
-    
+
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+
+    /**
+     * Kako je izračunat totalElements (exact, estimated, none) - samo kada ga je klijent izabrao
+     */
+    private TotalMode totalMode;
+
+    /**
+     * Kursor za sledeću stranicu (samo u keyset režimu, null ako nema sledeće stranice)
+     */
+    private String nextCursor;
+
+    /**
+     * Pravi PageResponse od Spring Data stranice (klasičan page/size režim)
+     *
+     * Jedno mesto umesto istog builder koda u svakom endpointu kontrolera.
+     */
+    public static <T> PageResponse<T> from(Page<T> page) {
+        return PageResponse.<T>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Pravi PageResponse za izabran totalMode
+     *
+     * Page (exact, estimated) ima ukupan broj; Slice (none) samo zna da li postoji sledeća stranica,
+     * pa totalElements i totalPages ostaju null.
+     */
+    public static <T> PageResponse<T> from(Slice<T> slice, TotalMode totalMode) {
+        PageResponse<T> response;
+        if (slice instanceof Page<T> page) {
+            response = from(page);
+        } else {
+            response = PageResponse.<T>builder()
+                    .content(slice.getContent())
+                    .page(slice.getNumber())
+                    .size(slice.getSize())
+                    .first(slice.isFirst())
+                    .last(slice.isLast())
+                    .build();
+        }
+        response.setTotalMode(totalMode);
+        return response;
+    }
 }
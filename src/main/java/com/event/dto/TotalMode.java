@@ -0,0 +1,42 @@
+package com.event.dto;
+
+import com.event.exception.InvalidRequestException;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * TotalMode - kako se za stranicu računa ukupan broj elemenata (query parametar totalMode)
+ * 
+ * - EXACT - COUNT upit sa istim uslovima kao upit za podatke (totalElements i totalPages su tačni)
+ * - ESTIMATED - procena bez COUNT-a na svakom zahtevu (statistika planera, keširan COUNT ili
+ *   EventCounters za liste po statusu i kreatoru - sa više čvorova kasne do usklađivanja)
+ * - NONE - bez ukupnog broja; čita se size+1 redova samo da bi se znalo da li postoji sledeća stranica
+ */
+public enum TotalMode {
+    
+    EXACT,
+    ESTIMATED,
+    NONE;
+    
+    /**
+     * U JSON-u malim slovima, isto kao u query parametru
+     */
+    @JsonValue
+    public String toValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Pretvara query parametar (npr. "none") u TotalMode
+     * 
+     * @throws InvalidRequestException ako vrednost nije podržana
+     */
+    public static TotalMode from(String value) {
+        try {
+            return TotalMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Nepodržan totalMode: " + value + " (dozvoljeno: exact, estimated, none)");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.event.exception;
+
+/**
+ * Exception za slučaj kada je kursor sinhronizacije stariji od sačuvanih tombstone-a
+ * 
+ * Brisanja pre tog trenutka više nisu zapisana, pa inkrementalna sinhronizacija ne može da
+ * bude potpuna - klijent treba da obriše lokalne podatke i sinhronizuje se od početka (410 Gone).
+ */
+public class CursorExpiredException extends RuntimeException {
+    
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
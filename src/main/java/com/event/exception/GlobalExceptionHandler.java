@@ -2,6 +2,9 @@ package com.event.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -100,6 +103,93 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
     
+    /**
+     * Hvata PreconditionFailedException - If-Match ne odgovara trenutnoj verziji (412)
+     * 
+     * ETag zaglavlje nosi trenutnu verziju, pa klijent zna da mora ponovo da pročita događaj.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        log.warn("Uslov nije ispunjen: {}", ex.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        error.put("error", "Precondition Failed");
+        error.put("message", ex.getMessage());
+        error.put("currentVersion", ex.getCurrentVersion());
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(String.valueOf(ex.getCurrentVersion()))
+                .body(error);
+    }
+    
+    /**
+     * Hvata CursorExpiredException - kursor sinhronizacije je stariji od sačuvanih tombstone-a (410)
+     */
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleCursorExpired(CursorExpiredException ex) {
+        log.info("Istekao kursor sinhronizacije: {}", ex.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.GONE.value());
+        error.put("error", "Gone");
+        error.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+    
+    /**
+     * Hvata OptimisticLockingFailureException - istovremena izmena istog reda bez If-Match (@Version)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Istovremena izmena: {}", ex.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", "Conflict");
+        error.put("message", "Resurs je u međuvremenu izmenjen, pokušajte ponovo");
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    /**
+     * Hvata InvalidRequestException - kada zahtev sadrži neispravan parametar
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException ex) {
+        log.warn("Neispravan zahtev: {}", ex.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.BAD_REQUEST.value());
+        error.put("error", "Bad Request");
+        error.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    /**
+     * Hvata TaskRejectedException - pun red executor-a za asinhrone odgovore (WebAsyncConfig, npr. export)
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Asinhroni odgovor odbijen, red je pun: {}", ex.getMessage());
+        
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("error", "Service Unavailable");
+        error.put("message", "Server je trenutno preopterećen, pokušajte ponovo");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
     /**
      * Hvata sve ostale exception-e i vraća detaljnu grešku
      */
@@ -0,0 +1,14 @@
+package com.event.exception;
+
+/**
+ * Exception za slučaj kada zahtev sadrži neispravan parametar
+ * 
+ * Koristi se kada klijent pošalje vrednost koju ne možemo da protumačimo:
+ * - Neispravan ili izmenjen kursor za paginaciju
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.event.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception za slučaj kada uslov iz zahteva (If-Match) nije ispunjen
+ * 
+ * Koristi se kada klijent menja događaj na osnovu verzije koja više nije trenutna -
+ * neko drugi ga je u međuvremenu izmenio. Klijent treba ponovo da pročita događaj.
+ */
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+    
+    /**
+     * Trenutna verzija resursa (vraća se klijentu kao ETag)
+     */
+    private final Long currentVersion;
+    
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+}
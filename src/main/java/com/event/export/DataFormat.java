@@ -0,0 +1,53 @@
+package com.event.export;
+
+import com.event.exception.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * DataFormat - formati za masovni izvoz i uvoz podataka
+ * (GET /api/events/export, POST /api/users/import)
+ * 
+ * - NDJSON: jedan JSON objekat po redu (application/x-ndjson) - lako se čita red po red
+ * - CSV: zaglavlje + jedan red po stavci (text/csv, RFC 4180)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DataFormat {
+    
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    /**
+     * Pretvara query parametar (npr. "csv") u format
+     * 
+     * @throws InvalidRequestException ako format nije podržan
+     */
+    public static DataFormat from(String value) {
+        try {
+            return DataFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Nepodržan format: " + value + " (dozvoljeno: ndjson, csv)");
+        }
+    }
+    
+    /**
+     * Pretvara Content-Type zahteva (npr. "text/csv; charset=UTF-8") u format
+     * 
+     * @throws InvalidRequestException ako format nije podržan
+     */
+    public static DataFormat from(MediaType mediaType) {
+        for (DataFormat format : values()) {
+            if (MediaType.parseMediaType(format.contentType).isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new InvalidRequestException("Nepodržan format: " + mediaType + " (dozvoljeno: application/x-ndjson, text/csv)");
+    }
+}
@@ -0,0 +1,101 @@
+package com.event.export;
+
+import com.event.dto.EventResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * EventExportWriter - upisuje događaje u izlazni tok jedan po jedan (NDJSON ili CSV)
+ * 
+ * Ništa se ne skuplja u listu - svaki događaj se odmah upisuje u bafer (BufferedWriter),
+ * a bafer se šalje klijentu čim se napuni. Zato memorija ne zavisi od broja događaja.
+ * 
+ * write() baca UncheckedIOException (a ne IOException) da bi mogao da se koristi kao Consumer
+ * u EventService.export(...) - npr. kada klijent prekine preuzimanje.
+ */
+public class EventExportWriter implements AutoCloseable {
+    
+    static final String CSV_HEADER =
+            "id,title,description,eventDate,location,status,createdById,createdByUsername,createdAt,updatedAt";
+    
+    private final DataFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+    
+    public EventExportWriter(DataFormat format, ObjectMapper objectMapper, OutputStream outputStream) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        
+        if (format == DataFormat.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+    
+    /**
+     * Upisuje jedan događaj (jedan red)
+     */
+    public void write(EventResponse event) {
+        try {
+            writeLine(format == DataFormat.CSV
+                    ? toCsv(event)
+                    : objectMapper.writeValueAsString(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Šalje ostatak bafera klijentu (izlazni tok zatvara servlet kontejner)
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+    
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String toCsv(EventResponse event) {
+        return String.join(",",
+                csv(event.getId()),
+                csv(event.getTitle()),
+                csv(event.getDescription()),
+                csv(event.getEventDate()),
+                csv(event.getLocation()),
+                csv(event.getStatus()),
+                csv(event.getCreatedById()),
+                csv(event.getCreatedByUsername()),
+                csv(event.getCreatedAt()),
+                csv(event.getUpdatedAt()));
+    }
+    
+    /**
+     * RFC 4180: vrednost sa zarezom, navodnikom ili novim redom ide pod navodnike,
+     * a navodnik unutar vrednosti se duplira (" → "")
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = Objects.toString(value);
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
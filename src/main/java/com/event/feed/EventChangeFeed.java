@@ -0,0 +1,188 @@
+package com.event.feed;
+
+import com.event.dto.EventChange;
+import com.event.model.Event.EventStatus;
+import com.event.notify.PostgresListener;
+import com.event.notify.PostgresNotifier;
+import com.event.service.EventChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EventChangeFeed - tok promena događaja za GET /api/events/stream (Server-Sent Events)
+ * 
+ * Umesto da klijenti svakih nekoliko sekundi ponovo čitaju /upcoming ili /user/{userId},
+ * drže jednu SSE vezu i dobijaju samo promene.
+ * 
+ * Put jedne promene:
+ * 1. EventService objavi EventChangedEvent; posle commit-a (AFTER_COMMIT) se šalje kao
+ *    NOTIFY event_changes (PostgresNotifier) - rollback-ovane izmene se nikad ne šalju
+ * 2. baza poruku isporučuje svim čvorovima; na svakom je prima jedna LISTEN konekcija (PostgresListener)
+ * 3. poruka ide u Sinks.Many (multicast) i odatle svim pretplatnicima tog čvora čiji filter odgovara
+ * 
+ * Spori pretplatnici: svaki ima svoj red od najviše subscriber-buffer poruka. Kada se red napuni
+ * (klijent ne čita dovoljno brzo), pretplatnik dobija "dropped" događaj i veza se zatvara - ostali
+ * pretplatnici i LISTEN nit nikad ne čekaju na njega. Klijent se ponovo poveže i osveži podatke.
+ * 
+ * Posle prekida LISTEN konekcije poruke iz tog perioda su izgubljene, pa svi pretplatnici dobijaju
+ * "resync" događaj (treba ponovo da pročitaju liste). Isto važi kada je red za slanje NOTIFY poruka
+ * bio pun (npr. veliki POST /api/events/batch) - PostgresNotifier umesto odbačenih poruka šalje
+ * OVERFLOW poruku na sve čvorove.
+ * 
+ * Obrada na niti slušaoca ne ide u bazu (nit deli i CacheInvalidationBus): promena čiji događaj ne
+ * staje u NOTIFY poruku stiže bez polja event, a klijent ga po potrebi čita preko GET /api/events/{id}.
+ * 
+ * Metrike: event.change-feed.subscribers (gauge), event.change-feed.dropped (counter).
+ */
+@Component
+@ConditionalOnProperty(name = "event.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EventChangeFeed {
+    
+    static final String CHANGE = "change";
+    static final String RESYNC = "resync";
+    static final String DROPPED = "dropped";
+    
+    /**
+     * Poruka na kanalu umesto promena odbačenih u PostgresNotifier-u (nije JSON, ne meša se sa EventChange)
+     */
+    static final String OVERFLOW = "overflow";
+    
+    /**
+     * Sve promene primljene sa LISTEN konekcije - emituje ih samo nit slušaoca (jedan po jedan)
+     */
+    private final Sinks.Many<ServerSentEvent<Object>> events = Sinks.many().multicast().directBestEffort();
+    
+    private final AtomicInteger subscribers = new AtomicInteger();
+    
+    private final PostgresNotifier notifier;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int subscriberBuffer;
+    private final Duration heartbeat;
+    private final Counter dropped;
+    
+    public EventChangeFeed(
+            PostgresNotifier notifier,
+            PostgresListener listener,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${event.change-feed.channel:event_changes}") String channel,
+            @Value("${event.change-feed.subscriber-buffer:256}") int subscriberBuffer,
+            @Value("${event.change-feed.heartbeat:15s}") Duration heartbeat
+    ) {
+        this.notifier = notifier;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.subscriberBuffer = subscriberBuffer;
+        this.heartbeat = heartbeat;
+        this.dropped = Counter.builder("event.change-feed.dropped")
+                .description("Pretplatnici isključeni jer nisu stizali da čitaju promene")
+                .register(meterRegistry);
+        Gauge.builder("event.change-feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Otvorene SSE veze na /api/events/stream")
+                .register(meterRegistry);
+        
+        notifier.onOverflow(channel, OVERFLOW);
+        listener.listen(channel, this::onNotification);
+        listener.onReconnect(this::onReconnect);
+    }
+    
+    /**
+     * Tok za jednog pretplatnika, sa filterima po statusu i kreatoru (null - bez filtera)
+     * 
+     * Uz promene se na svakih heartbeat šalje SSE komentar, da proxy-ji ne zatvore neaktivnu vezu.
+     */
+    public Flux<ServerSentEvent<Object>> subscribe(EventStatus status, Long createdById) {
+        Flux<ServerSentEvent<Object>> changes = events.asFlux()
+                .filter(event -> !(event.data() instanceof EventChange change) || change.matches(status, createdById));
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.builder().comment("heartbeat").build());
+        
+        return Flux.merge(changes, heartbeats)
+                // Red po pretplatniku - kada se napuni, Flux završava greškom (overflow)
+                .onBackpressureBuffer(subscriberBuffer)
+                .onErrorResume(Exceptions::isOverflow, overflow -> {
+                    dropped.increment();
+                    return Flux.just(ServerSentEvent.builder()
+                            .event(DROPPED)
+                            .data((Object) Map.of("reason", "Klijent ne čita promene dovoljno brzo"))
+                            .build());
+                })
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+    
+    /**
+     * Posle commit-a izmene šalje promenu svim čvorovima (NOTIFY)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent change) {
+        EventChange message = EventChange.from(change);
+        try {
+            String payload = objectMapper.writeValueAsString(message);
+            if (!PostgresNotifier.fits(payload)) {
+                // Veliki opis - šalje se bez događaja, klijent ga čita po ID-u
+                message.setEvent(null);
+                payload = objectMapper.writeValueAsString(message);
+            }
+            notifier.send(channel, payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Promena događaja {} nije poslata: {}", change.getEventId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Poruka sa LISTEN konekcije (nit slušaoca) - prosleđuje se pretplatnicima
+     */
+    void onNotification(String payload) {
+        if (OVERFLOW.equals(payload)) {
+            resync("Promene nisu poslate zbog preopterećenja - osvežite podatke");
+            return;
+        }
+        
+        EventChange change;
+        try {
+            change = objectMapper.readValue(payload, EventChange.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Neispravna poruka na kanalu {}: {}", channel, e.getMessage());
+            return;
+        }
+        
+        events.tryEmitNext(ServerSentEvent.builder()
+                .event(CHANGE)
+                .data((Object) change)
+                .build());
+    }
+    
+    /**
+     * Poruke dok LISTEN konekcija nije postojala su izgubljene - klijenti treba da osveže podatke
+     */
+    void onReconnect() {
+        resync("Promene su možda propuštene - osvežite podatke");
+    }
+    
+    private void resync(String reason) {
+        events.tryEmitNext(ServerSentEvent.builder()
+                .event(RESYNC)
+                .data((Object) Map.of("reason", reason))
+                .build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.event.metrics;
+
+import com.event.dto.EventFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ServiceMetricsAspect - meri trajanje svake javne metode EventService i UserService
+ * 
+ * Timer "event.service" sa tagovima:
+ * - class, method - koja metoda je pozvana
+ * - filters - koji EventFilter filteri su popunjeni, npr. "location+status" ili "none"
+ *   (po njemu se razlikuje lista bez filtera od liste sa filterima i vidi koja kombinacija je spora)
+ * - exception - "none" ili ime izuzetka kojim se poziv završio
+ * 
+ * @Order(HIGHEST_PRECEDENCE) - aspekt obuhvata i @Transactional (otvaranje transakcije i commit ulaze u vreme).
+ * 
+ * Pozivi iz iste klase (this.metoda()) ne prolaze kroz proxy i ne mere se zasebno.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    
+    static final String TIMER_NAME = "event.service";
+    static final String NO_FILTERS = "none";
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Around("execution(public * com.event.service.EventService.*(..))"
+            + " || execution(public * com.event.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Trajanje poziva servisnih metoda")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("filters", filters(joinPoint.getArgs()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Vrednost taga "filters" za argumente poziva (prvi EventFilter među argumentima)
+     */
+    static String filters(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof EventFilter filter) {
+                return filters(filter);
+            }
+        }
+        return NO_FILTERS;
+    }
+    
+    /**
+     * Popunjeni filteri spojeni sa "+", uvek istim redosledom - najviše 32 vrednosti taga
+     */
+    static String filters(EventFilter filter) {
+        List<String> used = new ArrayList<>(5);
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            used.add("title");
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            used.add("location");
+        }
+        if (filter.getStatus() != null) {
+            used.add("status");
+        }
+        if (filter.getFromDate() != null) {
+            used.add("fromDate");
+        }
+        if (filter.getToDate() != null) {
+            used.add("toDate");
+        }
+        return used.isEmpty() ? NO_FILTERS : String.join("+", used);
+    }
+}
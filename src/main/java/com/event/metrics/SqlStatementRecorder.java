@@ -0,0 +1,84 @@
+package com.event.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * SqlStatementRecorder - beleži SQL naredbe izvršene u trenutnoj niti
+ * 
+ * StatementCountingDataSource javlja svaku izvršenu naredbu (record), a beleži se samo
+ * dok je u toj niti otvoren bar jedan StatementLog (start). Logovi mogu da se ugnezde:
+ * StatementMetricsFilter otvara jedan za ceo HTTP zahtev, a test može da otvori svoj oko poziva kontrolera.
+ * 
+ * Primer u testu:
+ *   try (StatementLog statements = SqlStatementRecorder.start()) {
+ *       mockMvc.perform(get("/api/events/{id}", id));
+ *       assertEquals(1, statements.total());
+ *   }
+ */
+public final class SqlStatementRecorder {
+    
+    private static final ThreadLocal<List<StatementLog>> ACTIVE = new ThreadLocal<>();
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private SqlStatementRecorder() {
+    }
+    
+    /**
+     * Počinje beleženje naredbi u trenutnoj niti
+     * 
+     * @return StatementLog - zatvara se (close) kada beleženje treba da stane
+     */
+    public static StatementLog start() {
+        List<StatementLog> logs = ACTIVE.get();
+        if (logs == null) {
+            logs = new ArrayList<>(2);
+            ACTIVE.set(logs);
+        }
+        StatementLog statements = new StatementLog();
+        logs.add(statements);
+        return statements;
+    }
+    
+    static void stop(StatementLog statements) {
+        List<StatementLog> logs = ACTIVE.get();
+        if (logs != null) {
+            logs.remove(statements);
+            if (logs.isEmpty()) {
+                ACTIVE.remove();
+            }
+        }
+    }
+    
+    /**
+     * Beleži izvršenu naredbu u sve otvorene logove trenutne niti (bez logova ne radi ništa)
+     */
+    static void record(String sql) {
+        List<StatementLog> logs = ACTIVE.get();
+        if (logs == null) {
+            return;
+        }
+        String shape = shape(sql);
+        for (StatementLog statements : logs) {
+            statements.record(shape);
+        }
+    }
+    
+    /**
+     * "Oblik" naredbe - ista naredba sa različitim vrednostima daje isti oblik
+     * 
+     * Literali (stringovi, brojevi) postaju ?, lista parametara "?, ?, ?" postaje jedan ?,
+     * a razmaci i novi redovi (format_sql) se sažimaju.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
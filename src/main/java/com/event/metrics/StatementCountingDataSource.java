@@ -0,0 +1,94 @@
+package com.event.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * StatementCountingDataSource - proxy oko DataSource-a koji javlja svaku izvršenu SQL naredbu
+ * 
+ * Konekcije i Statement-i se obmotavaju JDK proxy-jem; svaki execute* poziv
+ * (execute, executeQuery, executeUpdate, executeBatch...) ide u SqlStatementRecorder.
+ * Meri se na nivou JDBC-a, pa se broje i naredbe iz JdbcTemplate-a, ne samo iz Hibernate-a.
+ * 
+ * - JDBC batch (executeBatch) je jedna naredba - toliko puta se ide u bazu
+ * - COPY (UserImportRepository) ide direktno kroz drajver (unwrap) i ne broji se
+ * - unwrap/isWrapperFor se prosleđuju originalnoj konekciji, a DelegatingDataSource
+ *   omogućava actuator-u da dođe do HikariDataSource-a (hikaricp.* metrike)
+ * 
+ * Kada u niti nije otvoren StatementLog, trošak je jedan ThreadLocal.get() po naredbi.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+    
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    /**
+     * Konekcija - obmotava Statement-e koje pravi
+     */
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+    
+    /**
+     * Statement - javlja izvršavanje
+     * 
+     * @param sql - SQL PreparedStatement-a (null za običan Statement, kome se SQL prosleđuje u execute)
+     */
+    private record StatementHandler(Statement target, String sql) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                SqlStatementRecorder.record(executed != null ? executed : "batch");
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.event.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * StatementLog - SQL naredbe izvršene od SqlStatementRecorder.start() do close()
+ * 
+ * Pamti ukupan broj i broj po obliku naredbe (vidi SqlStatementRecorder.shape),
+ * u redosledu prvog izvršavanja.
+ */
+public class StatementLog implements AutoCloseable {
+    
+    private final Map<String, Integer> countsByShape = new LinkedHashMap<>();
+    private int total;
+    
+    void record(String shape) {
+        total++;
+        countsByShape.merge(shape, 1, Integer::sum);
+    }
+    
+    /**
+     * Ukupan broj izvršenih naredbi (JDBC batch se računa kao jedna)
+     */
+    public int total() {
+        return total;
+    }
+    
+    /**
+     * Broj naredbi koje počinju datom rečju, npr. count("select"), count("insert")
+     */
+    public int count(String verb) {
+        String prefix = verb.toLowerCase(Locale.ROOT);
+        return countsByShape.entrySet().stream()
+                .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+    
+    /**
+     * Broj izvršavanja po obliku naredbe
+     */
+    public Map<String, Integer> countsByShape() {
+        return Collections.unmodifiableMap(countsByShape);
+    }
+    
+    /**
+     * Naredba koja je izvršena najviše puta (kandidat za N+1)
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return countsByShape.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+    
+    /**
+     * Prestaje beleženje u ovaj log
+     */
+    @Override
+    public void close() {
+        SqlStatementRecorder.stop(this);
+    }
+}
@@ -0,0 +1,74 @@
+package com.event.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * StatementMetricsFilter - broj SQL naredbi po HTTP zahtevu i upozorenje za N+1
+ * 
+ * Metrika: DistributionSummary "http.server.requests.statements" sa tagovima method i uri
+ * (šablon putanje, npr. /api/events/{id} - isti kao u http.server.requests).
+ * 
+ * N+1: ako jedan zahtev izvrši istu naredbu (isti oblik, vidi SqlStatementRecorder.shape)
+ * više od repeatedThreshold puta, u log ide upozorenje sa endpointom i naredbom.
+ * 
+ * Export (StreamingResponseBody) se piše u drugoj niti - te naredbe se ne broje.
+ */
+@Slf4j
+public class StatementMetricsFilter extends OncePerRequestFilter {
+    
+    static final String METRIC_NAME = "http.server.requests.statements";
+    
+    private final MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+    
+    /**
+     * @param repeatedThreshold - posle koliko ponavljanja iste naredbe se upozorava (0 - bez upozorenja)
+     */
+    public StatementMetricsFilter(MeterRegistry meterRegistry, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementLog statements = SqlStatementRecorder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("Broj SQL naredbi po HTTP zahtevu")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.total());
+            
+            if (repeatedThreshold > 0) {
+                statements.mostRepeated()
+                        .filter(entry -> entry.getValue() > repeatedThreshold)
+                        .ifPresent(entry -> warnRepeated(request.getMethod(), uri, statements.total(), entry));
+            }
+        }
+    }
+    
+    private void warnRepeated(String method, String uri, int total, Map.Entry<String, Integer> repeated) {
+        log.warn("Moguć N+1: {} {} je izvršio istu naredbu {} puta (ukupno naredbi: {}): {}",
+                method, uri, repeated.getValue(), total, repeated.getKey());
+    }
+}
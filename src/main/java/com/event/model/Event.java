@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -19,9 +20,17 @@ import java.time.LocalDateTime;
  * - Status (DRAFT, PUBLISHED, CANCELLED, COMPLETED)
  * - Veza sa User entitetom (ko je kreirao događaj)
  * - Timestamp-ove (createdAt, updatedAt)
+ * - Verziju za optimistično zaključavanje (version)
+ * 
+ * @Table(indexes = ...) - Hibernate (ddl-auto: update) kreira indekse ako ne postoje
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // Indeksi za keyset paginaciju - redosled (event_date, id) kao u seek upitima
+        @Index(name = "idx_events_event_date_id", columnList = "event_date, id"),
+        @Index(name = "idx_events_status_event_date_id", columnList = "status, event_date, id"),
+        @Index(name = "idx_events_user_event_date_id", columnList = "user_id, event_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,10 +39,18 @@ public class Event {
     
     /**
      * @Id - primarni ključ
-     * @GeneratedValue - auto-generisanje ID-a
+     * @GeneratedValue - auto-generisanje ID-a iz sekvence events_seq
+     * 
+     * Zašto SEQUENCE, a ne IDENTITY?
+     * - kod IDENTITY ID se zna tek posle INSERT-a, pa Hibernate mora da izvrši svaki INSERT
+     *   odmah i isključuje JDBC batching
+     * - sa sekvencom Hibernate zna ID unapred i šalje INSERT-e u serijama (hibernate.jdbc.batch_size)
+     * - allocationSize = 50 (pooled optimizer) - jedan nextval() rezerviše 50 ID-eva,
+     *   pa se sekvenca poziva jednom na 50 novih događaja (INCREMENT BY sekvence mora biti isti)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -92,6 +109,21 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * Verzija reda - optimistično zaključavanje
+     * 
+     * @Version - Hibernate povećava verziju pri svakom UPDATE-u i dodaje "AND version = ?" u WHERE,
+     * pa istovremena izmena iste verzije ne prolazi tiho (last-write-wins), već baca
+     * OptimisticLockingFailureException - bez zaključavanja redova (SELECT ... FOR UPDATE).
+     * Klijent vidi verziju kao ETag i šalje je nazad u If-Match.
+     * 
+     * @ColumnDefault("0") - ddl-auto: update dodaje kolonu i u tabelu koja već ima redove
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     /**
      * @PrePersist - poziva se PRE nego što se entitet sačuva u bazu (INSERT)
      * Postavlja createdAt i updatedAt
@@ -0,0 +1,52 @@
+package com.event.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventTombstone - zapis da je događaj obrisan ("nadgrobni kamen")
+ * 
+ * Obrisan red više ne postoji u tabeli events, pa klijent koji se sinhronizuje
+ * (GET /api/events/changes) ne bi saznao da treba da ga ukloni. Zato DELETE događaja
+ * u istoj naredbi upisuje i tombstone (vidi EventRepositoryImpl.deleteIfOwner).
+ * 
+ * Tombstone-i se čuvaju event.sync.tombstone-retention, zatim se brišu (EventService.purgeTombstones).
+ * 
+ * user_id nema foreign key - korisnik može biti obrisan posle svojih događaja.
+ */
+@Entity
+@Table(name = "event_tombstones", indexes = {
+        // Brisanje starih tombstone-a (deleted_at < ?); kursor sinhronizacije koristi
+        // (change_xid, change_seq) koje upisuje trigger, vidi schema.sql
+        @Index(name = "idx_event_tombstones_deleted_at_event_id", columnList = "deleted_at, event_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTombstone {
+    
+    /**
+     * ID obrisanog događaja (ID-evi događaja se ne koriste ponovo - sekvenca)
+     */
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    /**
+     * Kreator obrisanog događaja
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long createdById;
+    
+    /**
+     * Vreme brisanja
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -70,6 +71,15 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * @Version - verzija za optimistično zaključavanje (kao Event.version)
+     * Istovremena izmena istog korisnika baca OptimisticLockingFailureException umesto da je prepiše.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     /**
      * @PrePersist - ova metoda se poziva PRE nego što se entitet sačuva u bazu (INSERT)
      * Koristimo je da postavimo createdAt i updatedAt
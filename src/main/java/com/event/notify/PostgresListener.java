@@ -0,0 +1,208 @@
+package com.event.notify;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * PostgresListener - jedna LISTEN konekcija po čvoru za sve PostgreSQL NOTIFY kanale
+ * 
+ * Komponente registruju kanal i obradu poruke (listen), a ova klasa na posebnoj niti:
+ * - otvara svoju JDBC konekciju (van Hikari pool-a - drži je stalno, a pool bi je smatrao zauzetom)
+ *   ka primarnoj bazi (spring.datasource.url) i izvršava LISTEN za svaki kanal
+ * - čeka poruke (PGConnection.getNotifications) i predaje ih obradi redom kojim su stigle
+ * - kada se konekcija prekine, ponovo se povezuje posle reconnect-delay
+ * 
+ * Dok konekcija ne postoji, poruke se gube (NOTIFY se ne čuva). Zato se posle svakog ponovnog
+ * povezivanja pozivaju onReconnect obrade - npr. da se klijentima javi da osveže podatke.
+ * 
+ * Obrada se izvršava na niti slušaoca - mora biti brza (npr. predaja u memorijski red).
+ * U pg_stat_activity se konekcija vidi kao application_name = event-listener.
+ */
+@Component
+@Slf4j
+public class PostgresListener {
+    
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> reconnectHandlers = new CopyOnWriteArrayList<>();
+    
+    private final DataSourceProperties properties;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Thread thread;
+    private volatile Connection connection;
+    
+    public PostgresListener(
+            DataSourceProperties properties,
+            @Value("${event.notify.poll-timeout:1s}") Duration pollTimeout,
+            @Value("${event.notify.reconnect-delay:5s}") Duration reconnectDelay
+    ) {
+        this.properties = properties;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+    
+    /**
+     * Registruje obradu poruka sa kanala (pre pokretanja aplikacije, npr. iz konstruktora komponente)
+     * 
+     * @param channel - ime kanala (mala slova, cifre i _ - ide u LISTEN naredbu bez parametra)
+     * @param handler - obrada poruke (payload)
+     */
+    public void listen(String channel, Consumer<String> handler) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Neispravno ime NOTIFY kanala: " + channel);
+        }
+        handlers.put(channel, handler);
+    }
+    
+    /**
+     * Registruje obradu koja se poziva posle svakog ponovnog povezivanja (ne i prvog)
+     */
+    public void onReconnect(Runnable handler) {
+        reconnectHandlers.add(handler);
+    }
+    
+    /**
+     * Da li je LISTEN trenutno aktivan (poruke se primaju)
+     */
+    public boolean isListening() {
+        return listening;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (handlers.isEmpty() || running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name("pg-listen").daemon().start(this::run);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+        closeConnection();
+    }
+    
+    private void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection listenConnection = connect()) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                listening = true;
+                log.info("LISTEN {} na {}", handlers.keySet(), properties.determineUrl());
+                
+                if (connectedBefore) {
+                    reconnectHandlers.forEach(this::runHandler);
+                }
+                connectedBefore = true;
+                
+                PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("LISTEN konekcija je prekinuta ({}), novi pokušaj za {}", e.getMessage(), reconnectDelay);
+                }
+            } finally {
+                listening = false;
+                connection = null;
+            }
+            
+            if (running) {
+                sleep(reconnectDelay);
+            }
+        }
+    }
+    
+    private Connection connect() throws SQLException {
+        Properties connectionProperties = new Properties();
+        if (properties.determineUsername() != null) {
+            connectionProperties.setProperty("user", properties.determineUsername());
+        }
+        if (properties.determinePassword() != null) {
+            connectionProperties.setProperty("password", properties.determinePassword());
+        }
+        connectionProperties.setProperty("ApplicationName", "event-listener");
+        return DriverManager.getConnection(properties.determineUrl(), connectionProperties);
+    }
+    
+    private void dispatch(PGNotification notification) {
+        Consumer<String> handler = handlers.get(notification.getName());
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.accept(notification.getParameter());
+        } catch (RuntimeException e) {
+            log.warn("Obrada NOTIFY poruke sa kanala {} nije uspela", notification.getName(), e);
+        }
+    }
+    
+    private void runHandler(Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            log.warn("Obrada ponovnog povezivanja LISTEN konekcije nije uspela", e);
+        }
+    }
+    
+    private void closeConnection() {
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Zatvaranje LISTEN konekcije: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
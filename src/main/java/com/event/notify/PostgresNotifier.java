@@ -0,0 +1,152 @@
+package com.event.notify;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostgresNotifier - slanje PostgreSQL NOTIFY poruka (pg_notify) sa posebne niti
+ * 
+ * NOTIFY kanal, 'poruka' - baza poruku isporučuje svim konekcijama koje su izvršile LISTEN kanal
+ * (na svim čvorovima aplikacije), vidi PostgresListener.
+ * 
+ * Zašto posebna nit, a ne NOTIFY u transakciji izmene?
+ * - pozivaoci šalju poruku posle commit-a (AFTER_COMMIT), pa zahtev ne dobija dodatnu SQL naredbu
+ * - jedna nit čuva redosled poruka kako su poslate
+ * - red čekanja je ograničen (QUEUE_CAPACITY) - ako baza ne odgovara, nove poruke se odbacuju
+ *   umesto da se gomilaju u memoriji
+ * 
+ * Odbačena poruka se ne gubi neprimetno: za kanal sa registrovanom porukom o prepunjenosti
+ * (onOverflow) ta poruka se šalje čim nit za slanje završi tekuću poruku - primaoci znaju da su
+ * propustili promene (npr. prazne keševe ili javljaju klijentima da osveže podatke).
+ * 
+ * Poruka ide preko DataSource bean-a (konekcija iz Hikari pool-a, van transakcije - uvek primarna baza).
+ */
+@Component
+@Slf4j
+public class PostgresNotifier {
+    
+    /**
+     * PostgreSQL odbija NOTIFY poruku od 8000 bajtova i više
+     */
+    public static final int MAX_PAYLOAD_BYTES = 7999;
+    
+    private static final int QUEUE_CAPACITY = 10_000;
+    
+    /**
+     * Poruka koja se šalje na kanal posle odbačenih poruka
+     */
+    private final Map<String, String> overflowPayloads = new ConcurrentHashMap<>();
+    
+    /**
+     * Kanali sa odbačenim porukama za koje poruka o prepunjenosti još nije poslata
+     */
+    private final Set<String> overflowed = ConcurrentHashMap.newKeySet();
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor executor;
+    
+    public PostgresNotifier(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                Thread.ofPlatform().name("pg-notify").daemon().factory(),
+                (task, pool) -> rejected((Notification) task));
+    }
+    
+    /**
+     * Registruje poruku koja se šalje na kanal kada su poruke sa tog kanala odbačene (pun red)
+     * 
+     * @param channel - ime kanala
+     * @param payload - poruka o prepunjenosti (primaoci je razlikuju od običnih poruka)
+     */
+    public void onOverflow(String channel, String payload) {
+        if (!fits(payload)) {
+            throw new IllegalArgumentException("NOTIFY poruka je veća od " + MAX_PAYLOAD_BYTES + " bajtova");
+        }
+        overflowPayloads.put(channel, payload);
+    }
+    
+    /**
+     * Da li poruka staje u jedan NOTIFY
+     */
+    public static boolean fits(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES;
+    }
+    
+    /**
+     * Šalje poruku na kanal (asinhrono, redom kojim su pozivi stigli)
+     * 
+     * @param channel - ime kanala
+     * @param payload - poruka (najviše MAX_PAYLOAD_BYTES bajtova)
+     * @throws IllegalArgumentException ako je poruka prevelika
+     */
+    public void send(String channel, String payload) {
+        if (!fits(payload)) {
+            throw new IllegalArgumentException("NOTIFY poruka je veća od " + MAX_PAYLOAD_BYTES + " bajtova");
+        }
+        executor.execute(new Notification(channel, payload));
+    }
+    
+    /**
+     * Poruka u redu - posle slanja šalje i poruke o prepunjenosti koje čekaju
+     */
+    private final class Notification implements Runnable {
+        
+        private final String channel;
+        private final String payload;
+        
+        Notification(String channel, String payload) {
+            this.channel = channel;
+            this.payload = payload;
+        }
+        
+        @Override
+        public void run() {
+            deliver(channel, payload);
+            for (String overflowedChannel : overflowed) {
+                if (overflowed.remove(overflowedChannel)) {
+                    deliver(overflowedChannel, overflowPayloads.get(overflowedChannel));
+                }
+            }
+        }
+    }
+    
+    private void rejected(Notification notification) {
+        if (!overflowPayloads.containsKey(notification.channel)) {
+            log.warn("NOTIFY red je pun ({} poruka) - poruka je odbačena", QUEUE_CAPACITY);
+        } else if (overflowed.add(notification.channel)) {
+            log.warn("NOTIFY red je pun ({} poruka) - poruke na kanal {} se odbacuju, primaoci dobijaju poruku o tome",
+                    QUEUE_CAPACITY, notification.channel);
+        }
+    }
+    
+    private void deliver(String channel, String payload) {
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        } catch (DataAccessException e) {
+            log.warn("NOTIFY na kanal {} nije uspeo: {}", channel, e.getMessage());
+        }
+    }
+    
+    /**
+     * Pri gašenju aplikacije šalje poruke koje su već u redu (najduže 5s)
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("NOTIFY: {} poruka nije poslato pre gašenja", executor.shutdownNow().size());
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.event.repository;
 
+import com.event.dto.EventResponse;
+import com.event.dto.EventVersion;
 import com.event.model.Event;
 import com.event.model.Event.EventStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * EventRepository - interface za rad sa Event entitetom u bazi
@@ -29,29 +36,131 @@ import java.time.LocalDateTime;
  * - findAll() - vraća sve događaje
  * - delete(Event event) - briše događaj
  * - itd.
+ * 
+ * Listing upiti (stranice događaja) vraćaju EventResponse direktno iz upita (DTO projekcija):
+ * - JOIN sa users tabelom je u istom SQL upitu, pa se kreator ne učitava posebno za svaki red (N+1)
+ * - ne prave se managed entiteti - Hibernate ne mora da ih prati (dirty checking)
+ * 
+ * Lista sa filterima (GET /api/events) se sastavlja dinamički kroz EventRepositoryCustom
+ * i EventSpecifications - u SQL ulaze samo filteri koje je klijent poslao.
  */
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+    
+    /**
+     * Zajednički SELECT za DTO projekcije
+     * 
+     * SELECT new ... - JPQL constructor expression, Hibernate poziva EventResponse konstruktor
+     * za svaki red (redosled argumenata mora da odgovara redosledu polja u EventResponse).
+     * JOIN e.createdBy u - kreator se čita u istom upitu.
+     */
+    String RESPONSE_SELECT = "SELECT new com.event.dto.EventResponse(" +
+            "e.id, e.title, e.description, e.eventDate, e.location, e.status, " +
+            "u.id, u.username, e.createdAt, e.updatedAt, e.version) " +
+            "FROM Event e JOIN e.createdBy u ";
+    
+    /**
+     * Seek uslov i redosled za keyset upite
+     */
+    String AFTER_CURSOR = "(e.eventDate, e.id) > (:afterDate, :afterId)";
+    String KEYSET_ORDER = " ORDER BY e.eventDate, e.id";
+    
+    /**
+     * Pronalazi događaj zajedno sa kreatorom (LEFT JOIN u istom upitu)
+     * 
+     * Za izmene koje posle vraćaju EventResponse.from(event) - bez ovoga bi čitanje
+     * createdBy.username bio još jedan upit (lazy učitavanje kreatora).
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Event> findWithCreatorById(Long id);
+    
+    /**
+     * Pronalazi jedan događaj kao EventResponse (sa kreatorom u istom upitu)
+     * 
+     * @param id - ID događaja
+     * @return Optional<EventResponse> - prazan ako događaj ne postoji
+     */
+    @Query(RESPONSE_SELECT + "WHERE e.id = :id")
+    Optional<EventResponse> findResponseById(@Param("id") Long id);
+    
+    /**
+     * Kreator i verzija događaja (bez JOIN-a na users i bez ostalih kolona)
+     * 
+     * @param id - ID događaja
+     * @return Optional<EventVersion> - prazan ako događaj ne postoji
+     */
+    @Query("SELECT new com.event.dto.EventVersion(e.id, e.createdBy.id, e.version, e.updatedAt) " +
+           "FROM Event e WHERE e.id = :id")
+    Optional<EventVersion> findVersionById(@Param("id") Long id);
     
     /**
      * Pronalazi sve događaje sa određenim statusom
-     * Spring generiše: SELECT * FROM events WHERE status = ?
+     * SQL: SELECT ... FROM events e JOIN users u ON ... WHERE e.status = ?
      * 
      * @param status - status događaja (DRAFT, PUBLISHED, CANCELLED, COMPLETED)
      * @param pageable - pagination informacije (page, size, sort)
-     * @return Page<Event> - stranica sa događajima
+     * @return Page<EventResponse> - stranica sa događajima
      */
-    Page<Event> findByStatus(EventStatus status, Pageable pageable);
+    @Query(value = RESPONSE_SELECT + "WHERE e.status = :status",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = :status")
+    Page<EventResponse> findResponsesByStatus(@Param("status") EventStatus status, Pageable pageable);
     
     /**
      * Pronalazi sve događaje koje je kreirao određeni korisnik
-     * Spring generiše: SELECT * FROM events WHERE user_id = ?
+     * SQL: SELECT ... FROM events e JOIN users u ON ... WHERE e.user_id = ?
      * 
      * @param userId - ID korisnika koji je kreirao događaj
      * @param pageable - pagination informacije
-     * @return Page<Event> - stranica sa događajima
+     * @return Page<EventResponse> - stranica sa događajima
+     */
+    @Query(value = RESPONSE_SELECT + "WHERE u.id = :userId",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.createdBy.id = :userId")
+    Page<EventResponse> findResponsesByCreatedById(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Kao findResponsesByStatus, bez COUNT upita
+     * 
+     * Slice - Spring Data čita size+1 redova da bi znao da li postoji sledeća stranica.
+     */
+    @Query(RESPONSE_SELECT + "WHERE e.status = :status")
+    Slice<EventResponse> findResponseSliceByStatus(@Param("status") EventStatus status, Pageable pageable);
+    
+    /**
+     * Kao findResponsesByCreatedById, bez COUNT upita
+     */
+    @Query(RESPONSE_SELECT + "WHERE u.id = :userId")
+    Slice<EventResponse> findResponseSliceByCreatedById(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Broj događaja sa statusom (za keširanu procenu, vidi EventCountCache)
+     */
+    long countByStatus(EventStatus status);
+    
+    /**
+     * Broj događaja korisnika (za keširanu procenu, vidi EventCountCache)
+     */
+    long countByCreatedById(Long userId);
+    
+    /**
+     * Broj događaja po statusu - [status, broj] (za EventCounters)
+     */
+    @Query("SELECT e.status, COUNT(e) FROM Event e GROUP BY e.status")
+    List<Object[]> countGroupedByStatus();
+    
+    /**
+     * Broj događaja po kreatoru - [userId, broj] (za EventCounters)
+     */
+    @Query("SELECT e.createdBy.id, COUNT(e) FROM Event e GROUP BY e.createdBy.id")
+    List<Object[]> countGroupedByCreator();
+    
+    /**
+     * Procena broja redova tabele events iz statistike planera (pg_class.reltuples)
+     * 
+     * Ne skenira tabelu - vrednost osvežavaju ANALYZE i autovacuum. -1 ako tabela još nije analizirana.
      */
-    Page<Event> findByCreatedById(Long userId, Pageable pageable);
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('events' AS regclass)",
+           nativeQuery = true)
+    long estimateRowCount();
     
     /**
      * Pronalazi događaje po lokaciji (case-insensitive pretraga)
@@ -85,60 +194,115 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     Page<Event> findByEventDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     
     /**
-     * Custom query sa više filtera odjednom
+     * Pronalazi sve objavljene događaje koji dolaze u budućnosti
+     * SQL: SELECT ... FROM events e JOIN users u ON ... WHERE e.status = 'PUBLISHED' AND e.event_date > ?
      * 
-     * @Query - omogućava pisanje custom SQL/JPQL upita
+     * @param status - status događaja (PUBLISHED)
+     * @param currentDate - trenutni datum i vreme
+     * @param pageable - pagination informacije
+     * @return Page<EventResponse> - stranica sa budućim objavljenim događajima
+     */
+    @Query(value = RESPONSE_SELECT + "WHERE e.status = :status AND e.eventDate > :currentDate",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = :status AND e.eventDate > :currentDate")
+    Page<EventResponse> findUpcomingResponses(
+        @Param("status") EventStatus status,
+        @Param("currentDate") LocalDateTime currentDate,
+        Pageable pageable
+    );
+    
+    /**
+     * Full-text pretraga po naslovu i opisu, rangirana po relevantnosti
      * 
-     * Ova metoda omogućava pretragu po više kriterijuma odjednom:
-     * - title (opciono)
-     * - location (opciono)
-     * - status (opciono)
-     * - fromDate (opciono)
-     * - toDate (opciono)
+     * Native upit jer koristi PostgreSQL full-text operatore:
+     * - search_vector - generisana tsvector kolona (schema.sql), sa GIN indeksom
+     * - websearch_to_tsquery - pretvara korisnički unos ("java spring", tačna fraza u navodnicima, "-python") u tsquery
+     * - @@ - da li dokument odgovara upitu (koristi GIN indeks)
+     * - ts_rank_cd - relevantnost (naslov ima veću težinu od opisa)
      * 
-     * Ako je parametar NULL, taj filter se ignoriše.
+     * Vraća samo ID-eve u redosledu relevantnosti - podatke čitamo kroz findResponsesByIdIn.
      * 
-     * Primer upita:
-     * - title="konferencija", status=PUBLISHED → pronalazi objavljene događaje sa "konferencija" u naslovu
-     * - location="Beograd", fromDate=2026-01-01 → pronalazi događaje u Beogradu od januara 2026
+     * @param query - tekst pretrage
+     * @param pageable - pagination informacije (bez sortiranja - redosled je po relevantnosti)
+     * @return Page<Long> - stranica sa ID-evima događaja
+     */
+    @Query(value = "SELECT e.id FROM events e " +
+           "WHERE e.search_vector @@ websearch_to_tsquery('simple', :query) " +
+           "ORDER BY ts_rank_cd(e.search_vector, websearch_to_tsquery('simple', :query)) DESC, e.id",
+           countQuery = "SELECT COUNT(*) FROM events e " +
+           "WHERE e.search_vector @@ websearch_to_tsquery('simple', :query)",
+           nativeQuery = true)
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
+    
+    /**
+     * Kao searchIds, bez COUNT upita (size+1 redova)
+     */
+    @Query(value = "SELECT e.id FROM events e " +
+           "WHERE e.search_vector @@ websearch_to_tsquery('simple', :query) " +
+           "ORDER BY ts_rank_cd(e.search_vector, websearch_to_tsquery('simple', :query)) DESC, e.id",
+           nativeQuery = true)
+    Slice<Long> searchIdSlice(@Param("query") String query, Pageable pageable);
+    
+    /**
+     * Broj rezultata pretrage (za keširanu procenu, vidi EventCountCache)
+     */
+    @Query(value = "SELECT COUNT(*) FROM events e " +
+           "WHERE e.search_vector @@ websearch_to_tsquery('simple', :query)",
+           nativeQuery = true)
+    long countSearch(@Param("query") String query);
+    
+    /**
+     * Vraća događaje sa datim ID-evima kao EventResponse (redosled nije garantovan)
+     */
+    @Query(RESPONSE_SELECT + "WHERE e.id IN :ids")
+    List<EventResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /*
+     * Keyset (seek) paginacija
      * 
-     * @param title - deo naslova (opciono, može biti null)
-     * @param location - deo lokacije (opciono, može biti null)
-     * @param status - status događaja (opciono, može biti null)
-     * @param fromDate - početni datum (opciono, može biti null)
-     * @param toDate - krajnji datum (opciono, može biti null)
-     * @param pageable - pagination informacije
-     * @return Page<Event> - stranica sa događajima koji odgovaraju filterima
-     */
-    @Query(value = "SELECT * FROM events e WHERE " +
-           "e.title ILIKE '%' || :title || '%' AND " +
-           "e.location ILIKE '%' || :location || '%' AND " +
-           "(:status IS NULL OR CAST(e.status AS TEXT) = :status) AND " +
-           "(:fromDate IS NULL OR e.event_date >= :fromDate) AND " +
-           "(:toDate IS NULL OR e.event_date <= :toDate)",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM events e WHERE " +
-           "e.title ILIKE '%' || :title || '%' AND " +
-           "e.location ILIKE '%' || :location || '%' AND " +
-           "(:status IS NULL OR CAST(e.status AS TEXT) = :status) AND " +
-           "(:fromDate IS NULL OR e.event_date >= :fromDate) AND " +
-           "(:toDate IS NULL OR e.event_date <= :toDate)")
-    Page<Event> findWithFilters(
-        @Param("title") String title,
-        @Param("location") String location,
-        @Param("status") String status,
-        @Param("fromDate") LocalDateTime fromDate,
-        @Param("toDate") LocalDateTime toDate,
-        Pageable pageable
+     * Umesto OFFSET n LIMIT size (gde baza mora da pročita i preskoči n redova),
+     * nastavljamo od poslednjeg viđenog reda: WHERE (event_date, id) > (:afterDate, :afterId).
+     * Uz indeks na (event_date, id) baza odmah skače na pravu poziciju,
+     * pa je svaka stranica podjednako brza bez obzira koliko je "duboko".
+     * 
+     * (e.eventDate, e.id) > (...) - HQL poređenje torki, na PostgreSQL-u ostaje row-value poređenje
+     * 
+     * Redosled je uvek event_date ASC, id ASC (id razbija izjednačenja po datumu).
+     * Broj redova se zadaje kroz Pageable (bez sortiranja) - LIMIT se dodaje automatski.
+     * Nema COUNT upita.
+     */
+    
+    /**
+     * Sledeća stranica događaja sa određenim statusom posle kursora
+     */
+    @Query(RESPONSE_SELECT + "WHERE e.status = :status AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<EventResponse> findByStatusAfter(
+        @Param("status") EventStatus status,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable limit
     );
     
     /**
-     * Pronalazi sve objavljene događaje koji dolaze u budućnosti
-     * Spring generiše: SELECT * FROM events WHERE status = 'PUBLISHED' AND event_date > ?
-     * 
-     * @param currentDate - trenutni datum i vreme
-     * @param pageable - pagination informacije
-     * @return Page<Event> - stranica sa budućim objavljenim događajima
+     * Sledeća stranica događaja određenog korisnika posle kursora
      */
-    Page<Event> findByStatusAndEventDateAfter(EventStatus status, LocalDateTime currentDate, Pageable pageable);
+    @Query(RESPONSE_SELECT + "WHERE u.id = :userId AND " + AFTER_CURSOR + KEYSET_ORDER)
+    List<EventResponse> findByCreatedByIdAfter(
+        @Param("userId") Long userId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable limit
+    );
+    
+    /**
+     * Sledeća stranica budućih objavljenih događaja posle kursora
+     */
+    @Query(RESPONSE_SELECT + "WHERE e.status = :status AND e.eventDate > :currentDate AND " +
+           AFTER_CURSOR + KEYSET_ORDER)
+    List<EventResponse> findUpcomingAfter(
+        @Param("status") EventStatus status,
+        @Param("currentDate") LocalDateTime currentDate,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable limit
+    );
 }
@@ -0,0 +1,167 @@
+package com.event.repository;
+
+import com.event.dto.ChangeCursor;
+import com.event.dto.EventCursor;
+import com.event.dto.EventListVersion;
+import com.event.dto.EventResponse;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * EventRepositoryCustom - upiti koje Spring Data ne može sam da izvede
+ * 
+ * Spring Data JPA spaja ovaj interface sa EventRepository-jem:
+ * EventRepository ga nasleđuje, a implementacija je u EventRepositoryImpl
+ * (sufiks "Impl" je konvencija po kojoj Spring pronalazi implementaciju).
+ */
+public interface EventRepositoryCustom {
+    
+    /**
+     * Stranica događaja koji zadovoljavaju Specification, kao EventResponse DTO projekcija
+     * 
+     * @param specification - uslovi (samo filteri koje je klijent poslao)
+     * @param pageable - pagination informacije (page, size, sort)
+     * @return Page<EventResponse> - stranica sa događajima
+     */
+    Page<EventResponse> findResponses(Specification<Event> specification, Pageable pageable);
+    
+    /**
+     * Isto kao findResponses, ali bez COUNT upita
+     * 
+     * Čita size+1 redova - dodatni red služi samo da se zna da li postoji sledeća stranica.
+     * 
+     * @param specification - uslovi (samo filteri koje je klijent poslao)
+     * @param pageable - pagination informacije (page, size, sort)
+     * @return Slice<EventResponse> - stranica i informacija da li postoji sledeća
+     */
+    Slice<EventResponse> findResponseSlice(Specification<Event> specification, Pageable pageable);
+    
+    /**
+     * Broj događaja koji zadovoljavaju Specification (COUNT upit)
+     */
+    long countMatching(Specification<Event> specification);
+    
+    /**
+     * Keyset stranica događaja koji zadovoljavaju Specification, posle kursora
+     * 
+     * @param specification - uslovi (samo filteri koje je klijent poslao)
+     * @param after - pozicija poslednjeg događaja sa prethodne stranice
+     * @param limit - broj redova za čitanje
+     * @return lista događaja posle kursora (eventDate ASC, id ASC)
+     */
+    List<EventResponse> findResponsesAfter(Specification<Event> specification, EventCursor after, int limit);
+    
+    /**
+     * Prolazi kroz sve događaje koji zadovoljavaju Specification, jedan po jedan (za export)
+     * 
+     * Čita kroz JDBC kursor sa fiksnim fetch size-om - u memoriji je samo jedna serija redova,
+     * a persistence context se prazni posle svake serije. Mora se pozvati unutar transakcije
+     * (PostgreSQL drajver koristi kursor samo kada autocommit nije uključen).
+     * 
+     * @param specification - uslovi (samo filteri koje je klijent poslao)
+     * @param fetchSize - broj redova koji se odjednom čita iz baze
+     * @param action - šta uraditi sa svakim događajem (kreator je već učitan)
+     */
+    void scroll(Specification<Event> specification, int fetchSize, Consumer<Event> action);
+    
+    /**
+     * Čuva više novih događaja u JDBC serijama (batch INSERT)
+     * 
+     * persist() dodeljuje ID iz sekvence odmah (bez INSERT-a), a INSERT-i se šalju pri flush-u
+     * u serijama od hibernate.jdbc.batch_size. Posle svakih batchSize događaja persistence context
+     * se prazni, pa flush ne proverava iznova sve ranije sačuvane događaje.
+     * 
+     * @param events - novi događaji (sa postavljenim kreatorom)
+     * @param batchSize - posle koliko događaja se radi flush + clear
+     */
+    void insertAll(List<Event> events, int batchSize);
+    
+    /**
+     * COUNT, MAX(updated_at) i SUM(version) događaja koji zadovoljavaju uslov - validator liste
+     * za uslovni GET (ETag/Last-Modified), vidi EventListVersion
+     * 
+     * @param specification - isti uslov kao za upit liste
+     */
+    EventListVersion listVersion(Specification<Event> specification);
+    
+    /**
+     * Rezultat uslovne izmene: stanje događaja posle i pre izmene
+     */
+    record EventUpdate(EventResponse event, EventResponse previous) {
+    }
+    
+    /**
+     * Menja status jednim upitom, samo ako je korisnik kreator događaja
+     * 
+     * UPDATE ... WHERE id = ? AND user_id = ? [AND version = ?] RETURNING ... - bez prethodnog
+     * SELECT-a i bez učitavanja entiteta u persistence context. Verzija se povećava za 1.
+     * 
+     * @param id - ID događaja
+     * @param userId - ID korisnika koji menja status (mora biti kreator)
+     * @param expectedVersion - verzija iz If-Match zaglavlja (null - bez provere verzije)
+     * @param status - novi status
+     * @param updatedAt - nova vrednost updated_at (@PreUpdate se ovde ne poziva)
+     * @return stanje posle i pre izmene, ili prazno ako nijedan red nije izmenjen
+     *         (događaj ne postoji, korisnik nije kreator ili se verzija ne poklapa)
+     */
+    Optional<EventUpdate> updateStatusIfOwner(Long id, Long userId, Long expectedVersion,
+                                              EventStatus status, LocalDateTime updatedAt);
+    
+    /**
+     * Menja sva polja događaja (PUT) jednim upitom - isti uslovi kao updateStatusIfOwner
+     * 
+     * @param changes - nova polja (title, description, eventDate, location, status)
+     * @return stanje posle i pre izmene, ili prazno ako nijedan red nije izmenjen
+     */
+    Optional<EventUpdate> updateIfOwner(Long id, Long userId, Long expectedVersion,
+                                        Event changes, LocalDateTime updatedAt);
+    
+    /**
+     * Briše događaj jednim upitom, samo ako je korisnik kreator događaja, i upisuje tombstone
+     * 
+     * WITH deleted AS (DELETE ... WHERE id = ? AND user_id = ? RETURNING ...)
+     * INSERT INTO event_tombstones ... - u istoj naredbi, pa tombstone postoji ako i samo ako je red obrisan
+     * 
+     * @param id - ID događaja
+     * @param userId - ID korisnika koji briše (mora biti kreator)
+     * @param deletedAt - vreme brisanja (EventTombstone.deletedAt)
+     * @return obrisan događaj, ili prazno ako nijedan red nije obrisan
+     */
+    Optional<EventResponse> deleteIfOwner(Long id, Long userId, LocalDateTime deletedAt);
+    
+    /**
+     * Jedna promena za sinhronizaciju: izmenjen događaj (event) ili tombstone (event == null)
+     * 
+     * @param changeXid - transakcija koja je promenu upisala (pg_current_xact_id)
+     * @param changeSeq - redni broj upisa (sekvenca event_change_seq)
+     */
+    record SyncChange(Long id, Long createdById, LocalDateTime changedAt, long changeXid, long changeSeq,
+                      EventResponse event) {
+        
+        public boolean deleted() {
+            return event == null;
+        }
+    }
+    
+    /**
+     * Izmene i brisanja posle kursora, sortirano po (change_xid, change_seq) - GET /api/events/changes
+     * 
+     * Jedan upit: UNION ALL izmenjenih događaja i tombstone-a (indeksi na change_xid, change_seq),
+     * svaka grana sa svojim LIMIT-om. Vraćaju se samo promene transakcija starijih od najstarije
+     * transakcije koja je još u toku (pg_snapshot_xmin) - one su sve završene, pa se iza kursora
+     * više ne može pojaviti nova promena.
+     * 
+     * @param after - pozicija poslednje promene koju je klijent video
+     * @param limit - najviše promena
+     */
+    List<SyncChange> findChangesAfter(ChangeCursor after, int limit);
+}
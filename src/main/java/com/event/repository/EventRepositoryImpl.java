@@ -0,0 +1,452 @@
+package com.event.repository;
+
+import com.event.dto.ChangeCursor;
+import com.event.dto.EventCursor;
+import com.event.dto.EventListVersion;
+import com.event.dto.EventResponse;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * EventRepositoryImpl - implementacija EventRepositoryCustom kroz JPA Criteria API
+ * 
+ * Upit se sastavlja u kodu:
+ * - SELECT new EventResponse(...) sa JOIN-om na users (kao RESPONSE_SELECT u EventRepository)
+ * - WHERE samo od uslova iz Specification-a
+ * - COUNT upit samo kada je potreban (PageableExecutionUtils ga preskače na poslednjoj stranici),
+ *   a findResponseSlice ga nema uopšte (čita size+1 redova)
+ * - export kroz JDBC kursor (scroll) umesto stranica
+ * - masovni INSERT u JDBC serijama (insertAll)
+ * - uslovna izmena, promena statusa i brisanje jednim upitom (native UPDATE/DELETE ... RETURNING),
+ *   a brisanje u istoj naredbi upisuje i tombstone
+ * - promene posle kursora za sinhronizaciju (findChangesAfter)
+ * - validator liste za uslovni GET (listVersion)
+ */
+public class EventRepositoryImpl implements EventRepositoryCustom {
+    
+    /**
+     * @PersistenceContext - Spring injektuje EntityManager vezan za trenutnu transakciju
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<EventResponse> findResponses(Specification<Event> specification, Pageable pageable) {
+        List<EventResponse> content = queryResponses(specification, pageable, pageable.getPageSize());
+        
+        return PageableExecutionUtils.getPage(content, pageable, () -> countMatching(specification));
+    }
+    
+    @Override
+    public Slice<EventResponse> findResponseSlice(Specification<Event> specification, Pageable pageable) {
+        List<EventResponse> content = queryResponses(specification, pageable, pageable.getPageSize() + 1);
+        
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+    
+    @Override
+    public List<EventResponse> findResponsesAfter(Specification<Event> specification, EventCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventResponse> query = cb.createQuery(EventResponse.class);
+        Root<Event> event = query.from(Event.class);
+        Join<Event, User> creator = event.join("createdBy");
+        Path<LocalDateTime> eventDate = event.get("eventDate");
+        Path<Long> id = event.get("id");
+        
+        // Seek uslov (event_date, id) > (afterDate, afterId), raspisan za Criteria API:
+        // event_date >= afterDate AND (event_date > afterDate OR id > afterId)
+        // Prvi deo omogućava da baza krene range scan po indeksu (event_date, id) od kursora
+        Predicate seek = cb.and(
+                cb.greaterThanOrEqualTo(eventDate, after.getEventDate()),
+                cb.or(
+                        cb.greaterThan(eventDate, after.getEventDate()),
+                        cb.greaterThan(id, after.getId())
+                )
+        );
+        Predicate predicate = specification.toPredicate(event, query, cb);
+        
+        query.select(responseSelection(cb, event, creator));
+        query.where(predicate != null ? cb.and(predicate, seek) : seek);
+        query.orderBy(cb.asc(eventDate), cb.asc(id));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public void scroll(Specification<Event> specification, int fetchSize, Consumer<Event> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        // JOIN FETCH - kreator se čita u istom upitu (bez N+1 pri pravljenju EventResponse-a)
+        event.fetch("createdBy", JoinType.INNER);
+        
+        Predicate predicate = specification.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(event.get("id")));
+        
+        // HINT_FETCH_SIZE - drajver čita po fetchSize redova iz kursora umesto cele tabele odjednom
+        // HINT_READ_ONLY - Hibernate ne pravi kopije za dirty checking
+        try (Stream<Event> events = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            
+            long count = 0;
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                
+                // Posle svake serije praznimo persistence context - obrađeni entiteti mogu u GC
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void insertAll(List<Event> events, int batchSize) {
+        for (int i = 0; i < events.size(); i++) {
+            entityManager.persist(events.get(i));
+            
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    /**
+     * Kolone za EventResponse u RETURNING delu (isti redosled kao responseSelection)
+     */
+    private static final String RETURNING_RESPONSE =
+            "RETURNING e.id, e.title, e.description, e.event_date, e.location, e.status, " +
+            "u.id, u.username, e.created_at, e.updated_at, e.version";
+    
+    /**
+     * Kolone reda pre izmene (posle RETURNING_RESPONSE) - za EventUpdate.previous
+     */
+    private static final String RETURNING_PREVIOUS =
+            ", old.title, old.description, old.event_date, old.location, old.status, old.updated_at, old.version";
+    
+    /**
+     * UPDATE ... FROM old - "old" je isti red pre izmene, pa RETURNING vraća i prethodno stanje
+     * bez posebnog SELECT-a. JOIN na users daje username kreatora.
+     * 
+     * "old" se čita u CTE-u sa FOR UPDATE (vidi lockedPrevious), ne kao self-join na events:
+     * kada istovremena izmena drži red, UPDATE posle čekanja ponovo čita samo e (READ COMMITTED),
+     * a self-join bi ostao snimak od pre čekanja - "prethodno stanje" koje nikad nije bilo zamenjeni red.
+     * FOR UPDATE čeka zaključavanje i vraća poslednju commit-ovanu verziju, a posle toga je red
+     * zaključan za ovu transakciju, pa UPDATE menja baš taj red.
+     * 
+     * version = e.version + 1 - isto što Hibernate radi za @Version pri izmeni entiteta.
+     */
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE events e SET status = :status, updated_at = :updatedAt, version = e.version + 1 " +
+            "FROM old JOIN users u ON u.id = old.user_id WHERE e.id = old.id " +
+            RETURNING_RESPONSE + RETURNING_PREVIOUS;
+    
+    private static final String UPDATE_SQL =
+            "UPDATE events e SET title = :title, description = :description, event_date = :eventDate, " +
+            "location = :location, status = :status, updated_at = :updatedAt, version = e.version + 1 " +
+            "FROM old JOIN users u ON u.id = old.user_id WHERE e.id = old.id " +
+            RETURNING_RESPONSE + RETURNING_PREVIOUS;
+    
+    /**
+     * DELETE i upis tombstone-a u jednoj naredbi (CTE) - PostgreSQL prvo izvrši DELETE,
+     * pa INSERT dobija obrisan red (ako ga nema, ne upisuje ništa)
+     */
+    private static final String DELETE_SQL =
+            "WITH deleted AS (" +
+            "DELETE FROM events e USING users u " +
+            "WHERE e.id = :id AND e.user_id = :userId AND u.id = e.user_id " +
+            "RETURNING e.id, e.title, e.description, e.event_date, e.location, e.status, " +
+            "u.id AS user_id, u.username, e.created_at, e.updated_at, e.version), " +
+            "tombstone AS (" +
+            "INSERT INTO event_tombstones (event_id, user_id, deleted_at) " +
+            "SELECT id, user_id, :deletedAt FROM deleted) " +
+            "SELECT id, title, description, event_date, location, status, " +
+            "user_id, username, created_at, updated_at, version FROM deleted";
+    
+    /**
+     * Izmenjeni događaji i tombstone-i posle kursora - iste kolone kao RETURNING_RESPONSE,
+     * pa changed_at (11), deleted (12), change_xid (13) i change_seq (14); tombstone ima samo id i kreatora
+     * 
+     * change_xid < xmin: transakcije starije od najstarije koja je još u toku su sve završene
+     * (commit ili rollback), pa promena koja se kasnije commit-uje ne može da završi iza kursora.
+     */
+    private static final String CHANGES_SQL =
+            "WITH horizon AS (SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS xmin) " +
+            "(SELECT e.id, e.title, e.description, e.event_date, e.location, e.status, " +
+            "u.id AS user_id, u.username, e.created_at, e.updated_at, e.version, " +
+            "e.updated_at AS changed_at, false AS deleted, e.change_xid, e.change_seq " +
+            "FROM events e JOIN users u ON u.id = e.user_id " +
+            "WHERE (e.change_xid, e.change_seq) > (:afterXid, :afterSeq) " +
+            "AND e.change_xid < (SELECT xmin FROM horizon) " +
+            "ORDER BY e.change_xid, e.change_seq LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT t.event_id, NULL, NULL, NULL, NULL, NULL, t.user_id, NULL, NULL, NULL, NULL, " +
+            "t.deleted_at, true, t.change_xid, t.change_seq " +
+            "FROM event_tombstones t " +
+            "WHERE (t.change_xid, t.change_seq) > (:afterXid, :afterSeq) " +
+            "AND t.change_xid < (SELECT xmin FROM horizon) " +
+            "ORDER BY t.change_xid, t.change_seq LIMIT :limit) " +
+            "ORDER BY change_xid, change_seq LIMIT :limit";
+    
+    @Override
+    public Optional<EventUpdate> updateStatusIfOwner(Long id, Long userId, Long expectedVersion,
+                                                      EventStatus status, LocalDateTime updatedAt) {
+        NativeQuery<?> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(lockedPrevious(expectedVersion) + UPDATE_STATUS_SQL)
+                .setParameter("status", status.name())
+                .setParameter("updatedAt", updatedAt);
+        return executeUpdate(query, id, userId, expectedVersion);
+    }
+    
+    @Override
+    public Optional<EventUpdate> updateIfOwner(Long id, Long userId, Long expectedVersion,
+                                               Event changes, LocalDateTime updatedAt) {
+        NativeQuery<?> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(lockedPrevious(expectedVersion) + UPDATE_SQL)
+                .setParameter("title", changes.getTitle())
+                // Eksplicitan tip - null bez tipa Hibernate šalje kao bytea, a kolona je TEXT
+                .setParameter("description", changes.getDescription(), StandardBasicTypes.STRING)
+                .setParameter("eventDate", changes.getEventDate())
+                .setParameter("location", changes.getLocation())
+                .setParameter("status", changes.getStatus().name())
+                .setParameter("updatedAt", updatedAt);
+        return executeUpdate(query, id, userId, expectedVersion);
+    }
+    
+    @Override
+    public Optional<EventResponse> deleteIfOwner(Long id, Long userId, LocalDateTime deletedAt) {
+        List<?> rows = entityManager.createNativeQuery(DELETE_SQL)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .setParameter("deletedAt", deletedAt)
+                .getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(toResponse((Object[]) rows.get(0)));
+    }
+    
+    @Override
+    public List<SyncChange> findChangesAfter(ChangeCursor after, int limit) {
+        List<?> rows = entityManager.createNativeQuery(CHANGES_SQL)
+                .setParameter("afterXid", after.getChangeXid())
+                .setParameter("afterSeq", after.getChangeSeq())
+                .setParameter("limit", limit)
+                .getResultList();
+        
+        List<SyncChange> changes = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            boolean deleted = (Boolean) columns[12];
+            changes.add(new SyncChange(
+                    ((Number) columns[0]).longValue(),
+                    ((Number) columns[6]).longValue(),
+                    toLocalDateTime(columns[11]),
+                    ((Number) columns[13]).longValue(),
+                    ((Number) columns[14]).longValue(),
+                    deleted ? null : toResponse(columns)));
+        }
+        return changes;
+    }
+    
+    /**
+     * CTE "old" uslovnog UPDATE-a: red postoji, korisnik je kreator i (ako je zadata) verzija se poklapa
+     * 
+     * Uslovi se posle čekanja na zaključavanje proveravaju nad novom verzijom reda, pa If-Match
+     * provera važi za stanje koje se zaista menja. Bez reda u "old" UPDATE ne menja ništa.
+     */
+    private static String lockedPrevious(Long expectedVersion) {
+        return "WITH old AS (" +
+                "SELECT id, user_id, title, description, event_date, location, status, updated_at, version " +
+                "FROM events WHERE id = :id AND user_id = :userId " +
+                (expectedVersion != null ? "AND version = :version " : "") +
+                "FOR UPDATE) ";
+    }
+    
+    /**
+     * Izvršava uslovni UPDATE i pravi EventUpdate od vraćenog reda
+     */
+    private Optional<EventUpdate> executeUpdate(NativeQuery<?> query, Long id, Long userId, Long expectedVersion) {
+        query.setParameter("id", id).setParameter("userId", userId);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        
+        // PostgreSQL vraća redove iz RETURNING-a kao rezultat upita
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Object[] row = (Object[]) rows.get(0);
+        return Optional.of(new EventUpdate(toResponse(row), toPrevious(row)));
+    }
+    
+    /**
+     * SELECT COUNT(e), MAX(e.updatedAt), COALESCE(SUM(e.version), 0) sa istim uslovima (bez JOIN-a)
+     */
+    @Override
+    public EventListVersion listVersion(Specification<Event> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventListVersion> query = cb.createQuery(EventListVersion.class);
+        Root<Event> event = query.from(Event.class);
+        
+        query.select(cb.construct(EventListVersion.class,
+                cb.count(event),
+                cb.greatest(event.<LocalDateTime>get("updatedAt")),
+                cb.coalesce(cb.sum(event.<Long>get("version")), 0L)));
+        Predicate predicate = specification.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    /**
+     * SELECT COUNT(e) sa istim uslovima (bez JOIN-a - filteri su samo na events tabeli)
+     */
+    @Override
+    public long countMatching(Specification<Event> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        
+        query.select(cb.count(event));
+        Predicate predicate = specification.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    /**
+     * SELECT new EventResponse(...) za stranicu pageable, najviše limit redova
+     */
+    private List<EventResponse> queryResponses(Specification<Event> specification, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventResponse> query = cb.createQuery(EventResponse.class);
+        Root<Event> event = query.from(Event.class);
+        Join<Event, User> creator = event.join("createdBy");
+        
+        query.select(responseSelection(cb, event, creator));
+        Predicate predicate = specification.toPredicate(event, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), event, cb));
+        
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    /**
+     * new EventResponse(...) - redosled argumenata odgovara redosledu polja u EventResponse
+     */
+    private CompoundSelection<EventResponse> responseSelection(CriteriaBuilder cb, Root<Event> event, Join<Event, User> creator) {
+        return cb.construct(EventResponse.class,
+                event.get("id"),
+                event.get("title"),
+                event.get("description"),
+                event.get("eventDate"),
+                event.get("location"),
+                event.get("status"),
+                creator.get("id"),
+                creator.get("username"),
+                event.get("createdAt"),
+                event.get("updatedAt"),
+                event.get("version"));
+    }
+    
+    /**
+     * EventResponse od reda iz RETURNING_RESPONSE
+     */
+    private static EventResponse toResponse(Object[] row) {
+        return new EventResponse(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                toLocalDateTime(row[3]),
+                (String) row[4],
+                EventStatus.valueOf((String) row[5]),
+                ((Number) row[6]).longValue(),
+                (String) row[7],
+                toLocalDateTime(row[8]),
+                toLocalDateTime(row[9]),
+                ((Number) row[10]).longValue());
+    }
+    
+    /**
+     * Stanje pre izmene - kolone iz RETURNING_PREVIOUS (id, kreator i createdAt se ne menjaju)
+     */
+    private static EventResponse toPrevious(Object[] row) {
+        return new EventResponse(
+                ((Number) row[0]).longValue(),
+                (String) row[11],
+                (String) row[12],
+                toLocalDateTime(row[13]),
+                (String) row[14],
+                EventStatus.valueOf((String) row[15]),
+                ((Number) row[6]).longValue(),
+                (String) row[7],
+                toLocalDateTime(row[8]),
+                toLocalDateTime(row[16]),
+                ((Number) row[17]).longValue());
+    }
+    
+    /**
+     * Native upit vraća timestamp kolone kao Timestamp ili LocalDateTime (zavisno od verzije Hibernate-a)
+     */
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
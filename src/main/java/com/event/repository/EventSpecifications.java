@@ -0,0 +1,113 @@
+package com.event.repository;
+
+import com.event.dto.EventFilter;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * EventSpecifications - dinamičko sastavljanje WHERE uslova za događaje
+ *
+ * Specification (Spring Data JPA) - jedan uslov napisan kroz JPA Criteria API.
+ * Uslovi se kombinuju (AND) i izvršavaju kroz EventRepositoryCustom.
+ *
+ * Zašto ne jedan upit sa "(:param IS NULL OR ...)" uslovima?
+ * - PostgreSQL za takav upit pravi jedan generički plan koji ne može da koristi indekse
+ * - ovde u SQL ulazi samo uslov koji je klijent zaista poslao,
+ *   pa svaka kombinacija filtera dobija svoj plan (i indeks na status/event_date)
+ * - status se poredi kao enum (bez CAST-a u TEXT), pa indeks na status radi
+ */
+public final class EventSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * Pravi Specification samo od popunjenih filtera
+     *
+     * @param filter - filteri iz zahteva
+     * @return kombinovani uslov (bez uslova ako nijedan filter nije popunjen)
+     */
+    public static Specification<Event> matching(EventFilter filter) {
+        List<Specification<Event>> specifications = new ArrayList<>();
+
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            specifications.add(titleContains(filter.getTitle()));
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            specifications.add(locationContains(filter.getLocation()));
+        }
+        if (filter.getStatus() != null) {
+            specifications.add(hasStatus(filter.getStatus()));
+        }
+        if (filter.getFromDate() != null) {
+            specifications.add(eventDateFrom(filter.getFromDate()));
+        }
+        if (filter.getToDate() != null) {
+            specifications.add(eventDateTo(filter.getToDate()));
+        }
+
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * SQL: lower(e.title) LIKE '%naslov%' (case-insensitive pretraga)
+     */
+    public static Specification<Event> titleContains(String title) {
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("title")), containsPattern(title), LIKE_ESCAPE);
+    }
+
+    /**
+     * SQL: lower(e.location) LIKE '%lokacija%' (case-insensitive pretraga)
+     */
+    public static Specification<Event> locationContains(String location) {
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("location")), containsPattern(location), LIKE_ESCAPE);
+    }
+
+    /**
+     * SQL: e.status = ?
+     */
+    public static Specification<Event> hasStatus(EventStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * SQL: e.user_id = ?
+     */
+    public static Specification<Event> createdBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), userId);
+    }
+
+    /**
+     * SQL: e.event_date >= ?
+     */
+    public static Specification<Event> eventDateFrom(LocalDateTime fromDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("eventDate"), fromDate);
+    }
+
+    /**
+     * SQL: e.event_date <= ?
+     */
+    public static Specification<Event> eventDateTo(LocalDateTime toDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDateTime>get("eventDate"), toDate);
+    }
+
+    /**
+     * Pravi LIKE pattern "%tekst%" - escape-uje %, _ i \ iz korisničkog unosa
+     * da bi se tražili doslovno, a ne kao džoker znakovi
+     */
+    static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
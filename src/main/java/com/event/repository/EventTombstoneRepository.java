@@ -0,0 +1,26 @@
+package com.event.repository;
+
+import com.event.model.EventTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventTombstoneRepository - tombstone-i obrisanih događaja (upisuje ih EventRepositoryImpl.deleteIfOwner)
+ */
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, Long> {
+    
+    /**
+     * Briše tombstone-e starije od before (jedan DELETE, bez učitavanja entiteta)
+     * 
+     * @return broj obrisanih tombstone-a
+     */
+    @Modifying
+    @Query("DELETE FROM EventTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
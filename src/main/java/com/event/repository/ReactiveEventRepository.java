@@ -0,0 +1,205 @@
+package com.event.repository;
+
+import com.event.dto.EventFilter;
+import com.event.dto.EventResponse;
+import com.event.exception.InvalidRequestException;
+import com.event.model.Event.EventStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReactiveEventRepository - neblokirajuće čitanje događaja kroz R2DBC (DatabaseClient)
+ * 
+ * Isti upiti kao EventRepository/EventRepositoryImpl, ali kao SQL nad tabelama (R2DBC nema JPA):
+ * - SELECT sa JOIN-om na users daje sve kolone za EventResponse (bez entiteta)
+ * - WHERE samo od popunjenih filtera (kao EventSpecifications), sa imenovanim parametrima
+ * - sortiranje samo po poljima sa liste SORT_COLUMNS - naziv kolone ulazi u SQL, pa ga ne uzimamo od klijenta
+ * 
+ * Metode vraćaju Mono/Flux - nit se ne blokira dok baza radi, a redovi stižu kako ih baza šalje.
+ */
+@Repository
+@ConditionalOnProperty(name = "event.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveEventRepository {
+    
+    private static final String RESPONSE_SELECT =
+            "SELECT e.id, e.title, e.description, e.event_date, e.location, e.status, " +
+            "u.id AS user_id, u.username, e.created_at, e.updated_at, e.version " +
+            "FROM events e JOIN users u ON u.id = e.user_id";
+    
+    private static final String COUNT_SELECT = "SELECT count(*) FROM events e";
+    
+    /**
+     * sortBy (naziv polja u EventResponse) → kolona (redosled je uvek dopunjen sa e.id)
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "e.id",
+            "title", "e.title",
+            "eventDate", "e.event_date",
+            "location", "e.location",
+            "status", "e.status",
+            "createdAt", "e.created_at",
+            "updatedAt", "e.updated_at"
+    );
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    /**
+     * Događaj po ID-u (prazan Mono ako ne postoji)
+     */
+    public Mono<EventResponse> findResponseById(Long id) {
+        return databaseClient.sql(RESPONSE_SELECT + " WHERE e.id = :id")
+                .bind("id", id)
+                .map(ReactiveEventRepository::toResponse)
+                .one();
+    }
+    
+    /**
+     * Stranica događaja sa filterima i sortiranjem (LIMIT/OFFSET)
+     * 
+     * @throws InvalidRequestException ako sortBy nije dozvoljeno polje
+     */
+    public Flux<EventResponse> findResponses(EventFilter filter, String sortBy, String sortDir, int limit, long offset) {
+        Where where = Where.matching(filter);
+        String sql = RESPONSE_SELECT + where.sql() + orderBy(sortBy, sortDir) + " LIMIT :limit OFFSET :offset";
+        return where.bind(databaseClient.sql(sql))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveEventRepository::toResponse)
+                .all();
+    }
+    
+    /**
+     * Broj događaja sa filterima (COUNT za totalElements)
+     */
+    public Mono<Long> count(EventFilter filter) {
+        Where where = Where.matching(filter);
+        return where.bind(databaseClient.sql(COUNT_SELECT + where.sql()))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+    
+    /**
+     * Budući događaji sa statusom status, sortirani po (eventDate, id)
+     */
+    public Flux<EventResponse> findUpcomingResponses(EventStatus status, LocalDateTime now, int limit, long offset) {
+        return databaseClient.sql(RESPONSE_SELECT +
+                        " WHERE e.status = :status AND e.event_date > :now" +
+                        " ORDER BY e.event_date, e.id LIMIT :limit OFFSET :offset")
+                .bind("status", status.name())
+                .bind("now", now)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveEventRepository::toResponse)
+                .all();
+    }
+    
+    /**
+     * Broj budućih događaja sa statusom status
+     */
+    public Mono<Long> countUpcoming(EventStatus status, LocalDateTime now) {
+        return databaseClient.sql(COUNT_SELECT + " WHERE e.status = :status AND e.event_date > :now")
+                .bind("status", status.name())
+                .bind("now", now)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+    
+    /**
+     * Svi događaji sa filterima, sortirani po id - za strimovanje (GET /api/reactive/events/stream)
+     * 
+     * fetchSize - drajver od baze traži redove u serijama od fetchSize (kursor), i to tek kada
+     * pretplatnik zatraži nove elemente. Spor klijent tako usporava čitanje iz baze, umesto da se
+     * cela tabela učita u memoriju (backpressure od HTTP odgovora do baze).
+     */
+    public Flux<EventResponse> streamResponses(EventFilter filter, int fetchSize) {
+        Where where = Where.matching(filter);
+        return where.bind(databaseClient.sql(RESPONSE_SELECT + where.sql() + " ORDER BY e.id"))
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map(ReactiveEventRepository::toResponse)
+                .all();
+    }
+    
+    private static String orderBy(String sortBy, String sortDir) {
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new InvalidRequestException("Sortiranje po polju '" + sortBy + "' nije podržano");
+        }
+        String direction = "desc".equalsIgnoreCase(sortDir) ? " DESC" : " ASC";
+        return " ORDER BY " + column + direction + (column.equals("e.id") ? "" : ", e.id" + direction);
+    }
+    
+    private static EventResponse toResponse(Readable row) {
+        return EventResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .eventDate(row.get("event_date", LocalDateTime.class))
+                .location(row.get("location", String.class))
+                .status(EventStatus.valueOf(row.get("status", String.class)))
+                .createdById(row.get("user_id", Long.class))
+                .createdByUsername(row.get("username", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+    
+    /**
+     * WHERE deo i vrednosti imenovanih parametara - samo od popunjenih filtera
+     */
+    private record Where(List<String> conditions, Map<String, Object> parameters) {
+        
+        static Where matching(EventFilter filter) {
+            Where where = new Where(new ArrayList<>(), new LinkedHashMap<>());
+            if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+                where.add("lower(e.title) LIKE :title ESCAPE '\\'", "title",
+                        EventSpecifications.containsPattern(filter.getTitle()));
+            }
+            if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+                where.add("lower(e.location) LIKE :location ESCAPE '\\'", "location",
+                        EventSpecifications.containsPattern(filter.getLocation()));
+            }
+            if (filter.getStatus() != null) {
+                where.add("e.status = :status", "status", filter.getStatus().name());
+            }
+            if (filter.getFromDate() != null) {
+                where.add("e.event_date >= :fromDate", "fromDate", filter.getFromDate());
+            }
+            if (filter.getToDate() != null) {
+                where.add("e.event_date <= :toDate", "toDate", filter.getToDate());
+            }
+            return where;
+        }
+        
+        void add(String condition, String name, Object value) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+        
+        String sql() {
+            return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        }
+        
+        GenericExecuteSpec bind(GenericExecuteSpec spec) {
+            for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                spec = spec.bind(parameter.getKey(), parameter.getValue());
+            }
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.event.repository;
+
+import com.event.dto.BatchResult;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * UserImportRepository - masovni uvoz korisnika kroz PostgreSQL COPY protokol
+ * 
+ * Umesto INSERT-a po korisniku (uz dva "exists" upita), uvoz ide u tri koraka:
+ * 1. COPY ... FROM STDIN - redovi se strimuju u privremenu tabelu users_import (bez parsiranja u Javi za CSV)
+ * 2. jedan UPDATE nad users_import označava neispravne redove i duplikate (u fajlu i u tabeli users)
+ * 3. jedan INSERT ... SELECT prebacuje ispravne redove u users
+ * 
+ * users_import je TEMP tabela sa ON COMMIT DROP - vidljiva samo ovoj konekciji i briše se na kraju transakcije,
+ * pa sve metode moraju da se pozivaju unutar iste transakcije (UserService.importUsers).
+ * 
+ * JdbcTemplate koristi konekciju iz Spring transakcije (istu koju koristi i JPA).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+    
+    /**
+     * line_no - redni broj reda u uvozu (bigserial prati redosled kojim COPY upisuje redove)
+     * reason - razlog odbijanja (NULL za ispravan red)
+     */
+    private static final String CREATE_STAGING_TABLE =
+            "CREATE TEMP TABLE users_import (" +
+            "line_no bigserial, username text, email text, password text, role text, reason text" +
+            ") ON COMMIT DROP";
+    
+    private static final String COPY_CSV_WITH_HEADER =
+            "COPY users_import (username, email, password, role) FROM STDIN WITH (FORMAT csv, HEADER true)";
+    
+    private static final String COPY_CSV =
+            "COPY users_import (username, email, password, role) FROM STDIN WITH (FORMAT csv)";
+    
+    /**
+     * Jedna set-based naredba za sve provere (iste kao UserRequest validacija i UserService.createUser):
+     * - neispravna polja
+     * - username/email već postoji u users (koristi unique indekse)
+     * - username/email se ponavlja u samom uvozu - prvo pojavljivanje se prihvata (row_number)
+     */
+    private static final String MARK_REJECTED =
+            "UPDATE users_import s SET reason = c.reason FROM (" +
+            "  SELECT r.line_no, CASE" +
+            "    WHEN r.username IS NULL OR length(r.username) NOT BETWEEN 3 AND 50" +
+            "      THEN 'username: Username mora biti između 3 i 50 karaktera'" +
+            "    WHEN r.email IS NULL OR r.email !~ '^[^@\\s]+@[^@\\s]+$'" +
+            "      THEN 'email: Email mora biti validan'" +
+            "    WHEN r.password IS NULL OR length(r.password) < 6" +
+            "      THEN 'password: Password mora imati najmanje 6 karaktera'" +
+            "    WHEN r.role IS NULL OR r.role NOT IN ('USER', 'ADMIN')" +
+            "      THEN 'role: Role mora biti USER ili ADMIN'" +
+            "    WHEN EXISTS (SELECT 1 FROM users u WHERE u.username = r.username)" +
+            "      THEN 'username: Korisnik sa ovim username-om već postoji'" +
+            "    WHEN EXISTS (SELECT 1 FROM users u WHERE u.email = r.email)" +
+            "      THEN 'email: Korisnik sa ovim email-om već postoji'" +
+            "    WHEN r.username_rank > 1" +
+            "      THEN 'username: Username se ponavlja u uvozu'" +
+            "    WHEN r.email_rank > 1" +
+            "      THEN 'email: Email se ponavlja u uvozu'" +
+            "  END AS reason" +
+            "  FROM (" +
+            "    SELECT i.*," +
+            "      row_number() OVER (PARTITION BY i.username ORDER BY i.line_no) AS username_rank," +
+            "      row_number() OVER (PARTITION BY i.email ORDER BY i.line_no) AS email_rank" +
+            "    FROM users_import i" +
+            "  ) r" +
+            ") c " +
+            "WHERE s.line_no = c.line_no AND c.reason IS NOT NULL";
+    
+    /**
+     * ON CONFLICT DO NOTHING - ako je neko u međuvremenu (posle MARK_REJECTED) dodao istog korisnika,
+     * red se preskače umesto da obori ceo uvoz
+     */
+    private static final String INSERT_ACCEPTED =
+            "INSERT INTO users (username, email, password, role, created_at, updated_at) " +
+            "SELECT username, email, password, role, now(), now() FROM users_import " +
+            "WHERE reason IS NULL ORDER BY line_no " +
+            "ON CONFLICT DO NOTHING";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Pravi privremenu tabelu users_import (briše se na kraju transakcije)
+     */
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+    }
+    
+    /**
+     * Strimuje CSV (sa zaglavljem, kolone username,email,password,role) direktno u users_import
+     * 
+     * Podaci idu iz ulaznog toka u bazu bez parsiranja u Javi - CSV parsira PostgreSQL.
+     * 
+     * @throws org.springframework.dao.DataAccessException ako CSV nije ispravan (npr. pogrešan broj kolona)
+     */
+    public void copyCsv(InputStream csv) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_CSV_WITH_HEADER, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    /**
+     * Strimuje redove (username, email, password, role) u users_import
+     * 
+     * Redovi se čitaju jedan po jedan iz iteratora i pišu u COPY tok kroz bafer -
+     * u memoriji nikad nije ceo uvoz. null vrednost postaje NULL u bazi.
+     */
+    public void copyRows(Iterator<String[]> rows) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, COPY_CSV), StandardCharsets.UTF_8), 64 * 1024)) {
+                while (rows.hasNext()) {
+                    writeCsvRow(writer, rows.next());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Broj redova u users_import
+     */
+    public long countStaged() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM users_import", Long.class);
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * Označava neispravne redove i duplikate (jedna naredba)
+     * 
+     * @return broj odbijenih redova
+     */
+    public int markRejected() {
+        return jdbcTemplate.update(MARK_REJECTED);
+    }
+    
+    /**
+     * Prebacuje ispravne redove u users (jedna naredba)
+     * 
+     * @return broj dodatih korisnika
+     */
+    public int insertAccepted() {
+        return jdbcTemplate.update(INSERT_ACCEPTED);
+    }
+    
+    /**
+     * Prvih limit odbijenih redova sa razlogom
+     * 
+     * @return greške sa rednim brojem reda (0-based, kao BatchResult.ItemError.index)
+     */
+    public List<BatchResult.ItemError> findRejected(int limit) {
+        return jdbcTemplate.query(
+                "SELECT line_no, reason FROM users_import WHERE reason IS NOT NULL ORDER BY line_no LIMIT ?",
+                (rs, rowNum) -> new BatchResult.ItemError(rs.getLong("line_no") - 1, List.of(rs.getString("reason"))),
+                limit);
+    }
+    
+    /**
+     * Upisuje jedan CSV red - svaka vrednost je pod navodnicima (navodnik unutar vrednosti se duplira),
+     * a null je prazno polje bez navodnika (COPY ga čita kao NULL)
+     */
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write('"');
+                writer.write(values[i].replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+}
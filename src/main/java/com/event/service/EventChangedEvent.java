@@ -0,0 +1,44 @@
+package com.event.service;
+
+import com.event.dto.EventResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * EventChangedEvent - Spring aplikacioni događaj koji EventService objavljuje kada se događaj promeni
+ * 
+ * Objavljuje se kroz ApplicationEventPublisher unutar transakcije.
+ * Slušaoci sa @TransactionalEventListener(phase = AFTER_COMMIT) ga dobijaju tek
+ * POSLE commit-a - ako se transakcija rollback-uje, događaj se ne isporučuje.
+ * Tako keš i ostali slušaoci nikad ne vide nesačuvane (uncommitted) promene.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class EventChangedEvent {
+    
+    /**
+     * Vrsta promene
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+    
+    private final Long eventId;
+    private final ChangeType type;
+    
+    /**
+     * Stanje događaja posle promene (null za DELETED)
+     */
+    private final EventResponse event;
+    
+    /**
+     * Stanje događaja pre promene (null za CREATED) - npr. EventCounters iz njega zna
+     * sa kog statusa i kog kreatora da skine događaj
+     */
+    private final EventResponse previous;
+}
@@ -1,21 +1,66 @@
 package com.event.service;
 
+import com.event.cache.EventCountCache;
+import com.event.cache.EventCounters;
+import com.event.cache.EventResponseCache;
+import com.event.cache.UpcomingEventsIndex;
+import com.event.datasource.ReadRoutingContext;
+import com.event.dto.BatchResult;
+import com.event.dto.ChangeCursor;
+import com.event.dto.EventCursor;
+import com.event.dto.EventFilter;
+import com.event.dto.EventListVersion;
+import com.event.dto.EventRequest;
+import com.event.dto.EventResponse;
+import com.event.dto.EventStats;
+import com.event.dto.EventSyncResponse;
+import com.event.dto.EventVersion;
+import com.event.dto.TotalMode;
+import com.event.exception.CursorExpiredException;
+import com.event.exception.InvalidRequestException;
+import com.event.exception.PreconditionFailedException;
 import com.event.exception.ResourceNotFoundException;
 import com.event.exception.UnauthorizedException;
 import com.event.model.Event;
 import com.event.model.Event.EventStatus;
 import com.event.model.User;
 import com.event.repository.EventRepository;
+import com.event.repository.EventRepositoryCustom.EventUpdate;
+import com.event.repository.EventRepositoryCustom.SyncChange;
+import com.event.repository.EventSpecifications;
+import com.event.repository.EventTombstoneRepository;
 import com.event.repository.UserRepository;
+import com.event.service.EventChangedEvent.ChangeType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * EventService - business logika za rad sa događajima
@@ -27,13 +72,58 @@ import java.time.LocalDateTime;
  * 
  * @Transactional - sve metode u ovoj klasi su transakcione
  * Ako dođe do greške, sve promene se rollback-uju (ne sačuvaju se)
+ * 
+ * Listing metode vraćaju EventResponse direktno iz repository-ja (DTO projekcija),
+ * pa se za stranicu izvršava jedan upit za podatke i najviše jedan COUNT upit.
+ * 
+ * Svaka izmena objavljuje EventChangedEvent - slušaoci (npr. EventResponseCache)
+ * ga dobijaju tek posle commit-a transakcije.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class EventService {
     
     private final EventRepository eventRepository;
+    private final EventTombstoneRepository eventTombstoneRepository;
     private final UserRepository userRepository;
+    private final EventResponseCache eventResponseCache;
+    private final UpcomingEventsIndex upcomingEventsIndex;
+    private final EventCountCache eventCountCache;
+    private final EventCounters eventCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    
+    /**
+     * Najveći broj događaja u jednom POST /api/events/batch zahtevu
+     */
+    @Value("${event.batch.max-size:10000}")
+    private int batchMaxSize;
+    
+    /**
+     * Posle koliko događaja se radi flush + clear pri masovnom kreiranju
+     * (isto kao hibernate.jdbc.batch_size i allocationSize sekvence)
+     */
+    @Value("${event.batch.flush-size:50}")
+    private int batchFlushSize;
+    
+    /**
+     * Broj redova koji export odjednom čita iz JDBC kursora
+     */
+    @Value("${event.export.fetch-size:1000}")
+    private int exportFetchSize;
+    
+    /**
+     * GET /api/events/changes - najviše promena po odgovoru
+     */
+    @Value("${event.sync.max-size:1000}")
+    private int syncMaxSize;
+    
+    /**
+     * Koliko dugo se čuvaju tombstone-i obrisanih događaja
+     */
+    @Value("${event.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
     
     /**
      * Kreira novi događaj
@@ -57,22 +147,152 @@ public class EventService {
             event.setStatus(EventStatus.DRAFT);
         }
         
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(
+                savedEvent.getId(), ChangeType.CREATED, EventResponse.from(savedEvent), null));
+        return savedEvent;
     }
     
     /**
-     * Pronalazi događaj po ID-u
+     * Kreira više događaja odjednom (POST /api/events/batch)
+     * 
+     * - svaka stavka se validira posebno - neispravne se preskaču i prijavljuju, ostale se čuvaju
+     * - kreatori se učitavaju jednim upitom za sve različite userId-eve (ne po stavci)
+     * - INSERT-i idu u JDBC serijama (ID-evi iz sekvence, vidi Event.id i EventRepositoryCustom.insertAll)
+     * 
+     * @param requests - događaji za kreiranje
+     * @param defaultUserId - kreator za stavke bez userId-a (opciono)
+     * @return BatchResult - broj sačuvanih, njihovi ID-evi i greške po stavkama
+     * @throws InvalidRequestException ako je lista prazna ili veća od event.batch.max-size
+     */
+    @Transactional
+    public BatchResult createEvents(List<EventRequest> requests, Long defaultUserId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("Lista događaja je prazna");
+        }
+        if (requests.size() > batchMaxSize) {
+            throw new InvalidRequestException("Najviše " + batchMaxSize + " događaja po zahtevu");
+        }
+        
+        // Kreatori - jedan upit za sve različite userId-eve
+        Set<Long> userIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(request -> request.getUserId() != null ? request.getUserId() : defaultUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        List<Event> events = new ArrayList<>(requests.size());
+        List<BatchResult.ItemError> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EventRequest request = requests.get(i);
+            List<String> messages = validate(request);
+            
+            Long userId = request != null && request.getUserId() != null ? request.getUserId() : defaultUserId;
+            User user = userId != null ? usersById.get(userId) : null;
+            if (userId == null) {
+                messages.add("userId: Kreator je obavezan");
+            } else if (user == null) {
+                messages.add("userId: Korisnik sa ID-om " + userId + " nije pronađen");
+            }
+            
+            if (!messages.isEmpty()) {
+                errors.add(new BatchResult.ItemError(i, messages));
+                continue;
+            }
+            
+            Event event = request.toEntity();
+            event.setCreatedBy(user);
+            events.add(event);
+        }
+        
+        eventRepository.insertAll(events, batchFlushSize);
+        
+        List<Long> createdIds = new ArrayList<>(events.size());
+        for (Event event : events) {
+            createdIds.add(event.getId());
+            eventPublisher.publishEvent(new EventChangedEvent(
+                    event.getId(), ChangeType.CREATED, EventResponse.from(event), null));
+        }
+        
+        return BatchResult.builder()
+                .received(requests.size())
+                .created(events.size())
+                .rejected(errors.size())
+                .createdIds(createdIds)
+                .errors(errors)
+                .build();
+    }
+    
+    /**
+     * Pronalazi događaj po ID-u kao EventResponse, kroz keš (GET /api/events/{id})
+     * 
+     * Nije @Transactional - kada je događaj u kešu, ne otvara se transakcija i ne ide se u bazu.
+     * Kada nije, učitava se jednim upitom (događaj + kreator) i pamti u kešu.
      * 
      * @param id - ID događaja
      * @return događaj
      * @throws ResourceNotFoundException ako događaj ne postoji
      */
-    @Transactional(readOnly = true)
-    public Event findById(Long id) {
-        return eventRepository.findById(id)
+    public EventResponse findResponseById(Long id) {
+        EventResponse response = eventResponseCache.get(id,
+                key -> eventRepository.findResponseById(key).orElse(null));
+        if (response == null) {
+            throw new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen");
+        }
+        return response;
+    }
+    
+    /**
+     * Verzija događaja za uslovni GET /api/events/{id} (If-None-Match / If-Modified-Since)
+     * 
+     * Iz keša kada je događaj tamo (bez baze), inače findVersionById - mali upit bez JOIN-a i bez
+     * TEXT kolone description. EventResponse se ne pravi, pa 304 odgovor ne košta ni serijalizaciju.
+     * 
+     * @param id - ID događaja
+     * @return kreator, verzija i updatedAt
+     * @throws ResourceNotFoundException ako događaj ne postoji
+     */
+    public EventVersion findVersionById(Long id) {
+        EventResponse cached = eventResponseCache.getIfPresent(id);
+        if (cached != null) {
+            return EventVersion.from(cached);
+        }
+        return eventRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen"));
     }
     
+    /**
+     * Validator liste za GET /api/events (ETag i Last-Modified) - COUNT, MAX(updated_at) i SUM(version)
+     * sa istim filterima kao lista
+     * 
+     * Čita se pre stranice: ako se lista promeni između dva upita, klijent dobija stariji ETag
+     * uz novije podatke, pa sledeći uslovni zahtev samo ponovo dobija 200 (nikad zastareli 304).
+     * 
+     * Upit prolazi kroz sve redove filtera - kontroler ga koristi samo za uslovni GET i totalMode=exact.
+     */
+    @Transactional(readOnly = true)
+    public EventListVersion listVersion(EventFilter filter) {
+        return eventRepository.listVersion(EventSpecifications.matching(filter));
+    }
+    
+    /**
+     * Validator liste događaja korisnika (vidi listVersion)
+     */
+    @Transactional(readOnly = true)
+    public EventListVersion listVersionByUserId(Long userId) {
+        return eventRepository.listVersion(EventSpecifications.createdBy(userId));
+    }
+    
+    /**
+     * Validator liste događaja sa statusom (vidi listVersion)
+     */
+    @Transactional(readOnly = true)
+    public EventListVersion listVersionByStatus(EventStatus status) {
+        return eventRepository.listVersion(EventSpecifications.hasStatus(status));
+    }
+    
     /**
      * Vraća sve događaje sa pagination i filtering
      * 
@@ -82,51 +302,86 @@ public class EventService {
      * - sortBy: polje za sortiranje
      * - sortDir: smer sortiranja (ASC/DESC)
      * 
-     * Filter parametri:
+     * Filter parametri (EventFilter, svi opcioni):
      * - title: pretraga po naslovu
      * - location: pretraga po lokaciji
      * - status: filtriranje po statusu
      * - fromDate: od datuma
      * - toDate: do datuma
      * 
-     * @return Page<Event> - stranica sa događajima
+     * @return Page<EventResponse> - stranica sa događajima
      */
     @Transactional(readOnly = true)
-    public Page<Event> findAll(
+    public Page<EventResponse> findAll(
             int page,
             int size,
             String sortBy,
             String sortDir,
-            String title,
-            String location,
-            EventStatus status,
-            LocalDateTime fromDate,
-            LocalDateTime toDate
+            EventFilter filter
     ) {
-        // Kreira Pageable objekat za pagination i sorting
-        Sort sort = sortDir.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+        Pageable pageable = sortedPageable(page, size, sortBy, sortDir);
         
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // Sastavlja WHERE samo od filtera koje je klijent poslao (bez "IS NULL OR" uslova)
+        Specification<Event> specification = EventSpecifications.matching(filter);
         
-        // Kada nema filtera, koristi običan findAll (izbegava probleme native upita)
-        boolean noFilters = (title == null || title.isBlank())
-                && (location == null || location.isBlank())
-                && status == null
-                && fromDate == null
-                && toDate == null;
-        if (noFilters) {
-            return eventRepository.findAll(pageable);
+        return eventRepository.findResponses(specification, pageable);
+    }
+    
+    /**
+     * Vraća događaje kao findAll, uz izbor kako se računa ukupan broj (totalMode)
+     * 
+     * - EXACT - isto kao findAll (COUNT upit sa istim filterima)
+     * - NONE - bez COUNT-a, samo informacija da li postoji sledeća stranica
+     * - ESTIMATED - bez COUNT-a na svakom zahtevu: bez filtera procena planera,
+     *   sa filterima COUNT koji se pamti u EventCountCache
+     * 
+     * @return Page<EventResponse> za EXACT i ESTIMATED, Slice<EventResponse> za NONE
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findAll(
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            EventFilter filter,
+            TotalMode totalMode
+    ) {
+        if (totalMode == TotalMode.EXACT) {
+            return findAll(page, size, sortBy, sortDir, filter);
         }
         
-        // Konvertuj EventStatus u String za native query
-        String statusString = status != null ? status.name() : null;
+        Specification<Event> specification = EventSpecifications.matching(filter);
+        Slice<EventResponse> slice = eventRepository.findResponseSlice(
+                specification, sortedPageable(page, size, sortBy, sortDir));
+        if (totalMode == TotalMode.NONE) {
+            return slice;
+        }
         
-        return eventRepository.findWithFilters(
-                title != null ? title.trim() : "", location != null ? location.trim() : "",
-                statusString, fromDate, toDate, pageable
-        );
+        long estimate = filter.isEmpty()
+                ? eventCountCache.estimateAll()
+                : eventCountCache.get("filter", filter, () -> eventRepository.countMatching(specification));
+        return withTotal(slice, estimate);
+    }
+    
+    /**
+     * Kao findAll sa totalMode, kada je validator liste (listVersion) već pročitan
+     * 
+     * Njegov count je tačan broj sa istim filterima, pa se koristi za totalElements (i za exact
+     * i za estimated) umesto još jednog COUNT upita.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findAll(
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            EventFilter filter,
+            TotalMode totalMode,
+            EventListVersion listVersion
+    ) {
+        Slice<EventResponse> slice = eventRepository.findResponseSlice(
+                EventSpecifications.matching(filter), sortedPageable(page, size, sortBy, sortDir));
+        return withListTotal(slice, totalMode, listVersion);
     }
     
     /**
@@ -135,12 +390,44 @@ public class EventService {
      * @param userId - ID korisnika
      * @param page - broj stranice
      * @param size - broj elemenata po stranici
-     * @return Page<Event> - stranica sa događajima korisnika
+     * @return Page<EventResponse> - stranica sa događajima korisnika
      */
     @Transactional(readOnly = true)
-    public Page<Event> findByUserId(Long userId, int page, int size) {
+    public Page<EventResponse> findByUserId(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return eventRepository.findByCreatedById(userId, pageable);
+        return eventRepository.findResponsesByCreatedById(userId, pageable);
+    }
+    
+    /**
+     * Vraća događaje korisnika uz izbor kako se računa ukupan broj (vidi findAll sa totalMode)
+     * 
+     * exact je uvek COUNT upit. estimated je iz EventCounters-a kada su napunjeni (bez upita) - brojači
+     * su lokalni za čvor i izmene sa drugih čvorova vide tek posle usklađivanja, pa nisu "exact".
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByUserId(Long userId, int page, int size, TotalMode totalMode) {
+        if (totalMode == TotalMode.EXACT) {
+            return findByUserId(userId, page, size);
+        }
+        
+        Slice<EventResponse> slice = eventRepository.findResponseSliceByCreatedById(userId, PageRequest.of(page, size));
+        if (totalMode == TotalMode.NONE) {
+            return slice;
+        }
+        long total = eventCounters.isReady()
+                ? eventCounters.countByCreator(userId)
+                : eventCountCache.get("user", userId, () -> eventRepository.countByCreatedById(userId));
+        return withTotal(slice, total);
+    }
+    
+    /**
+     * Događaji korisnika sa već pročitanim validatorom liste (vidi findAll sa listVersion)
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByUserId(Long userId, int page, int size, TotalMode totalMode,
+                                             EventListVersion listVersion) {
+        Slice<EventResponse> slice = eventRepository.findResponseSliceByCreatedById(userId, PageRequest.of(page, size));
+        return withListTotal(slice, totalMode, listVersion);
     }
     
     /**
@@ -149,73 +436,133 @@ public class EventService {
      * @param status - status događaja
      * @param page - broj stranice
      * @param size - broj elemenata po stranici
-     * @return Page<Event> - stranica sa događajima
+     * @return Page<EventResponse> - stranica sa događajima
      */
     @Transactional(readOnly = true)
-    public Page<Event> findByStatus(EventStatus status, int page, int size) {
+    public Page<EventResponse> findByStatus(EventStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return eventRepository.findByStatus(status, pageable);
+        return eventRepository.findResponsesByStatus(status, pageable);
+    }
+    
+    /**
+     * Vraća događaje sa statusom uz izbor kako se računa ukupan broj (vidi findAll sa totalMode)
+     * 
+     * Kao findByUserId: exact je COUNT upit, estimated iz EventCounters-a kada su napunjeni.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByStatus(EventStatus status, int page, int size, TotalMode totalMode) {
+        if (totalMode == TotalMode.EXACT) {
+            return findByStatus(status, page, size);
+        }
+        
+        Slice<EventResponse> slice = eventRepository.findResponseSliceByStatus(status, PageRequest.of(page, size));
+        if (totalMode == TotalMode.NONE) {
+            return slice;
+        }
+        long total = eventCounters.isReady()
+                ? eventCounters.countByStatus(status)
+                : eventCountCache.get("status", status, () -> eventRepository.countByStatus(status));
+        return withTotal(slice, total);
+    }
+    
+    /**
+     * Događaji sa statusom sa već pročitanim validatorom liste (vidi findAll sa listVersion)
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByStatus(EventStatus status, int page, int size, TotalMode totalMode,
+                                             EventListVersion listVersion) {
+        Slice<EventResponse> slice = eventRepository.findResponseSliceByStatus(status, PageRequest.of(page, size));
+        return withListTotal(slice, totalMode, listVersion);
+    }
+    
+    /**
+     * Broj događaja ukupno, po statusu i (opciono) za jednog korisnika (GET /api/events/stats)
+     * 
+     * Iz EventCounters-a kada su napunjeni (bez upita), inače GROUP BY upitom iz baze.
+     * 
+     * @param userId - korisnik za koga se vraća i broj njegovih događaja (opciono)
+     */
+    public EventStats getStats(Long userId) {
+        if (eventCounters.isReady()) {
+            return eventCounters.stats(userId);
+        }
+        
+        Map<EventStatus, Long> byStatus = new EnumMap<>(EventStatus.class);
+        for (EventStatus status : EventStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Object[] row : eventRepository.countGroupedByStatus()) {
+            byStatus.put((EventStatus) row[0], (Long) row[1]);
+        }
+        
+        return EventStats.builder()
+                .total(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(byStatus)
+                .userId(userId)
+                .userEvents(userId != null ? eventRepository.countByCreatedById(userId) : null)
+                .build();
     }
     
     /**
      * Ažurira događaj
      * 
+     * Jedan UPDATE ... WHERE id = ? AND user_id = ? [AND version = ?] RETURNING ... - provera
+     * vlasništva i verzije su deo upita, pa nema prethodnog SELECT-a ni zaključavanja reda.
+     * Dve istovremene izmene iste verzije: prva prolazi, druga ne menja nijedan red i dobija 412.
+     * 
      * @param id - ID događaja za ažuriranje
      * @param updatedEvent - novi podaci za događaj
      * @param userId - ID korisnika koji pokušava da ažurira
-     * @return ažuriran događaj
+     * @param expectedVersion - verzija iz If-Match (null - bez provere verzije)
+     * @return ažuriran događaj (sa novom verzijom)
      * @throws ResourceNotFoundException ako događaj ne postoji
      * @throws UnauthorizedException ako korisnik nije kreator događaja
+     * @throws PreconditionFailedException ako se verzija ne poklapa
      */
     @Transactional
-    public Event updateEvent(Long id, Event updatedEvent, Long userId) {
-        // Pronađi postojeći događaj
-        Event existingEvent = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen"));
-        
-        // Proveri da li korisnik ima pravo da ažurira događaj
-        if (!existingEvent.getCreatedBy().getId().equals(userId)) {
-            throw new UnauthorizedException("Nemate pravo da ažurirate ovaj događaj");
-        }
-        
-        // Ažuriraj polja
-        existingEvent.setTitle(updatedEvent.getTitle());
-        existingEvent.setDescription(updatedEvent.getDescription());
-        existingEvent.setEventDate(updatedEvent.getEventDate());
-        existingEvent.setLocation(updatedEvent.getLocation());
-        existingEvent.setStatus(updatedEvent.getStatus());
+    public EventResponse updateEvent(Long id, Event updatedEvent, Long userId, Long expectedVersion) {
         // Ne menjamo createdBy - kreator ostaje isti
+        EventUpdate update = eventRepository
+                .updateIfOwner(id, userId, expectedVersion, updatedEvent, LocalDateTime.now())
+                .orElseThrow(() -> rejection(id, userId, expectedVersion, "Nemate pravo da ažurirate ovaj događaj"));
         
-        return eventRepository.save(existingEvent);
+        eventPublisher.publishEvent(new EventChangedEvent(
+                id, ChangeType.UPDATED, update.event(), update.previous()));
+        return update.event();
     }
     
     /**
      * Menja status događaja
      * 
+     * Jedan UPDATE ... RETURNING kao updateEvent. RETURNING vraća i stari status
+     * za slušaoce (EventCounters).
+     * 
      * @param id - ID događaja
      * @param newStatus - novi status
      * @param userId - ID korisnika koji pokušava da promeni status
+     * @param expectedVersion - verzija iz If-Match (null - bez provere verzije)
      * @return ažuriran događaj
      * @throws ResourceNotFoundException ako događaj ne postoji
      * @throws UnauthorizedException ako korisnik nije kreator događaja
+     * @throws PreconditionFailedException ako se verzija ne poklapa
      */
     @Transactional
-    public Event updateStatus(Long id, EventStatus newStatus, Long userId) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen"));
+    public EventResponse updateStatus(Long id, EventStatus newStatus, Long userId, Long expectedVersion) {
+        EventUpdate update = eventRepository
+                .updateStatusIfOwner(id, userId, expectedVersion, newStatus, LocalDateTime.now())
+                .orElseThrow(() -> rejection(id, userId, expectedVersion, "Nemate pravo da promenite status ovog događaja"));
         
-        // Proveri da li korisnik ima pravo da promeni status
-        if (!event.getCreatedBy().getId().equals(userId)) {
-            throw new UnauthorizedException("Nemate pravo da promenite status ovog događaja");
-        }
-        
-        event.setStatus(newStatus);
-        return eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(
+                id, ChangeType.STATUS_CHANGED, update.event(), update.previous()));
+        return update.event();
     }
     
     /**
      * Briše događaj
      * 
+     * Jedan DELETE ... WHERE id = ? AND user_id = ? RETURNING ... (kao updateStatus),
+     * koji u istoj naredbi upisuje i tombstone za klijente koji se sinhronizuju (findChangesSince).
+     * 
      * @param id - ID događaja za brisanje
      * @param userId - ID korisnika koji pokušava da obriše
      * @throws ResourceNotFoundException ako događaj ne postoji
@@ -223,28 +570,345 @@ public class EventService {
      */
     @Transactional
     public void deleteEvent(Long id, Long userId) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen"));
+        EventResponse deleted = eventRepository.deleteIfOwner(id, userId, LocalDateTime.now())
+                .orElseThrow(() -> rejection(id, userId, null, "Nemate pravo da obrišete ovaj događaj"));
         
-        // Proveri da li korisnik ima pravo da obriše događaj
-        if (!event.getCreatedBy().getId().equals(userId)) {
-            throw new UnauthorizedException("Nemate pravo da obrišete ovaj događaj");
+        eventPublisher.publishEvent(new EventChangedEvent(id, ChangeType.DELETED, null, deleted));
+    }
+    
+    /**
+     * Razlog zašto uslovni UPDATE/DELETE nije izmenio nijedan red
+     * 
+     * Dodatni upit (findVersionById - samo kreator i verzija) se izvršava samo u ovom, neuspešnom slučaju.
+     */
+    private RuntimeException rejection(Long id, Long userId, Long expectedVersion, String unauthorizedMessage) {
+        Optional<EventVersion> current = eventRepository.findVersionById(id);
+        if (current.isEmpty()) {
+            return new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen");
         }
-        
-        eventRepository.delete(event);
+        if (!current.get().getCreatedById().equals(userId)) {
+            return new UnauthorizedException(unauthorizedMessage);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(current.get().getVersion())) {
+            return new PreconditionFailedException(
+                    "Događaj je u međuvremenu izmenjen (trenutna verzija " + current.get().getVersion() + ")",
+                    current.get().getVersion());
+        }
+        // Red je nestao ili promenio vlasnika između UPDATE-a i ovog upita
+        return new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen");
     }
     
     /**
      * Pronalazi buduće objavljene događaje
      * 
+     * Kada je UpcomingEventsIndex napunjen, stranica se čita iz memorije (bez baze i transakcije).
+     * Inače (npr. odmah po pokretanju) ide se u bazu.
+     * 
      * @param page - broj stranice
      * @param size - broj elemenata po stranici
-     * @return Page<Event> - stranica sa budućim objavljenim događajima
+     * @return Page<EventResponse> - stranica sa budućim objavljenim događajima
      */
-    @Transactional(readOnly = true)
-    public Page<Event> findUpcomingPublishedEvents(int page, int size) {
+    public Page<EventResponse> findUpcomingPublishedEvents(int page, int size) {
+        if (upcomingEventsIndex.isReady()) {
+            return upcomingEventsIndex.page(page, size, LocalDateTime.now());
+        }
+        
         Pageable pageable = PageRequest.of(page, size, Sort.by("eventDate").ascending());
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findByStatusAndEventDateAfter(EventStatus.PUBLISHED, now, pageable);
+        return eventRepository.findUpcomingResponses(EventStatus.PUBLISHED, now, pageable);
+    }
+    
+    /**
+     * Full-text pretraga po naslovu i opisu, rangirana po relevantnosti
+     * 
+     * Dva upita (+ COUNT):
+     * 1. ID-evi iz GIN indeksa nad search_vector kolonom, sortirani po relevantnosti
+     * 2. EventResponse projekcija za te ID-eve (po primarnom ključu)
+     * 
+     * @param query - tekst pretrage (podržava "fraze", OR i -isključivanje reči)
+     * @param page - broj stranice
+     * @param size - broj elemenata po stranici
+     * @return Page<EventResponse> - stranica sa događajima, najrelevantniji prvi
+     * @throws InvalidRequestException ako je upit prazan
+     */
+    @Transactional(readOnly = true)
+    public Page<EventResponse> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Parametar q (tekst pretrage) je obavezan");
+        }
+        
+        Pageable pageable = PageRequest.of(page, size);
+        Page<Long> idsPage = eventRepository.searchIds(query.trim(), pageable);
+        
+        return new PageImpl<>(findResponsesInOrder(idsPage.getContent()), pageable, idsPage.getTotalElements());
+    }
+    
+    /**
+     * Full-text pretraga uz izbor kako se računa ukupan broj (vidi findAll sa totalMode)
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> search(String query, int page, int size, TotalMode totalMode) {
+        if (totalMode == TotalMode.EXACT) {
+            return search(query, page, size);
+        }
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Parametar q (tekst pretrage) je obavezan");
+        }
+        
+        String text = query.trim();
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<Long> idsSlice = eventRepository.searchIdSlice(text, pageable);
+        Slice<EventResponse> slice = new SliceImpl<>(
+                findResponsesInOrder(idsSlice.getContent()), pageable, idsSlice.hasNext());
+        if (totalMode == TotalMode.NONE) {
+            return slice;
+        }
+        return withTotal(slice, eventCountCache.get("search", text, () -> eventRepository.countSearch(text)));
+    }
+    
+    /**
+     * EventResponse projekcija za ID-eve, u istom redosledu (redosled relevantnosti iz pretrage)
+     */
+    private List<EventResponse> findResponsesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // Projekcija ne čuva redosled - vraćamo redosled relevantnosti iz prvog upita
+        Map<Long, EventResponse> byId = eventRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Vraća sve događaje sa keyset (cursor) paginacijom i istim filterima kao findAll
+     * 
+     * Redosled je uvek eventDate ASC, id ASC - sortBy/sortDir se ne koriste u ovom režimu.
+     * Nema COUNT upita, a brzina ne zavisi od toga koliko je stranica klijent već prošao.
+     * 
+     * @param cursor - kursor sa prethodne stranice (null ili prazan za prvu stranicu)
+     * @param size - broj elemenata po stranici
+     * @param filter - filteri (isti kao za findAll)
+     * @return Slice<EventResponse> - stranica sa događajima i informacijom da li postoji sledeća
+     * @throws com.event.exception.InvalidRequestException ako kursor nije ispravan
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findAllAfter(
+            String cursor,
+            int size,
+            EventFilter filter
+    ) {
+        EventCursor after = EventCursor.decode(cursor);
+        
+        List<EventResponse> rows = eventRepository.findResponsesAfter(
+                EventSpecifications.matching(filter), after, size + 1);
+        return toSlice(rows, size);
+    }
+    
+    /**
+     * Vraća događaje određenog korisnika sa keyset paginacijom
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByUserIdAfter(Long userId, String cursor, int size) {
+        EventCursor after = EventCursor.decode(cursor);
+        List<EventResponse> rows = eventRepository.findByCreatedByIdAfter(
+                userId, after.getEventDate(), after.getId(), keysetLimit(size));
+        return toSlice(rows, size);
+    }
+    
+    /**
+     * Vraća događaje sa određenim statusom sa keyset paginacijom
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventResponse> findByStatusAfter(EventStatus status, String cursor, int size) {
+        EventCursor after = EventCursor.decode(cursor);
+        List<EventResponse> rows = eventRepository.findByStatusAfter(
+                status, after.getEventDate(), after.getId(), keysetLimit(size));
+        return toSlice(rows, size);
+    }
+    
+    /**
+     * Vraća buduće objavljene događaje sa keyset paginacijom (iz UpcomingEventsIndex kada je napunjen)
+     */
+    public Slice<EventResponse> findUpcomingPublishedEventsAfter(String cursor, int size) {
+        EventCursor after = EventCursor.decode(cursor);
+        if (upcomingEventsIndex.isReady()) {
+            return upcomingEventsIndex.sliceAfter(after, size, LocalDateTime.now());
+        }
+        
+        List<EventResponse> rows = eventRepository.findUpcomingAfter(
+                EventStatus.PUBLISHED, LocalDateTime.now(),
+                after.getEventDate(), after.getId(), keysetLimit(size));
+        return toSlice(rows, size);
+    }
+    
+    /**
+     * Promene posle kursora - inkrementalna sinhronizacija (GET /api/events/changes)
+     * 
+     * Vraća kreirane/izmenjene događaje i obrisane (tombstone-i), redom kojim su transakcije upisale
+     * promene (change_xid, change_seq). Klijent tako preuzima samo razliku od prethodne sinhronizacije,
+     * umesto svih stranica liste.
+     * 
+     * updated_at nije redosled commit-a (postavlja se pre commit-a, a transakcija može da traje), pa
+     * kursor po vremenu može da preskoči promenu koja se commit-uje posle. Zato trigger u istoj
+     * transakciji upisuje xid i redni broj promene, a vraćaju se samo promene transakcija starijih
+     * od najstarije koja je još u toku - iza kursora se više ne može pojaviti nova promena.
+     * 
+     * Čita se sa primarne baze: replika koja kasni nema najnovije promene, a ni njen snapshot
+     * ne govori koje su transakcije na primarnoj bazi još u toku.
+     * 
+     * @param since - kursor iz prethodnog odgovora (null ili prazan - prva, potpuna sinhronizacija)
+     * @param size - najviše promena u odgovoru
+     * @return izmene, brisanja i kursor za sledeći poziv
+     * @throws InvalidRequestException ako kursor ili size nisu ispravni
+     * @throws CursorExpiredException ako je kursor stariji od sačuvanih tombstone-a
+     */
+    @Transactional(readOnly = true)
+    public EventSyncResponse findChangesSince(String since, int size) {
+        if (size < 1 || size > syncMaxSize) {
+            throw new InvalidRequestException("size mora biti između 1 i " + syncMaxSize);
+        }
+        ChangeCursor after = ChangeCursor.decode(since);
+        LocalDateTime now = LocalDateTime.now();
+        if (!after.equals(ChangeCursor.START) && after.getChangedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new CursorExpiredException(
+                    "Kursor je stariji od " + tombstoneRetention + " - potrebna je ponovna sinhronizacija od početka");
+        }
+        
+        List<SyncChange> changes = ReadRoutingContext.callOnPrimary(
+                () -> eventRepository.findChangesAfter(after, size + 1));
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        
+        List<EventResponse> updated = new ArrayList<>();
+        List<EventSyncResponse.DeletedEvent> deleted = new ArrayList<>();
+        for (SyncChange change : changes) {
+            if (change.deleted()) {
+                deleted.add(new EventSyncResponse.DeletedEvent(change.id(), change.createdById(), change.changedAt()));
+            } else {
+                updated.add(change.event());
+            }
+        }
+        
+        SyncChange last = changes.isEmpty() ? null : changes.get(changes.size() - 1);
+        ChangeCursor next = last == null
+                ? after
+                : new ChangeCursor(last.changeXid(), last.changeSeq(), last.changedAt());
+        return EventSyncResponse.builder()
+                .updated(updated)
+                .deleted(deleted)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Briše tombstone-e starije od event.sync.tombstone-retention
+     * 
+     * Klijent sa starijim kursorom ionako dobija 410 (findChangesSince), pa mu ti tombstone-i ne trebaju.
+     */
+    @Scheduled(fixedDelayString = "${event.sync.purge-interval:PT1H}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = eventTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Obrisano {} tombstone-a starijih od {}", purged, tombstoneRetention);
+        }
+    }
+    
+    /**
+     * Izvozi sve događaje koji zadovoljavaju filtere (isti kao za findAll), jedan po jedan
+     * 
+     * Čita se kroz JDBC kursor (exportFetchSize redova odjednom), bez OFFSET i COUNT upita.
+     * Svaki događaj se odmah predaje consumer-u i ne čuva se, pa memorija ne zavisi od broja događaja.
+     * Redosled je po id-u.
+     * 
+     * Transakcija (readOnly) je potrebna jer PostgreSQL drajver koristi kursor samo kada autocommit nije uključen.
+     * 
+     * @param filter - filteri (svi opcioni)
+     * @param consumer - prima svaki događaj (npr. EventExportWriter::write)
+     */
+    @Transactional(readOnly = true)
+    public void export(EventFilter filter, Consumer<EventResponse> consumer) {
+        eventRepository.scroll(EventSpecifications.matching(filter), exportFetchSize,
+                event -> consumer.accept(EventResponse.from(event)));
+    }
+    
+    /**
+     * Bean Validation jedne stavke (iste anotacije kao za @Valid EventRequest)
+     * 
+     * @return poruke u obliku "polje: poruka" (prazna lista ako je stavka ispravna)
+     */
+    private List<String> validate(EventRequest request) {
+        List<String> messages = new ArrayList<>();
+        if (request == null) {
+            messages.add("Stavka je prazna");
+            return messages;
+        }
+        for (ConstraintViolation<EventRequest> violation : validator.validate(request)) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        messages.sort(null);
+        return messages;
+    }
+    
+    /**
+     * Čitamo jedan red više od veličine stranice - ako on postoji, postoji i sledeća stranica
+     * (tako izbegavamo COUNT upit)
+     */
+    private Pageable keysetLimit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+    
+    /**
+     * Pretvara size + 1 pročitanih redova u Slice sa najviše size elemenata
+     */
+    private Slice<EventResponse> toSlice(List<EventResponse> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<EventResponse> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+    
+    /**
+     * Pageable sa sortiranjem iz query parametara (sortBy, sortDir)
+     */
+    private static Pageable sortedPageable(int page, int size, String sortBy, String sortDir) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") 
+                ? Sort.by(sortBy).descending() 
+                : Sort.by(sortBy).ascending();
+        return PageRequest.of(page, size, sort);
+    }
+    
+    /**
+     * Ukupan broj iz validatora liste (osim za totalMode none)
+     */
+    private static Slice<EventResponse> withListTotal(Slice<EventResponse> slice, TotalMode totalMode,
+                                                      EventListVersion listVersion) {
+        return totalMode == TotalMode.NONE ? slice : withTotal(slice, listVersion.getCount());
+    }
+    
+    /**
+     * Page od Slice-a i ukupnog broja koji nije izračunat COUNT-om (procena ili brojač)
+     * 
+     * Broj se usklađuje sa onim što je stvarno pročitano: ako postoji sledeća stranica, ukupno je
+     * bar jedan više od pročitanih; ako ne postoji, ukupan broj je tačno poznat.
+     * Tako su last i totalPages uvek u skladu sa hasNext.
+     */
+    private static Page<EventResponse> withTotal(Slice<EventResponse> slice, long knownTotal) {
+        long read = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(knownTotal, read + 1);
+        } else if (slice.hasContent()) {
+            total = read;
+        } else {
+            total = Math.min(knownTotal, read);
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
     }
 }
@@ -0,0 +1,132 @@
+package com.event.service;
+
+import com.event.cache.EventCounters;
+import com.event.cache.EventResponseCache;
+import com.event.cache.UpcomingEventsIndex;
+import com.event.dto.EventFilter;
+import com.event.dto.EventResponse;
+import com.event.dto.PageResponse;
+import com.event.dto.TotalMode;
+import com.event.exception.ResourceNotFoundException;
+import com.event.model.Event.EventStatus;
+import com.event.repository.ReactiveEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ReactiveEventService - neblokirajuće čitanje događaja (/api/reactive/events)
+ * 
+ * Isti odgovori kao EventService (EventResponse, PageResponse), ali kao Mono/Flux preko R2DBC-a.
+ * Ukupan broj je uvek tačan (kao totalMode=exact u blokirajućem API-ju).
+ * Nema @Transactional - svako čitanje je jedan upit (autocommit), a stranica i COUNT se
+ * izvršavaju istovremeno (Mono.zip) na dve R2DBC konekcije.
+ * 
+ * In-memory strukture se koriste kao i u EventService (one ne blokiraju):
+ * - EventResponseCache za događaj po ID-u (samo čitanje - keš puni blokirajući endpoint)
+ * - UpcomingEventsIndex za buduće događaje, kada je napunjen
+ * - EventCounters za ukupan broj po statusu, kada su napunjeni
+ */
+@Service
+@ConditionalOnProperty(name = "event.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveEventService {
+    
+    private final ReactiveEventRepository reactiveEventRepository;
+    private final EventResponseCache eventResponseCache;
+    private final UpcomingEventsIndex upcomingEventsIndex;
+    private final EventCounters eventCounters;
+    
+    /**
+     * Broj redova koje drajver traži od baze odjednom pri strimovanju
+     */
+    @Value("${event.reactive.fetch-size:250}")
+    private int streamFetchSize;
+    
+    /**
+     * Događaj po ID-u - iz keša ako je tamo, inače iz baze
+     * 
+     * @throws ResourceNotFoundException (kao Mono.error) ako događaj ne postoji
+     */
+    public Mono<EventResponse> findResponseById(Long id) {
+        return Mono.justOrEmpty(eventResponseCache.getIfPresent(id))
+                .switchIfEmpty(Mono.defer(() -> reactiveEventRepository.findResponseById(id)))
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException("Događaj sa ID-om " + id + " nije pronađen")));
+    }
+    
+    /**
+     * Stranica događaja sa filterima i sortiranjem (kao EventService.findAll)
+     */
+    public Mono<PageResponse<EventResponse>> findAll(int page, int size, String sortBy, String sortDir,
+                                                     EventFilter filter) {
+        Pageable pageable = PageRequest.of(page, size);
+        return toPage(
+                reactiveEventRepository.findResponses(filter, sortBy, sortDir, size, pageable.getOffset()),
+                reactiveEventRepository.count(filter),
+                pageable)
+                .map(events -> PageResponse.from(events, TotalMode.EXACT));
+    }
+    
+    /**
+     * Stranica događaja sa statusom - ukupan broj iz EventCounters-a kada su napunjeni (bez COUNT upita)
+     */
+    public Mono<PageResponse<EventResponse>> findByStatus(EventStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        EventFilter filter = EventFilter.builder().status(status).build();
+        Mono<Long> total = eventCounters.isReady()
+                ? Mono.fromSupplier(() -> eventCounters.countByStatus(status))
+                : reactiveEventRepository.count(filter);
+        return toPage(
+                reactiveEventRepository.findResponses(filter, "id", "asc", size, pageable.getOffset()),
+                total,
+                pageable)
+                .map(events -> PageResponse.from(events, TotalMode.EXACT));
+    }
+    
+    /**
+     * Budući objavljeni događaji - iz UpcomingEventsIndex-a kada je napunjen, inače iz baze
+     */
+    public Mono<PageResponse<EventResponse>> findUpcomingPublishedEvents(int page, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        if (upcomingEventsIndex.isReady()) {
+            return Mono.fromSupplier(() -> PageResponse.from(upcomingEventsIndex.page(page, size, now)));
+        }
+        
+        Pageable pageable = PageRequest.of(page, size);
+        return toPage(
+                reactiveEventRepository.findUpcomingResponses(EventStatus.PUBLISHED, now, size, pageable.getOffset()),
+                reactiveEventRepository.countUpcoming(EventStatus.PUBLISHED, now),
+                pageable)
+                .map(PageResponse::from);
+    }
+    
+    /**
+     * Svi događaji sa filterima kao tok (Flux) - elementi se čitaju iz baze onoliko brzo koliko ih
+     * klijent preuzima (vidi ReactiveEventRepository.streamResponses)
+     */
+    public Flux<EventResponse> streamAll(EventFilter filter) {
+        return reactiveEventRepository.streamResponses(filter, streamFetchSize);
+    }
+    
+    /**
+     * Sadržaj stranice i ukupan broj se čitaju istovremeno, pa se spajaju u Page
+     */
+    private static Mono<Page<EventResponse>> toPage(Flux<EventResponse> content, Mono<Long> total,
+                                                    Pageable pageable) {
+        Mono<List<EventResponse>> list = content.collectList();
+        return Mono.zip(list, total)
+                .<Page<EventResponse>>map(pageAndTotal ->
+                        new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.event.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * UserDeletedEvent - Spring aplikacioni događaj koji UserService objavljuje kada obriše korisnika
+ * 
+ * Kao i EventChangedEvent, slušaoci sa @TransactionalEventListener(phase = AFTER_COMMIT)
+ * ga dobijaju tek posle commit-a (npr. CacheInvalidationBus, da ostali čvorovi izbace
+ * keširane podatke o korisniku).
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UserDeletedEvent {
+    
+    private final Long userId;
+}
@@ -1,12 +1,27 @@
 package com.event.service;
 
+import com.event.dto.BatchResult;
+import com.event.exception.InvalidRequestException;
 import com.event.exception.ResourceAlreadyExistsException;
+import com.event.export.DataFormat;
 import com.event.model.User;
+import com.event.repository.UserImportRepository;
 import com.event.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +48,16 @@ public class UserService {
      */
     private final UserRepository userRepository;
     
+    private final UserImportRepository userImportRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Najviše grešaka koje se vraćaju u odgovoru uvoza (ostale se samo broje)
+     */
+    @Value("${user.import.max-reported-errors:1000}")
+    private int importMaxReportedErrors;
+    
     /**
      * Pronalazi korisnika po ID-u
      * 
@@ -105,10 +130,13 @@ public class UserService {
     
     /**
      * Briše korisnika po ID-u
+     * 
+     * Posle commit-a (UserDeletedEvent) keševi na svim čvorovima izbacuju podatke o korisniku.
      */
     @Transactional
     public void deleteById(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
     
     /**
@@ -132,4 +160,79 @@ public class UserService {
         
         return userRepository.save(user);
     }
+    
+    /**
+     * Masovni uvoz korisnika (POST /api/users/import) kroz PostgreSQL COPY
+     * 
+     * Umesto dva "exists" upita i jednog INSERT-a po korisniku (kao createUser),
+     * ceo uvoz su četiri naredbe bez obzira na broj redova:
+     * COPY u privremenu tabelu, UPDATE koji označava neispravne redove i duplikate,
+     * INSERT ... SELECT ispravnih redova i SELECT prvih grešaka.
+     * 
+     * Neispravni redovi i duplikati (username/email koji već postoji ili se ponavlja u uvozu)
+     * se preskaču i prijavljuju, a ostali se sačuvaju.
+     * 
+     * @param body - CSV (zaglavlje + username,email,password,role) ili NDJSON (jedan UserRequest JSON po redu)
+     * @param format - format tela zahteva
+     * @return BatchResult - broj primljenih, dodatih i odbijenih redova i prve greške
+     * @throws InvalidRequestException ako CSV ne može da se pročita (npr. pogrešan broj kolona)
+     */
+    @Transactional
+    public BatchResult importUsers(InputStream body, DataFormat format) {
+        userImportRepository.createStagingTable();
+        
+        try {
+            if (format == DataFormat.CSV) {
+                userImportRepository.copyCsv(body);
+            } else {
+                userImportRepository.copyRows(ndjsonRows(body));
+            }
+        } catch (DataAccessException e) {
+            throw new InvalidRequestException("Neispravan sadržaj uvoza: " + e.getMostSpecificCause().getMessage());
+        }
+        
+        long received = userImportRepository.countStaged();
+        int rejected = userImportRepository.markRejected();
+        int created = userImportRepository.insertAccepted();
+        
+        return BatchResult.builder()
+                .received((int) received)
+                .created(created)
+                .rejected((int) received - created)
+                .errors(rejected > 0 ? userImportRepository.findRejected(importMaxReportedErrors) : List.of())
+                .build();
+    }
+    
+    /**
+     * Čita NDJSON red po red i pretvara svaki u (username, email, password, role)
+     * 
+     * Red koji nije ispravan JSON postaje red sa praznim poljima - odbija ga provera u bazi,
+     * pa redni brojevi grešaka ostaju tačni. Prazni redovi se preskaču.
+     */
+    private Iterator<String[]> ndjsonRows(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::toRow)
+                .iterator();
+    }
+    
+    private String[] toRow(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return new String[] {
+                    text(node, "username"),
+                    text(node, "email"),
+                    text(node, "password"),
+                    text(node, "role")
+            };
+        } catch (JsonProcessingException e) {
+            return new String[4];
+        }
+    }
+    
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
 }
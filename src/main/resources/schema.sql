@@ -0,0 +1,70 @@
+-- =====================================================================
+-- Dodatna šema koju Hibernate (ddl-auto: update) ne ume da napravi
+--
+-- Izvršava se pri svakom pokretanju, POSLE Hibernate-a
+-- (spring.jpa.defer-datasource-initialization: true), pa tabele već postoje.
+-- Zato svaka naredba mora biti idempotentna (IF NOT EXISTS).
+-- =====================================================================
+
+-- pg_trgm - trigram indeksi za pretragu po delu teksta (LIKE '%tekst%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Filteri title i location se izvršavaju kao lower(kolona) LIKE '%tekst%' (EventSpecifications).
+-- Običan B-tree indeks ne pomaže kod LIKE sa % na početku, ali GIN trigram indeks na
+-- istom izrazu (lower(kolona)) pomaže - i za upit sa podacima i za COUNT upit.
+CREATE INDEX IF NOT EXISTS idx_events_title_trgm ON events USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_location_trgm ON events USING gin (lower(location) gin_trgm_ops);
+
+-- Full-text pretraga (GET /api/events/search)
+-- search_vector je generisana kolona - PostgreSQL je sam ažurira pri svakom INSERT/UPDATE,
+-- pa je Hibernate ne mapira i ne upisuje. Naslov ima veću težinu (A) od opisa (B) pri rangiranju.
+-- 'simple' konfiguracija - bez stemovanja (PostgreSQL nema ugrađen srpski rečnik).
+-- Napomena: prvo dodavanje kolone prepisuje celu tabelu (jednokratno).
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING gin (search_vector);
+
+-- ID događaja se od sada dodeljuju iz sekvence events_seq (Event.id, allocationSize = 50).
+-- Hibernate pravi sekvencu od 1, a postojeći redovi su dobili ID-eve iz IDENTITY kolone,
+-- pa sekvencu pomeramo iza najvećeg postojećeg ID-a (samo unapred, nikad unazad).
+SELECT setval('events_seq', GREATEST(
+    (SELECT last_value FROM events_seq),
+    (SELECT coalesce(max(id), 0) FROM events) + 50
+));
+
+-- Validator liste (MAX(updated_at)) i tombstone-i sinhronizacije koriste updated_at - red bez njega
+-- (npr. upisan mimo aplikacije) dobija vreme kreiranja.
+UPDATE events SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- Inkrementalna sinhronizacija (GET /api/events/changes) čita promene po redosledu upisa, ne po updated_at
+-- (vreme se postavlja pre commit-a, pa dugačka transakcija može da završi iza kursora koji je klijent
+-- već dobio). Trigger u istoj transakciji upisuje xid transakcije i redni broj promene za svaki
+-- INSERT/UPDATE događaja i svaki tombstone - važi za sve puteve upisa (JPA, batch INSERT, native UPDATE).
+-- Telo funkcije je u običnim navodnicima ('...'), jer skripta deli naredbe po ';' van navodnika.
+CREATE SEQUENCE IF NOT EXISTS event_change_seq;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS change_xid bigint;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS change_seq bigint;
+ALTER TABLE event_tombstones ADD COLUMN IF NOT EXISTS change_xid bigint;
+ALTER TABLE event_tombstones ADD COLUMN IF NOT EXISTS change_seq bigint;
+CREATE OR REPLACE FUNCTION stamp_event_change() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    NEW.change_seq := nextval(''event_change_seq'');
+    RETURN NEW;
+END';
+CREATE OR REPLACE TRIGGER events_change_stamp BEFORE INSERT OR UPDATE ON events
+    FOR EACH ROW EXECUTE FUNCTION stamp_event_change();
+CREATE OR REPLACE TRIGGER event_tombstones_change_stamp BEFORE INSERT ON event_tombstones
+    FOR EACH ROW EXECUTE FUNCTION stamp_event_change();
+-- Postojeći redovi (pre trigger-a) dobijaju poziciju jednom, pri prvom pokretanju
+UPDATE events SET change_seq = nextval('event_change_seq') WHERE change_seq IS NULL;
+UPDATE event_tombstones
+SET change_xid = pg_current_xact_id()::text::bigint, change_seq = nextval('event_change_seq')
+WHERE change_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_events_change ON events (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS idx_event_tombstones_change ON event_tombstones (change_xid, change_seq);
+-- Raniji kursor sinhronizacije po (updated_at, id) - indeks više ništa ne koristi
+DROP INDEX IF EXISTS idx_events_updated_at_id;
@@ -0,0 +1,201 @@
+package com.event.cache;
+
+import com.event.cache.CacheInvalidationBus.Invalidation;
+import com.event.dto.EventResponse;
+import com.event.notify.PostgresListener;
+import com.event.notify.PostgresNotifier;
+import com.event.service.EventChangedEvent;
+import com.event.service.EventChangedEvent.ChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheInvalidationBusTest - unit testovi za slanje i primenu invalidacija (bez baze)
+ *
+ * NOTIFY i LISTEN su mock-ovi - poruka koju bus pošalje se ručno predaje onNotification,
+ * kao da je stigla sa drugog čvora. Primena ide na posebnoj niti, pa provere čekaju (timeout).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheInvalidationBus Unit Tests")
+class CacheInvalidationBusTest {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    @Mock
+    private PostgresNotifier notifier;
+
+    @Mock
+    private PostgresListener listener;
+
+    @Mock
+    private EventResponseCache eventResponseCache;
+
+    @Mock
+    private EventCountCache eventCountCache;
+
+    @Mock
+    private UpcomingEventsIndex upcomingEventsIndex;
+
+    @Mock
+    private EventCounters eventCounters;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = bus(200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Izmena van transakcije treba odmah da se pošalje sa verzijom posle izmene")
+    void onEventChanged_ShouldSendVersionedInvalidation() throws Exception {
+        // Arrange
+        EventResponse updated = EventResponse.builder().id(7L).version(3L).build();
+
+        // Act
+        bus.onEventChanged(new EventChangedEvent(7L, ChangeType.UPDATED, updated, null));
+
+        // Assert
+        Invalidation sent = sentInvalidation();
+        assertFalse(sent.flush());
+        assertEquals(Map.of(7L, 3L), sent.events());
+    }
+
+    @Test
+    @DisplayName("Izmene jedne transakcije treba da se pošalju kao jedna poruka posle commit-a")
+    void onEventChanged_InTransaction_ShouldSendOneMessageAfterCommit() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        for (long id = 1; id <= 3; id++) {
+            EventResponse created = EventResponse.builder().id(id).version(0L).build();
+            bus.onEventChanged(new EventChangedEvent(id, ChangeType.CREATED, created, null));
+        }
+        verify(notifier, never()).send(anyString(), anyString());
+        commit();
+
+        // Assert
+        Invalidation sent = sentInvalidation();
+        assertEquals(Set.of(1L, 2L, 3L), sent.events().keySet());
+        assertNull(TransactionSynchronizationManager.getResource(bus));
+    }
+
+    @Test
+    @DisplayName("Transakcija sa više izmena od max-keys treba da pošalje flush umesto id-eva")
+    void onEventChanged_OverMaxKeys_ShouldSendFlush() throws Exception {
+        // Arrange
+        bus.shutdown();
+        bus = bus(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        for (long id = 1; id <= 3; id++) {
+            bus.onEventChanged(new EventChangedEvent(id, ChangeType.DELETED, null, null));
+        }
+        commit();
+
+        // Assert
+        Invalidation sent = sentInvalidation();
+        assertTrue(sent.flush());
+        assertTrue(sent.events().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Poruka sa drugog čvora treba da se primeni, a sopstvena preskoči")
+    void onNotification_ShouldApplyOnlyRemoteInvalidations() throws Exception {
+        // Arrange - sopstvena poruka (ista kao ona koju je bus poslao)
+        bus.onEventChanged(new EventChangedEvent(7L, ChangeType.DELETED, null, null));
+        ArgumentCaptor<String> own = ArgumentCaptor.forClass(String.class);
+        verify(notifier).send(eq(CHANNEL), own.capture());
+        String remote = objectMapper.writeValueAsString(
+                new Invalidation("drugi-cvor", Map.of(8L, 2L), Set.of(5L), false));
+
+        // Act
+        bus.onNotification(own.getValue());
+        bus.onNotification(remote);
+
+        // Assert - poruke se primenjuju redom, pa je sopstvena (da nije preskočena) već primenjena
+        verify(eventResponseCache, timeout(5000)).invalidate(8L, 2L);
+        verify(upcomingEventsIndex, timeout(5000)).refresh(8L);
+        verify(upcomingEventsIndex, timeout(5000)).removeCreatedBy(5L);
+        verify(eventResponseCache, never()).invalidate(eq(7L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Flush poruka sa drugog čvora (npr. posle punog reda za slanje) treba da isprazni keševe")
+    void onNotification_WhenFlush_ShouldInvalidateAllCaches() throws Exception {
+        // Arrange
+        String remote = objectMapper.writeValueAsString(new Invalidation("drugi-cvor", null, null, true));
+
+        // Act
+        bus.onNotification(remote);
+
+        // Assert
+        verify(eventResponseCache, timeout(5000)).invalidateAll();
+        verify(upcomingEventsIndex, timeout(5000)).reload();
+    }
+
+    @Test
+    @DisplayName("Posle ponovnog povezivanja svi keševi treba da se isprazne i ponovo napune")
+    void flush_ShouldInvalidateAllCaches() {
+        // Arrange
+        when(eventCounters.isReady()).thenReturn(true);
+
+        // Act
+        bus.flush();
+
+        // Assert
+        verify(eventResponseCache).invalidateAll();
+        verify(eventCountCache).invalidateAll();
+        verify(upcomingEventsIndex).reload();
+        verify(eventCounters).reconcile();
+    }
+
+    private CacheInvalidationBus bus(int maxKeys) {
+        return new CacheInvalidationBus(notifier, listener, objectMapper, eventResponseCache, eventCountCache,
+                upcomingEventsIndex, eventCounters, new SimpleMeterRegistry(), CHANNEL, maxKeys);
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private Invalidation sentInvalidation() throws Exception {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(notifier).send(eq(CHANNEL), payload.capture());
+        return objectMapper.readValue(payload.getValue(), Invalidation.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.event.cache;
+
+import com.event.datasource.ReadRoutingContext;
+import com.event.dto.EventResponse;
+import com.event.model.Event.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.service.EventChangedEvent;
+import com.event.service.EventChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * EventCountersTest - unit testovi za brojače po statusu i kreatoru
+ */
+@DisplayName("EventCounters Unit Tests")
+class EventCountersTest {
+
+    private EventRepository eventRepository;
+    private EventCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.countGroupedByStatus()).thenReturn(List.of(
+                new Object[]{EventStatus.DRAFT, 3L},
+                new Object[]{EventStatus.PUBLISHED, 5L}));
+        when(eventRepository.countGroupedByCreator()).thenReturn(List.of(
+                new Object[]{1L, 6L},
+                new Object[]{2L, 2L}));
+
+        counters = new EventCounters(eventRepository, true);
+        counters.load();
+    }
+
+    @Test
+    @DisplayName("Pri pokretanju treba da preuzme brojeve iz baze")
+    void load_ShouldCopyCountsFromDatabase() {
+        assertTrue(counters.isReady());
+        assertEquals(8, counters.total());
+        assertEquals(5, counters.countByStatus(EventStatus.PUBLISHED));
+        assertEquals(0, counters.countByStatus(EventStatus.CANCELLED));
+        assertEquals(6, counters.countByCreator(1L));
+        assertEquals(0, counters.countByCreator(99L));
+    }
+
+    @Test
+    @DisplayName("Promena statusa treba da prebaci događaj sa starog na novi status")
+    void onEventChanged_ShouldMoveBetweenStatuses() {
+        // Act
+        counters.onEventChanged(new EventChangedEvent(10L, ChangeType.STATUS_CHANGED,
+                event(EventStatus.PUBLISHED, 1L), event(EventStatus.DRAFT, 1L)));
+
+        // Assert
+        assertEquals(2, counters.countByStatus(EventStatus.DRAFT));
+        assertEquals(6, counters.countByStatus(EventStatus.PUBLISHED));
+        assertEquals(6, counters.countByCreator(1L));
+        assertEquals(8, counters.total());
+    }
+
+    @Test
+    @DisplayName("Kreiranje i brisanje treba da povećaju i smanje brojače")
+    void onEventChanged_ShouldCountCreatesAndDeletes() {
+        // Act
+        counters.onEventChanged(new EventChangedEvent(11L, ChangeType.CREATED, event(EventStatus.DRAFT, 3L), null));
+        counters.onEventChanged(new EventChangedEvent(12L, ChangeType.DELETED, null, event(EventStatus.PUBLISHED, 2L)));
+
+        // Assert
+        assertEquals(4, counters.countByStatus(EventStatus.DRAFT));
+        assertEquals(4, counters.countByStatus(EventStatus.PUBLISHED));
+        assertEquals(1, counters.countByCreator(3L));
+        assertEquals(1, counters.countByCreator(2L));
+    }
+
+    @Test
+    @DisplayName("Usklađivanje treba da ispravi odstupanje od baze")
+    void reconcile_ShouldCorrectDrift() {
+        // Arrange - izmena koja nije stigla kroz EventChangedEvent (npr. direktno u bazi)
+        counters.onEventChanged(new EventChangedEvent(13L, ChangeType.CREATED, event(EventStatus.DRAFT, 2L), null));
+        when(eventRepository.countGroupedByCreator()).thenReturn(List.<Object[]>of(new Object[]{1L, 8L}));
+
+        // Act
+        counters.reconcile();
+
+        // Assert
+        assertEquals(3, counters.countByStatus(EventStatus.DRAFT));
+        assertEquals(8, counters.countByCreator(1L));
+        assertEquals(0, counters.countByCreator(2L));
+        assertNotNull(counters.stats(1L).getReconciledAt());
+        assertEquals(8, counters.stats(1L).getUserEvents());
+    }
+
+    @Test
+    @DisplayName("Usklađivanje treba da čita sa primarne baze (ne sa replike koja kasni)")
+    void reconcile_ShouldReadFromPrimary() {
+        // Arrange
+        AtomicBoolean pinned = new AtomicBoolean();
+        when(eventRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            pinned.set(ReadRoutingContext.isPinnedToPrimary());
+            return List.of();
+        });
+
+        // Act
+        counters.reconcile();
+
+        // Assert
+        assertTrue(pinned.get());
+        assertFalse(ReadRoutingContext.isPinnedToPrimary(), "Posle usklađivanja nit više nije vezana za primarnu bazu");
+    }
+
+    private EventResponse event(EventStatus status, Long creatorId) {
+        return EventResponse.builder().status(status).createdById(creatorId).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.event.cache;
+
+import com.event.dto.EventResponse;
+import com.event.service.EventChangedEvent;
+import com.event.service.EventChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventResponseCacheTest - unit testovi za read-through keš događaja
+ */
+@DisplayName("EventResponseCache Unit Tests")
+class EventResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventResponseCache cache;
+    private AtomicInteger loads;
+    private Function<Long, EventResponse> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EventResponseCache(100, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return EventResponse.builder().id(id).title("Događaj " + id).build();
+        };
+    }
+
+    @Test
+    @DisplayName("Drugo čitanje treba da dođe iz keša, bez učitavanja iz baze")
+    void get_ShouldLoadOnlyOnce() {
+        // Act
+        EventResponse first = cache.get(1L, loader);
+        EventResponse second = cache.get(1L, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get(), "Loader treba da se pozove samo jednom");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Posle izmene događaja keš treba ponovo da ga učita")
+    void onEventChanged_ShouldInvalidate() {
+        // Arrange
+        cache.get(1L, loader);
+
+        // Act
+        cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, null, null));
+        cache.get(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Invalidacija starije verzije ne treba da izbaci noviji unos")
+    void invalidate_WhenCachedVersionIsNewer_ShouldKeepEntry() {
+        // Arrange
+        cache.get(1L, id -> EventResponse.builder().id(id).version(5L).build());
+
+        // Act - invalidacija verzije 4 stiže posle izmene na verziju 5
+        cache.invalidate(1L, 4L);
+
+        // Assert
+        assertEquals(5L, cache.getIfPresent(1L).getVersion());
+    }
+
+    @Test
+    @DisplayName("Unos stariji od invalidirane verzije (npr. sa replike koja kasni) ne treba da se pamti")
+    void get_WhenLoadedVersionIsOlderThanInvalidated_ShouldNotCache() {
+        // Arrange
+        cache.invalidate(1L, 6L);
+
+        // Act
+        EventResponse stale = cache.get(1L, id -> EventResponse.builder().id(id).version(5L).build());
+
+        // Assert
+        assertEquals(5L, stale.getVersion(), "Pozivalac i dalje dobija učitan događaj");
+        assertNull(cache.getIfPresent(1L));
+        assertNotNull(cache.get(1L, id -> EventResponse.builder().id(id).version(6L).build()));
+        assertEquals(6L, cache.getIfPresent(1L).getVersion());
+    }
+
+    @Test
+    @DisplayName("Nepostojeći događaj (null) ne treba da se pamti")
+    void get_WhenLoaderReturnsNull_ShouldNotCache() {
+        // Act
+        EventResponse result = cache.get(99L, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        EventResponse next = cache.get(99L, loader);
+
+        // Assert
+        assertNull(result);
+        assertEquals(99L, next.getId());
+        assertEquals(2, loads.get(), "Sledeće čitanje treba ponovo da pozove loader");
+    }
+}
@@ -0,0 +1,138 @@
+package com.event.cache;
+
+import com.event.dto.EventResponse;
+import com.event.model.Event.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.service.EventChangedEvent;
+import com.event.service.EventChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * UpcomingEventsIndexTest - unit testovi za redosled izmena i ukupan broj u indeksu
+ *
+ * Repozitorijum je mock bez podataka - indeks je prazan posle load() i puni se samo izmenama.
+ * Testovi punjenja imaju svoj mock koji tokom čitanja primeni izmenu (kao AFTER_COMMIT slušalac).
+ */
+@DisplayName("UpcomingEventsIndex Unit Tests")
+class UpcomingEventsIndexTest {
+
+    private UpcomingEventsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UpcomingEventsIndex(mock(EventRepository.class), true);
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Stariji snimak posle novijeg ne treba da promeni indeks")
+    void onEventChanged_WhenOlderVersionArrivesLate_ShouldKeepNewer() {
+        // Arrange
+        EventResponse published = event(1L, EventStatus.PUBLISHED, 2L);
+        EventResponse draft = event(1L, EventStatus.DRAFT, 1L);
+
+        // Act - verzija 2 (objavljen) stiže pre verzije 1 (nacrt)
+        index.onEventChanged(new EventChangedEvent(1L, ChangeType.STATUS_CHANGED, published, null));
+        index.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, draft, null));
+
+        // Assert
+        assertEquals(1, index.page(0, 10, LocalDateTime.now()).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Obrisan događaj ne treba da se vrati zakasnelim snimkom")
+    void onEventChanged_AfterDelete_ShouldIgnoreOlderSnapshot() {
+        // Arrange
+        index.onEventChanged(new EventChangedEvent(1L, ChangeType.CREATED, event(1L, EventStatus.PUBLISHED, 0L), null));
+
+        // Act
+        index.onEventChanged(new EventChangedEvent(1L, ChangeType.DELETED, null, null));
+        index.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, event(1L, EventStatus.PUBLISHED, 1L), null));
+
+        // Assert
+        assertEquals(0, index.page(0, 10, LocalDateTime.now()).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Ukupan broj treba da prati dodavanja, pomeranja i uklanjanja")
+    void page_ShouldReturnMaintainedTotal() {
+        // Arrange
+        for (long id = 1; id <= 3; id++) {
+            index.onEventChanged(new EventChangedEvent(id, ChangeType.CREATED, event(id, EventStatus.PUBLISHED, 0L), null));
+        }
+
+        // Act - pomeren datum (isti id) i uklonjen jedan događaj
+        EventResponse moved = event(2L, EventStatus.PUBLISHED, 1L);
+        moved.setEventDate(LocalDateTime.now().plusDays(30));
+        index.onEventChanged(new EventChangedEvent(2L, ChangeType.UPDATED, moved, null));
+        index.onEventChanged(new EventChangedEvent(3L, ChangeType.STATUS_CHANGED, event(3L, EventStatus.CANCELLED, 1L), null));
+
+        // Assert
+        Page<EventResponse> page = index.page(0, 1, LocalDateTime.now());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1L, page.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Punjenje ne treba da vrati događaj čije je brisanje već primenjeno (zastareo snimak)")
+    void load_WhenEventAlreadyDeleted_ShouldNotRestoreStaleRow() {
+        // Arrange - brisanje je primenjeno, a punjenje (npr. reload sa replike koja kasni) čita stari red
+        EventRepository eventRepository = mock(EventRepository.class);
+        UpcomingEventsIndex loading = new UpcomingEventsIndex(eventRepository, true);
+        EventResponse stale = event(1L, EventStatus.PUBLISHED, 0L);
+        when(eventRepository.findUpcomingAfter(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(stale, event(2L, EventStatus.PUBLISHED, 0L)));
+        loading.onEventChanged(new EventChangedEvent(1L, ChangeType.DELETED, null, stale));
+
+        // Act
+        loading.load();
+
+        // Assert
+        Page<EventResponse> page = loading.page(0, 10, LocalDateTime.now());
+        assertEquals(1, page.getTotalElements());
+        assertEquals(2L, page.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Punjenje ne treba da prepiše noviju verziju primenjenu izmenom")
+    void load_WhenNewerVersionApplied_ShouldKeepIt() {
+        // Arrange - izmena pomera događaj (verzija 1) pre nego što punjenje upiše staru verziju 0
+        EventRepository eventRepository = mock(EventRepository.class);
+        UpcomingEventsIndex loading = new UpcomingEventsIndex(eventRepository, true);
+        EventResponse moved = event(1L, EventStatus.PUBLISHED, 1L);
+        moved.setEventDate(LocalDateTime.now().plusDays(30));
+        when(eventRepository.findUpcomingAfter(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            loading.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, moved, null));
+            return List.of(event(1L, EventStatus.PUBLISHED, 0L));
+        });
+
+        // Act
+        loading.load();
+
+        // Assert
+        Page<EventResponse> page = loading.page(0, 10, LocalDateTime.now());
+        assertEquals(1, page.getTotalElements());
+        assertEquals(moved.getEventDate(), page.getContent().get(0).getEventDate());
+    }
+
+    private static EventResponse event(Long id, EventStatus status, Long version) {
+        return EventResponse.builder()
+                .id(id)
+                .status(status)
+                .eventDate(LocalDateTime.now().plusDays(id))
+                .createdById(1L)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,396 @@
+package com.event.controller;
+
+import com.event.cache.EventCounters;
+import com.event.cache.EventResponseCache;
+import com.event.metrics.SqlStatementRecorder;
+import com.event.metrics.StatementLog;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.repository.EventRepository;
+import com.event.repository.EventTombstoneRepository;
+import com.event.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * EventControllerStatementCountTest - tačan broj SQL naredbi po pozivu kontrolera
+ *
+ * Ceo kontekst (@SpringBootTest) sa StatementCountingDataSource-om: SqlStatementRecorder.start()
+ * oko mockMvc.perform(...) broji sve naredbe koje je zahtev izvršio (Hibernate i JdbcTemplate).
+ * Ako izmena doda upit (npr. lazy učitavanje kreatora u EventResponse.from), test pada.
+ *
+ * UpcomingEventsIndex je isključen - punjenje pri pokretanju ne utiče na brojanje.
+ */
+@SpringBootTest(properties = "event.upcoming-index.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EventController - broj SQL naredbi po zahtevu")
+class EventControllerStatementCountTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventResponseCache eventResponseCache;
+
+    @Autowired
+    private EventCounters eventCounters;
+
+    private User creator;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAllInBatch();
+        eventTombstoneRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        eventResponseCache.invalidateAll();
+
+        creator = userRepository.save(User.builder()
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+
+        List<Event> newEvents = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            newEvents.add(Event.builder()
+                    .title("Događaj " + i)
+                    .description("Opis " + i)
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .location("Beograd")
+                    .status(EventStatus.DRAFT)
+                    .createdBy(creator)
+                    .build());
+        }
+        events = eventRepository.saveAll(newEvents);
+
+        // Podaci su upisani mimo EventService-a - brojači se usklađuju ručno
+        eventCounters.reconcile();
+    }
+
+    @Test
+    @DisplayName("GET /api/events/{id} - jedan upit, a drugi poziv nijedan (keš)")
+    void getEventById_ShouldUseOneQueryThenCache() throws Exception {
+        Long id = events.get(0).getId();
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/{id}", id)).andExpect(status().isOk());
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/{id}", id)).andExpect(status().isOk());
+            assertEquals(0, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events/{id} sa If-None-Match - 304 posle jednog malog upita, a iz keša bez upita")
+    void getEventById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        Long id = events.get(0).getId();
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+
+        // Posle običnog GET-a događaj je u kešu - verzija se čita iz njega
+        mockMvc.perform(get("/api/events/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                    .andExpect(status().isNotModified());
+            assertEquals(0, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events - validator liste (COUNT/MAX) + upit za podatke, kreator bez dodatnih upita")
+    void getAllEvents_ShouldUseListVersionAndDataQuery() throws Exception {
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events").param("page", "0").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.totalElements").value(5))
+                    .andExpect(jsonPath("$.content[0].createdByUsername").value("creator"));
+            assertEquals(2, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events sa If-None-Match - 304 samo uz validator liste, a posle izmene 200")
+    void getAllEvents_WithMatchingETag_ShouldReturnNotModifiedUntilChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/api/events").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+
+        mockMvc.perform(patch("/api/events/{id}/status", events.get(4).getId())
+                        .param("status", "PUBLISHED")
+                        .param("userId", creator.getId().toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/events").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/events?totalMode=none - samo upit za stranicu, bez agregata nad celim skupom")
+    void getAllEvents_WithTotalModeNone_ShouldNotRunAggregate() throws Exception {
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events").param("size", "2").param("totalMode", "none"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.content.length()").value(2));
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+            assertTrue(statements.countsByShape().keySet().stream().noneMatch(sql -> sql.contains("count(")),
+                    statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events/user/{userId}?totalMode=estimated - samo upit za podatke, totalElements iz EventCounters-a")
+    void getEventsByUser_WhenEstimated_ShouldTakeTotalFromCounters() throws Exception {
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/user/{userId}", creator.getId()).param("size", "2")
+                            .param("totalMode", "estimated"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(5));
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events/user/{userId} (exact) - upit za podatke i COUNT, ne brojači lokalni za čvor")
+    void getEventsByUser_WhenExact_ShouldCount() throws Exception {
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/user/{userId}", creator.getId()).param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(5));
+            assertEquals(2, statements.total(), statements.countsByShape().toString());
+            assertTrue(statements.countsByShape().keySet().stream().anyMatch(sql -> sql.contains("count(")),
+                    statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/events/user/{userId} sa If-Modified-Since - validator liste + upit za podatke")
+    void getEventsByUser_WhenConditional_ShouldUseListVersion() throws Exception {
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/user/{userId}", creator.getId()).param("size", "2")
+                            .header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 1970 00:00:00 GMT"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.totalElements").value(5));
+            assertEquals(2, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("PATCH /api/events/{id}/status - jedan UPDATE ... RETURNING, bez SELECT-a")
+    void updateEventStatus_ShouldUseSingleUpdate() throws Exception {
+        Long id = events.get(0).getId();
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(patch("/api/events/{id}/status", id)
+                            .param("status", "PUBLISHED")
+                            .param("userId", creator.getId().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("PUBLISHED"))
+                    .andExpect(jsonPath("$.createdByUsername").value("creator"));
+            assertEquals(1, statements.count("with"), statements.countsByShape().toString());
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+
+        // Brojači su pomereni iz starog (RETURNING) u novi status
+        assertEquals(4, eventCounters.countByStatus(EventStatus.DRAFT));
+        assertEquals(1, eventCounters.countByStatus(EventStatus.PUBLISHED));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/events/{id}/status - tuđi događaj: UPDATE bez izmene + provera postojanja, 403")
+    void updateEventStatus_WhenNotOwner_ShouldCheckExistenceOnlyAfterUpdate() throws Exception {
+        Long id = events.get(0).getId();
+        User other = userRepository.save(User.builder()
+                .username("other")
+                .email("other@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(patch("/api/events/{id}/status", id)
+                            .param("status", "PUBLISHED")
+                            .param("userId", other.getId().toString()))
+                    .andExpect(status().isForbidden());
+            assertEquals(1, statements.count("with"), statements.countsByShape().toString());
+            assertEquals(1, statements.count("select"), statements.countsByShape().toString());
+        }
+
+        assertEquals(EventStatus.DRAFT, eventRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/events/{id}/status sa If-Match - tekuća verzija prolazi, zastarela daje 412")
+    void updateEventStatus_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        Long id = events.get(0).getId();
+
+        mockMvc.perform(patch("/api/events/{id}/status", id)
+                        .param("status", "PUBLISHED")
+                        .param("userId", creator.getId().toString())
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // Drugi klijent i dalje ima verziju 0 - UPDATE ne menja red, pa jedan upit za razlog odbijanja
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(patch("/api/events/{id}/status", id)
+                            .param("status", "CANCELLED")
+                            .param("userId", creator.getId().toString())
+                            .header(HttpHeaders.IF_MATCH, "\"0\""))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+            assertEquals(1, statements.count("with"), statements.countsByShape().toString());
+            assertEquals(1, statements.count("select"), statements.countsByShape().toString());
+        }
+
+        assertEquals(EventStatus.PUBLISHED, eventRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/events/{id} - jedna naredba (DELETE ... RETURNING i upis tombstone-a)")
+    void deleteEvent_ShouldUseSingleDelete() throws Exception {
+        Long id = events.get(0).getId();
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(delete("/api/events/{id}", id)
+                            .param("userId", creator.getId().toString()))
+                    .andExpect(status().isNoContent());
+            // WITH deleted AS (DELETE ...) INSERT INTO event_tombstones ...
+            assertEquals(1, statements.count("with"), statements.countsByShape().toString());
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+
+        assertFalse(eventRepository.existsById(id));
+        assertTrue(eventTombstoneRepository.existsById(id));
+        assertEquals(4, eventCounters.countByStatus(EventStatus.DRAFT));
+    }
+
+    @Test
+    @DisplayName("GET /api/events/changes - samo razlika posle kursora (izmene i tombstone-i), jednim upitom")
+    void getChanges_ShouldReturnDeltaInOneQuery() throws Exception {
+        // Prva sinhronizacija - svi događaji
+        String firstSync = mockMvc.perform(get("/api/events/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(5))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstSync, "$.nextCursor");
+
+        Long deletedId = events.get(0).getId();
+        Long changedId = events.get(1).getId();
+        mockMvc.perform(delete("/api/events/{id}", deletedId).param("userId", creator.getId().toString()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(patch("/api/events/{id}/status", changedId)
+                        .param("status", "PUBLISHED")
+                        .param("userId", creator.getId().toString()))
+                .andExpect(status().isOk());
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(get("/api/events/changes").param("since", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated.length()").value(1))
+                    .andExpect(jsonPath("$.updated[0].id").value(changedId))
+                    .andExpect(jsonPath("$.updated[0].status").value("PUBLISHED"))
+                    .andExpect(jsonPath("$.deleted.length()").value(1))
+                    .andExpect(jsonPath("$.deleted[0].id").value(deletedId));
+            assertEquals(1, statements.total(), statements.countsByShape().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - jedan upit za kreatore i jedan JDBC batch INSERT")
+    void createEvents_ShouldInsertInOneBatch() throws Exception {
+        String body = """
+                [
+                  {"title": "Prvi", "eventDate": "2030-01-01T10:00:00", "location": "Niš"},
+                  {"title": "Drugi", "eventDate": "2030-01-02T10:00:00", "location": "Niš"},
+                  {"title": "Treći", "eventDate": "2030-01-03T10:00:00", "location": "Niš"}
+                ]
+                """;
+
+        try (StatementLog statements = SqlStatementRecorder.start()) {
+            mockMvc.perform(post("/api/events/batch")
+                            .param("userId", creator.getId().toString())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.created").value(3));
+            assertEquals(1, statements.count("insert"), statements.countsByShape().toString());
+            long userQueries = statements.countsByShape().entrySet().stream()
+                    .filter(entry -> entry.getKey().contains(" from users "))
+                    .mapToInt(Map.Entry::getValue)
+                    .sum();
+            assertEquals(1, userQueries, statements.countsByShape().toString());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.event.controller;
+
+import com.event.cache.EventCounters;
+import com.event.cache.EventResponseCache;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.repository.EventRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ReactiveEventControllerTest - /api/reactive/events preko R2DBC-a na pravoj bazi
+ *
+ * Isti kontejner služi i JDBC (JPA, upis test podataka) i R2DBC (event.reactive.r2dbc-url).
+ * Reaktivni endpointi vraćaju Mono/Flux, pa MockMvc prvo vidi započet asinhroni zahtev,
+ * a odgovor dobija tek kroz asyncDispatch.
+ *
+ * UpcomingEventsIndex je isključen - /upcoming zaista čita iz baze.
+ */
+@SpringBootTest(properties = "event.upcoming-index.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("ReactiveEventController - neblokirajuće čitanje")
+class ReactiveEventControllerTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("event.reactive.r2dbc-url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventResponseCache eventResponseCache;
+
+    @Autowired
+    private EventCounters eventCounters;
+
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        eventResponseCache.invalidateAll();
+
+        User creator = userRepository.save(User.builder()
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+
+        List<Event> newEvents = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            newEvents.add(Event.builder()
+                    .title("Događaj " + i)
+                    .description("Opis " + i)
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .location(i % 2 == 0 ? "Novi Sad" : "Beograd")
+                    .status(i <= 3 ? EventStatus.PUBLISHED : EventStatus.DRAFT)
+                    .createdBy(creator)
+                    .build());
+        }
+        events = eventRepository.saveAll(newEvents);
+
+        eventCounters.reconcile();
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/events - isti odgovor kao blokirajući GET /api/events")
+    void getAllEvents_ShouldMatchBlockingEndpoint() throws Exception {
+        // Arrange
+        String query = "?page=0&size=2&sortBy=eventDate&sortDir=desc&location=beograd";
+        String expected = mockMvc.perform(get("/api/events" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Act & Assert
+        performAsync(get("/api/reactive/events" + query))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expected, true))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[0].title").value("Događaj 5"));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/events/{id} - događaj, a za nepostojeći ID 404")
+    void getEventById_ShouldReturnEventOrNotFound() throws Exception {
+        Long id = events.get(0).getId();
+
+        performAsync(get("/api/reactive/events/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.createdByUsername").value("creator"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        performAsync(get("/api/reactive/events/{id}", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/events/status/{status} i /upcoming - stranice sa ukupnim brojem")
+    void statusAndUpcoming_ShouldReturnPages() throws Exception {
+        performAsync(get("/api/reactive/events/status/{status}", EventStatus.DRAFT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content.length()").value(2));
+
+        performAsync(get("/api/reactive/events/upcoming").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Događaj 1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/events sa nepodržanim sortBy - 400")
+    void getAllEvents_WithUnknownSortField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/reactive/events").param("sortBy", "description; DROP TABLE events"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/events/stream - NDJSON, jedan događaj po liniji, sortirano po ID-u")
+    void streamEvents_ShouldWriteOneEventPerLine() throws Exception {
+        // Act
+        String body = performAsync(get("/api/reactive/events/stream").param("status", "PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":" + events.get(0).getId()));
+        assertTrue(lines.get(2).contains("\"id\":" + events.get(2).getId()));
+    }
+
+    /**
+     * Zahtev koji vraća Mono/Flux - prvo započet asinhroni zahtev, zatim odgovor (asyncDispatch)
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder)
+            throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
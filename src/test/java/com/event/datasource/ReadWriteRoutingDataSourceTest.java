@@ -0,0 +1,114 @@
+package com.event.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReadWriteRoutingDataSourceTest - rutiranje readOnly transakcija na replike
+ *
+ * Jedna baza glumi i primarnu i dve replike (replica-urls su isti URL) - pool se prepoznaje
+ * po application_name konekcije (event-primary, event-replica-1, event-replica-2).
+ */
+@SpringBootTest(properties = {
+        "event.read-routing.enabled=true",
+        // Merenje kašnjenja samo pri pokretanju - ne sme da poništi setLag iz testa
+        "event.read-routing.lag-check-interval=PT1H",
+        "event.upcoming-index.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("ReadWriteRoutingDataSource - čitanja sa replika, upisi na primarnu bazu")
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("event.read-routing.replica-urls", () -> postgres.getJdbcUrl() + "," + postgres.getJdbcUrl());
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaSelector replicaSelector;
+
+    @AfterEach
+    void tearDown() {
+        ReadRoutingContext.clear();
+        replicaSelector.setLag("replica-1", 0);
+        replicaSelector.setLag("replica-2", 0);
+    }
+
+    @Test
+    @DisplayName("readOnly transakcije treba da idu na replike, naizmenično")
+    void readOnlyTransaction_ShouldUseReplicasRoundRobin() {
+        // Act
+        Set<String> pools = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            pools.add(applicationName(true));
+        }
+
+        // Assert
+        assertEquals(Set.of("event-replica-1", "event-replica-2"), pools);
+    }
+
+    @Test
+    @DisplayName("Transakcija sa upisom treba da ide na primarnu bazu")
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertEquals("event-primary", applicationName(false));
+    }
+
+    @Test
+    @DisplayName("Posle upisa (read-your-writes) i readOnly transakcija treba da ide na primarnu bazu")
+    void readOnlyTransaction_WhenPinned_ShouldUsePrimary() {
+        // Arrange
+        ReadRoutingContext.pinToPrimary();
+
+        // Act & Assert
+        assertEquals("event-primary", applicationName(true));
+    }
+
+    @Test
+    @DisplayName("Replika koja kasni treba da se preskoči, a bez replika čita se sa primarne baze")
+    void readOnlyTransaction_WhenReplicasLag_ShouldSkipThem() {
+        // Arrange
+        replicaSelector.setLag("replica-1", 60_000);
+
+        // Act & Assert
+        assertEquals("event-replica-2", applicationName(true));
+        assertEquals("event-replica-2", applicationName(true));
+
+        replicaSelector.setLag("replica-2", 60_000);
+        assertEquals("event-primary", applicationName(true));
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
@@ -0,0 +1,44 @@
+package com.event.dto;
+
+import com.event.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventCursorTest - unit testovi za kodiranje/dekodiranje keyset kursora
+ */
+@DisplayName("EventCursor Unit Tests")
+class EventCursorTest {
+
+    @Test
+    @DisplayName("Treba da dekodira isti datum i ID koji su kodirani")
+    void encodeDecode_ShouldRoundTrip() {
+        // Arrange
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2026, 10, 15, 10, 0, 30), 42L);
+
+        // Act
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor.getEventDate(), decoded.getEventDate());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    @DisplayName("Prazan kursor treba da znači prvu stranicu")
+    void decode_WhenBlank_ShouldReturnStart() {
+        assertSame(EventCursor.START, EventCursor.decode(""));
+        assertSame(EventCursor.START, EventCursor.decode(null));
+    }
+
+    @Test
+    @DisplayName("Treba da baci InvalidRequestException za neispravan kursor")
+    void decode_WhenInvalid_ShouldThrow() {
+        assertThrows(InvalidRequestException.class, () -> EventCursor.decode("nije-kursor"));
+        assertThrows(InvalidRequestException.class, () -> EventCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.event.export;
+
+import com.event.dto.EventResponse;
+import com.event.exception.InvalidRequestException;
+import com.event.model.Event.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventExportWriterTest - unit testovi za NDJSON/CSV format exporta
+ */
+@DisplayName("EventExportWriter Unit Tests")
+class EventExportWriterTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    private final EventResponse event = EventResponse.builder()
+            .id(1L)
+            .title("Koncert, \"uživo\"")
+            .description("Prvi red\nDrugi red")
+            .eventDate(LocalDateTime.of(2026, 10, 15, 20, 0))
+            .location("Beograd")
+            .status(EventStatus.PUBLISHED)
+            .createdById(7L)
+            .createdByUsername("marko")
+            .build();
+    
+    @Test
+    @DisplayName("CSV treba da ima zaglavlje i da escape-uje zareze, navodnike i nove redove")
+    void write_Csv_ShouldEscapeSpecialCharacters() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // Act
+        try (EventExportWriter writer = new EventExportWriter(DataFormat.CSV, objectMapper, output)) {
+            writer.write(event);
+        }
+        
+        // Assert
+        String expected = EventExportWriter.CSV_HEADER + "\n"
+                + "1,\"Koncert, \"\"uživo\"\"\",\"Prvi red\nDrugi red\",2026-10-15T20:00,Beograd,PUBLISHED,7,marko,,\n";
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    @DisplayName("NDJSON treba da upiše jedan JSON objekat po redu")
+    void write_Ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // Act
+        try (EventExportWriter writer = new EventExportWriter(DataFormat.NDJSON, objectMapper, output)) {
+            writer.write(event);
+            writer.write(event);
+        }
+        
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(event, objectMapper.readValue(lines[0], EventResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Nepoznat format treba da baci InvalidRequestException")
+    void from_WhenUnknown_ShouldThrow() {
+        assertEquals(DataFormat.CSV, DataFormat.from(" CSV "));
+        assertThrows(InvalidRequestException.class, () -> DataFormat.from("xml"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.event.feed;
+
+import com.event.dto.EventChange;
+import com.event.dto.EventResponse;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.notify.PostgresListener;
+import com.event.repository.EventRepository;
+import com.event.repository.UserRepository;
+import com.event.service.EventChangedEvent.ChangeType;
+import com.event.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EventChangeFeedTest - promene kroz NOTIFY/LISTEN do pretplatnika, na pravoj bazi
+ *
+ * Izmene idu kroz EventService (kao iz kontrolera), pa poruka prolazi ceo put:
+ * AFTER_COMMIT → pg_notify → LISTEN konekcija → pretplatnik sa filterom.
+ *
+ * subscriber-buffer je mali (4) da bi se spor pretplatnik lako napunio.
+ */
+@SpringBootTest(properties = {
+        "event.upcoming-index.enabled=false",
+        "event.change-feed.subscriber-buffer=4"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EventChangeFeed - SSE tok promena preko LISTEN/NOTIFY")
+class EventChangeFeedTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EventChangeFeed eventChangeFeed;
+
+    @Autowired
+    private PostgresListener postgresListener;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User creator;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        creator = userRepository.save(user("creator"));
+        otherUser = userRepository.save(user("other"));
+
+        // LISTEN se otvara posle pokretanja aplikacije, na posebnoj niti
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!postgresListener.isListening() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(postgresListener.isListening(), "LISTEN konekcija nije otvorena");
+    }
+
+    @Test
+    @DisplayName("Pretplatnik sa userId filterom dobija samo promene događaja tog kreatora, redom")
+    void subscribe_WithCreatorFilter_ShouldReceiveMatchingChangesInOrder() throws Exception {
+        // Arrange
+        CompletableFuture<List<ServerSentEvent<Object>>> received = eventChangeFeed
+                .subscribe(null, creator.getId())
+                .filter(event -> EventChangeFeed.CHANGE.equals(event.event()))
+                .take(2)
+                .collectList()
+                .toFuture();
+
+        // Act
+        eventService.createEvent(event("Tuđi događaj"), otherUser.getId());
+        Event created = eventService.createEvent(event("Moj događaj"), creator.getId());
+        eventService.updateStatus(created.getId(), EventStatus.PUBLISHED, creator.getId(), null);
+
+        // Assert
+        List<ServerSentEvent<Object>> events = received.get(10, TimeUnit.SECONDS);
+        EventChange first = (EventChange) events.get(0).data();
+        EventChange second = (EventChange) events.get(1).data();
+
+        assertEquals(ChangeType.CREATED, first.getType());
+        assertEquals(created.getId(), first.getEventId());
+        assertEquals("Moj događaj", first.getEvent().getTitle());
+
+        assertEquals(ChangeType.STATUS_CHANGED, second.getType());
+        assertEquals(EventStatus.PUBLISHED, second.getStatus());
+        assertEquals(EventStatus.DRAFT, second.getPreviousStatus());
+        assertEquals(1L, second.getVersion());
+    }
+
+    @Test
+    @DisplayName("Spor pretplatnik - posle subscriber-buffer poruka dobija 'dropped' i veza se zatvara")
+    void subscribe_WhenSubscriberDoesNotRead_ShouldBeDropped() throws Exception {
+        // Arrange - pretplatnik koji ne traži nijedan element
+        List<ServerSentEvent<Object>> received = new CopyOnWriteArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        BaseSubscriber<ServerSentEvent<Object>> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(ServerSentEvent<Object> value) {
+                received.add(value);
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                completed.set(true);
+            }
+        };
+        eventChangeFeed.subscribe(null, null).subscribe(slow);
+
+        String payload = objectMapper.writeValueAsString(EventChange.builder()
+                .type(ChangeType.UPDATED)
+                .eventId(1L)
+                .createdById(creator.getId())
+                .status(EventStatus.DRAFT)
+                .event(EventResponse.builder().id(1L).title("Događaj").build())
+                .build());
+
+        // Act - više poruka nego što red pretplatnika prima
+        for (int i = 0; i < 10; i++) {
+            eventChangeFeed.onNotification(payload);
+        }
+        slow.request(Long.MAX_VALUE);
+
+        // Assert
+        assertTrue(completed.get());
+        assertTrue(received.size() <= 5, "Pretplatnik je dobio više poruka nego što red prima");
+        assertEquals(EventChangeFeed.DROPPED, received.get(received.size() - 1).event());
+    }
+
+    @Test
+    @DisplayName("Poruka o odbačenim promenama (pun NOTIFY red) - svi pretplatnici dobijaju 'resync'")
+    void onNotification_WhenNotifierOverflowed_ShouldSendResync() throws Exception {
+        // Arrange
+        CompletableFuture<ServerSentEvent<Object>> received = eventChangeFeed
+                .subscribe(EventStatus.PUBLISHED, creator.getId())
+                .filter(event -> event.event() != null)
+                .next()
+                .toFuture();
+
+        // Act
+        eventChangeFeed.onNotification(EventChangeFeed.OVERFLOW);
+
+        // Assert
+        assertEquals(EventChangeFeed.RESYNC, received.get(10, TimeUnit.SECONDS).event());
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build();
+    }
+
+    private static Event event(String title) {
+        return Event.builder()
+                .title(title)
+                .description("Opis")
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .location("Beograd")
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.event.metrics;
+
+import com.event.dto.EventFilter;
+import com.event.model.Event.EventStatus;
+import com.event.repository.UserRepository;
+import com.event.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ServiceMetricsAspectTest - unit testovi za tag "filters" i merenje poziva
+ */
+@DisplayName("ServiceMetricsAspect Unit Tests")
+class ServiceMetricsAspectTest {
+
+    @Test
+    @DisplayName("Tag filters treba da sadrži samo popunjene filtere, uvek istim redosledom")
+    void filters_ShouldListUsedFilters() {
+        // Arrange
+        EventFilter filter = EventFilter.builder()
+                .status(EventStatus.PUBLISHED)
+                .location("Beograd")
+                .title(" ")
+                .toDate(LocalDateTime.now())
+                .build();
+
+        // Act & Assert
+        assertEquals("location+status+toDate", ServiceMetricsAspect.filters(filter));
+        assertEquals("none", ServiceMetricsAspect.filters(new EventFilter()));
+        assertEquals("none", ServiceMetricsAspect.filters(new Object[]{1L, "tekst"}));
+    }
+
+    @Test
+    @DisplayName("Treba da izmeri poziv metode sa tagovima method, filters i exception")
+    void time_ShouldRecordTimerWithTags() {
+        // Arrange
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsByUsername("test")).thenReturn(true);
+        when(userRepository.existsByUsername("greska")).thenThrow(new IllegalStateException());
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UserService(userRepository, null, null, null));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        UserService userService = factory.getProxy();
+
+        // Act
+        assertTrue(userService.existsByUsername("test"));
+        assertThrows(IllegalStateException.class, () -> userService.existsByUsername("greska"));
+
+        // Assert
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("class", "UserService", "method", "existsByUsername",
+                        "filters", "none", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        Timer failed = meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("method", "existsByUsername", "exception", "IllegalStateException")
+                .timer();
+        assertNotNull(failed);
+        assertEquals(1, failed.count());
+    }
+}
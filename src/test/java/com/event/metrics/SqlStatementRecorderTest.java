@@ -0,0 +1,51 @@
+package com.event.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlStatementRecorderTest - unit testovi za oblik naredbe i ugnežđene logove
+ */
+@DisplayName("SqlStatementRecorder Unit Tests")
+class SqlStatementRecorderTest {
+
+    @Test
+    @DisplayName("Ista naredba sa različitim vrednostima treba da ima isti oblik")
+    void shape_ShouldIgnoreLiteralsAndWhitespace() {
+        assertEquals("select * from users where id = ? and username = ?",
+                SqlStatementRecorder.shape("select *\n  from users where id = 42 and username = 'o''neil'"));
+        assertEquals("select * from events where id in (?)",
+                SqlStatementRecorder.shape("select * from events where id in (?, ?,?)"));
+    }
+
+    @Test
+    @DisplayName("Treba da beleži samo dok je log otvoren, i u sve ugnežđene logove")
+    void record_ShouldCountIntoAllOpenLogs() {
+        // Arrange
+        SqlStatementRecorder.record("select 1");
+
+        // Act
+        try (StatementLog outer = SqlStatementRecorder.start()) {
+            SqlStatementRecorder.record("select * from users where id = ?");
+            try (StatementLog inner = SqlStatementRecorder.start()) {
+                SqlStatementRecorder.record("select * from users where id = ?");
+                SqlStatementRecorder.record("update events set status = ? where id = ?");
+
+                // Assert
+                assertEquals(2, inner.total());
+                assertEquals(1, inner.count("UPDATE"));
+            }
+            SqlStatementRecorder.record("select * from users where id = ?");
+
+            assertEquals(4, outer.total());
+            assertEquals(3, outer.count("select"));
+            assertEquals(3, outer.mostRepeated().orElseThrow().getValue());
+        }
+
+        try (StatementLog afterClose = SqlStatementRecorder.start()) {
+            assertEquals(0, afterClose.total());
+        }
+    }
+}
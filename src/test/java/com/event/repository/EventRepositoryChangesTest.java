@@ -0,0 +1,154 @@
+package com.event.repository;
+
+import com.event.dto.ChangeCursor;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.repository.EventRepositoryCustom.SyncChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventRepositoryChangesTest - promene za sinhronizaciju (findChangesAfter) redom upisa
+ *
+ * Transakcija koja je ranije počela a kasnije commit-ovala ne sme da završi iza kursora koji je
+ * klijent već dobio - promene posle nje se ne vraćaju dok se ona ne završi.
+ *
+ * Ceo kontekst (@SpringBootTest, sa schema.sql trigger-om) bez test transakcije.
+ */
+@SpringBootTest(properties = "event.upcoming-index.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EventRepository - promene za sinhronizaciju")
+class EventRepositoryChangesTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAllInBatch();
+        eventTombstoneRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        creator = userRepository.save(User.builder()
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Promena transakcije koja kasnije commit-uje treba da se vrati pre promena posle nje")
+    void findChangesAfter_WhenEarlierTransactionCommitsLater_ShouldNotSkipIt() throws Exception {
+        // Arrange - prva transakcija upisuje događaj i ostaje otvorena
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.saveAndFlush(event("Prvi"));
+            firstInserted.countDown();
+            await(commitFirst);
+        }));
+        assertTrue(firstInserted.await(10, TimeUnit.SECONDS));
+        eventRepository.save(event("Drugi"));
+
+        // Act - druga je commit-ovana, ali prva je još u toku
+        List<SyncChange> whileOpen = changesAfter(ChangeCursor.START);
+        commitFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        List<SyncChange> afterCommit = changesAfter(ChangeCursor.START);
+
+        // Assert - sa vremenskim kursorom "Drugi" bi bio vraćen, a "Prvi" (starije vreme) preskočen zauvek
+        assertTrue(whileOpen.isEmpty(), "Promene posle otvorene transakcije se još ne vraćaju");
+        assertEquals(List.of("Prvi", "Drugi"), afterCommit.stream().map(change -> change.event().getTitle()).toList());
+    }
+
+    @Test
+    @DisplayName("Brisanje treba da se vrati kao tombstone posle kursora poslednje viđene promene")
+    void findChangesAfter_ShouldReturnTombstoneAfterCursor() {
+        // Arrange
+        Event saved = eventRepository.save(event("Obrisan"));
+        SyncChange created = changesAfter(ChangeCursor.START).get(0);
+        ChangeCursor cursor = new ChangeCursor(created.changeXid(), created.changeSeq(), created.changedAt());
+        transactionTemplate.executeWithoutResult(status ->
+                eventRepository.deleteIfOwner(saved.getId(), creator.getId(), LocalDateTime.now()));
+
+        // Act
+        List<SyncChange> changes = changesAfter(cursor);
+
+        // Assert
+        assertEquals(1, changes.size());
+        assertTrue(changes.get(0).deleted());
+        assertEquals(saved.getId(), changes.get(0).id());
+    }
+
+    private List<SyncChange> changesAfter(ChangeCursor cursor) {
+        return transactionTemplate.execute(status -> eventRepository.findChangesAfter(cursor, 10));
+    }
+
+    private Event event(String title) {
+        return Event.builder()
+                .title(title)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .location("Beograd")
+                .status(EventStatus.DRAFT)
+                .createdBy(creator)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.event.repository;
+
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.repository.EventRepositoryCustom.EventUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventRepositoryConcurrentUpdateTest - prethodno stanje iz uslovnog UPDATE-a pri istovremenim izmenama
+ *
+ * Dve transakcije menjaju isti događaj: prva drži zaključan red dok druga čeka. Posle commit-a prve,
+ * druga mora da vrati stanje koje je prva upisala kao prethodno (ne snimak od pre čekanja) -
+ * od njega EventCounters i tok promena (previousStatus) računaju razliku.
+ *
+ * Ceo kontekst (@SpringBootTest) bez test transakcije - svaka strana ima svoju transakciju i commit.
+ */
+@SpringBootTest(properties = "event.upcoming-index.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EventRepository - uslovni UPDATE pri istovremenim izmenama")
+class EventRepositoryConcurrentUpdateTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private User creator;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        creator = userRepository.save(User.builder()
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("Događaj")
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .location("Beograd")
+                .status(EventStatus.DRAFT)
+                .createdBy(creator)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Izmena koja je čekala na zaključan red treba da vrati stanje koje je upisala prva izmena")
+    void updateStatusIfOwner_WhenRowIsLocked_ShouldReturnCommittedPrevious() throws Exception {
+        // Arrange - prva transakcija menja DRAFT → PUBLISHED i drži red zaključan
+        CountDownLatch firstUpdated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.updateStatusIfOwner(event.getId(), creator.getId(), null,
+                    EventStatus.PUBLISHED, LocalDateTime.now());
+            firstUpdated.countDown();
+            await(commitFirst);
+        }));
+        assertTrue(firstUpdated.await(10, TimeUnit.SECONDS));
+
+        // Act - druga transakcija (PUBLISHED → CANCELLED) čeka na zaključavanje
+        Future<EventUpdate> second = executor.submit(() -> transactionTemplate.execute(status ->
+                eventRepository.updateStatusIfOwner(event.getId(), creator.getId(), null,
+                        EventStatus.CANCELLED, LocalDateTime.now()).orElseThrow()));
+        Thread.sleep(300);
+        assertFalse(second.isDone(), "Druga izmena treba da čeka na zaključan red");
+        commitFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        EventUpdate update = second.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(EventStatus.PUBLISHED, update.previous().getStatus());
+        assertEquals(1L, update.previous().getVersion());
+        assertEquals(EventStatus.CANCELLED, update.event().getStatus());
+        assertEquals(2L, update.event().getVersion());
+    }
+
+    @Test
+    @DisplayName("If-Match verzija koju je istovremena izmena već promenila ne treba da izmeni red")
+    void updateStatusIfOwner_WhenVersionChangedWhileWaiting_ShouldNotUpdate() throws Exception {
+        // Arrange
+        CountDownLatch firstUpdated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.updateStatusIfOwner(event.getId(), creator.getId(), 0L,
+                    EventStatus.PUBLISHED, LocalDateTime.now());
+            firstUpdated.countDown();
+            await(commitFirst);
+        }));
+        assertTrue(firstUpdated.await(10, TimeUnit.SECONDS));
+
+        // Act - i druga očekuje verziju 0
+        Future<Boolean> second = executor.submit(() -> transactionTemplate.execute(status ->
+                eventRepository.updateStatusIfOwner(event.getId(), creator.getId(), 0L,
+                        EventStatus.CANCELLED, LocalDateTime.now()).isPresent()));
+        Thread.sleep(300);
+        commitFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(second.get(10, TimeUnit.SECONDS));
+        assertEquals(EventStatus.PUBLISHED, eventRepository.findById(event.getId()).orElseThrow().getStatus());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.event.repository;
+
+import com.event.dto.EventCursor;
+import com.event.dto.EventFilter;
+import com.event.dto.EventResponse;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EventRepositoryTest - integration testovi za listing upite EventRepository-ja
+ *
+ * @DataJpaTest - podiže samo JPA sloj (entiteti + repository-ji), bez kontrolera i servisa
+ * @Testcontainers - pokreće pravi PostgreSQL u Docker kontejneru (preskače se ako Docker nije dostupan)
+ * @AutoConfigureTestDatabase(replace = NONE) - ne menja bazu embedded bazom, koristimo kontejner
+ *
+ * Hibernate statistika (generate_statistics) broji SQL naredbe, pa možemo da proverimo
+ * da listing stranica ne pravi N+1 upite za kreatora događaja.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EventRepository Integration Tests")
+class EventRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private User creator;
+
+    /**
+     * Pravi korisnika i 5 objavljenih događaja, pa prazni persistence context
+     * da bi upiti zaista išli u bazu
+     */
+    @BeforeEach
+    void setUp() {
+        creator = entityManager.persist(User.builder()
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(Event.builder()
+                    .title("Događaj " + i)
+                    .description("Opis " + i)
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .location("Beograd")
+                    .status(EventStatus.PUBLISHED)
+                    .createdBy(creator)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Stranica po statusu treba da bude jedan upit za podatke + jedan COUNT, bez učitavanja kreatora")
+    void findResponsesByStatus_ShouldUseOneDataQueryAndOneCountQuery() {
+        // Act
+        Page<EventResponse> page = eventRepository.findResponsesByStatus(EventStatus.PUBLISHED, PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(3, page.getContent().size());
+        assertEquals(5, page.getTotalElements());
+        assertEquals("creator", page.getContent().get(0).getCreatedByUsername());
+        assertEquals(2, statistics.getPrepareStatementCount(), "Očekuje se tačno jedan upit za podatke i jedan COUNT");
+        assertEquals(0, statistics.getEntityLoadCount(), "Ne treba da se učitavaju entiteti (ni kreator)");
+    }
+
+    @Test
+    @DisplayName("Stranice po korisniku i budući događaji ne treba da prave N+1 upite")
+    void listingQueries_ShouldNotLoadCreatorPerRow() {
+        // Act
+        Page<EventResponse> byUser = eventRepository.findResponsesByCreatedById(creator.getId(), PageRequest.of(0, 10));
+        long afterUserPage = statistics.getPrepareStatementCount();
+        Page<EventResponse> upcoming = eventRepository.findUpcomingResponses(
+                EventStatus.PUBLISHED, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        // Assert - cela stranica stane na jednu stranu, pa Spring preskače COUNT upit
+        assertEquals(5, byUser.getContent().size());
+        assertEquals(5, upcoming.getContent().size());
+        assertTrue(afterUserPage <= 2, "Najviše jedan upit za podatke i jedan COUNT po stranici");
+        assertTrue(statistics.getPrepareStatementCount() - afterUserPage <= 2,
+                "Najviše jedan upit za podatke i jedan COUNT po stranici");
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Keyset stranica treba da bude tačno jedan upit")
+    void findResponsesAfter_ShouldUseSingleQuery() {
+        // Act
+        List<EventResponse> rows = eventRepository.findResponsesAfter(
+                EventSpecifications.matching(new EventFilter()), EventCursor.START, 4);
+
+        // Assert
+        assertEquals(4, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Filteri treba da se primene samo ako su poslati")
+    void findResponses_WithFilters_ShouldApplyOnlySuppliedPredicates() {
+        // Arrange
+        EventFilter filter = EventFilter.builder()
+                .title("događaj 3")
+                .status(EventStatus.PUBLISHED)
+                .build();
+
+        // Act
+        Page<EventResponse> page = eventRepository.findResponses(
+                EventSpecifications.matching(filter), PageRequest.of(0, 10));
+        Page<EventResponse> none = eventRepository.findResponses(
+                EventSpecifications.matching(EventFilter.builder().location("100%").build()), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Događaj 3", page.getContent().get(0).getTitle());
+        assertEquals(0, none.getTotalElements(), "% iz unosa treba da se traži doslovno");
+    }
+    
+    @Test
+    @DisplayName("Scroll treba da prođe kroz sve događaje po id-u, jednim upitom i sa učitanim kreatorom")
+    void scroll_ShouldVisitAllMatchingEventsInIdOrder() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        List<String> creators = new ArrayList<>();
+        
+        // Act - fetch size 2 znači da se persistence context prazni više puta tokom čitanja
+        eventRepository.scroll(EventSpecifications.matching(new EventFilter()), 2, event -> {
+            ids.add(event.getId());
+            creators.add(event.getCreatedBy().getUsername());
+        });
+        
+        // Assert
+        assertEquals(5, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertTrue(creators.stream().allMatch("creator"::equals));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Kreator treba da se čita u istom upitu (JOIN FETCH)");
+    }
+    
+    @Test
+    @DisplayName("insertAll treba da dodeli ID-eve iz sekvence i sačuva sve događaje")
+    void insertAll_ShouldAssignSequenceIdsAndPersistAll() {
+        // Arrange
+        User managedCreator = entityManager.find(User.class, creator.getId());
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            events.add(Event.builder()
+                    .title("Batch " + i)
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .location("Niš")
+                    .status(EventStatus.DRAFT)
+                    .createdBy(managedCreator)
+                    .build());
+        }
+        
+        // Act - flush + clear posle svaka 3 događaja
+        eventRepository.insertAll(events, 3);
+        
+        // Assert
+        assertTrue(events.stream().allMatch(event -> event.getId() != null));
+        assertEquals(7, events.stream().map(Event::getId).distinct().count());
+        assertEquals(12, eventRepository.count());
+    }
+}
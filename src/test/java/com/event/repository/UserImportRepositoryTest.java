@@ -0,0 +1,90 @@
+package com.event.repository;
+
+import com.event.dto.BatchResult;
+import com.event.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserImportRepositoryTest - integration test za uvoz korisnika kroz COPY
+ * 
+ * @Import - UserImportRepository nije Spring Data repository, pa ga @DataJpaTest ne podiže sam.
+ * Test je @Transactional (kao svaki @DataJpaTest), pa privremena tabela živi do kraja testa.
+ */
+@DataJpaTest
+@Import(UserImportRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("UserImportRepository Integration Tests")
+class UserImportRepositoryTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    @Autowired
+    private UserImportRepository userImportRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Test
+    @DisplayName("Treba da doda ispravne redove, a neispravne i duplikate odbije sa razlogom")
+    void copyCsv_ShouldInsertValidRowsAndRejectDuplicates() {
+        // Arrange - "postojeci" već postoji u bazi
+        entityManager.persistAndFlush(User.builder()
+                .username("postojeci")
+                .email("postojeci@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build());
+        String csv = "username,email,password,role\n"
+                + "ana,ana@example.com,password123,USER\n"
+                + "postojeci,drugi@example.com,password123,USER\n"
+                + "ana,ana2@example.com,password123,ADMIN\n"
+                + "bo,bo@example.com,password123,USER\n"
+                + "\"petar, ml.\",petar@example.com,password123,USER\n";
+        
+        // Act
+        userImportRepository.createStagingTable();
+        userImportRepository.copyCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        long staged = userImportRepository.countStaged();
+        int rejected = userImportRepository.markRejected();
+        int inserted = userImportRepository.insertAccepted();
+        List<BatchResult.ItemError> errors = userImportRepository.findRejected(10);
+        
+        // Assert
+        assertEquals(5, staged);
+        assertEquals(3, rejected);
+        assertEquals(2, inserted);
+        assertEquals(List.of(1L, 2L, 3L), errors.stream().map(BatchResult.ItemError::getIndex).toList());
+        assertTrue(errors.get(0).getMessages().get(0).contains("već postoji"));
+        assertTrue(errors.get(1).getMessages().get(0).contains("ponavlja"));
+        assertTrue(userRepository.existsByUsername("petar, ml."));
+    }
+}
@@ -0,0 +1,340 @@
+package com.event.service;
+
+import com.event.cache.EventCountCache;
+import com.event.cache.EventCounters;
+import com.event.cache.EventResponseCache;
+import com.event.cache.UpcomingEventsIndex;
+import com.event.dto.BatchResult;
+import com.event.dto.ChangeCursor;
+import com.event.dto.EventRequest;
+import com.event.dto.EventResponse;
+import com.event.dto.EventSyncResponse;
+import com.event.dto.EventVersion;
+import com.event.dto.TotalMode;
+import com.event.exception.CursorExpiredException;
+import com.event.exception.InvalidRequestException;
+import com.event.exception.PreconditionFailedException;
+import com.event.exception.UnauthorizedException;
+import com.event.model.Event;
+import com.event.model.Event.EventStatus;
+import com.event.model.User;
+import com.event.repository.EventRepository;
+import com.event.repository.EventRepositoryCustom.SyncChange;
+import com.event.repository.EventTombstoneRepository;
+import com.event.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * EventServiceTest - unit testovi za masovno kreiranje događaja (EventService.createEvents)
+ * i računanje ukupnog broja elemenata po totalMode, kao i za razloge odbijanja uslovne izmene
+ * i inkrementalnu sinhronizaciju (findChangesSince)
+ * 
+ * Repository-ji su mock-ovi, a Validator je pravi (iste anotacije kao za @Valid EventRequest).
+ * EventService se pravi ručno jer @InjectMocks ne može da ubaci pravi Validator.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventService Unit Tests")
+class EventServiceTest {
+    
+    @Mock
+    private EventRepository eventRepository;
+    
+    @Mock
+    private EventTombstoneRepository eventTombstoneRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private EventResponseCache eventResponseCache;
+    
+    @Mock
+    private UpcomingEventsIndex upcomingEventsIndex;
+    
+    @Mock
+    private EventCountCache eventCountCache;
+    
+    @Mock
+    private EventCounters eventCounters;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private EventService eventService;
+    
+    private User creator;
+    
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        eventService = new EventService(eventRepository, eventTombstoneRepository, userRepository, eventResponseCache,
+                upcomingEventsIndex, eventCountCache, eventCounters, eventPublisher, validator);
+        ReflectionTestUtils.setField(eventService, "batchMaxSize", 100);
+        ReflectionTestUtils.setField(eventService, "batchFlushSize", 50);
+        ReflectionTestUtils.setField(eventService, "syncMaxSize", 100);
+        ReflectionTestUtils.setField(eventService, "tombstoneRetention", Duration.ofDays(30));
+        
+        creator = User.builder()
+                .id(1L)
+                .username("creator")
+                .email("creator@example.com")
+                .password("password123")
+                .role(User.Role.USER)
+                .build();
+    }
+    
+    @Test
+    @DisplayName("Neispravne stavke treba da se prijave, a ispravne sačuvaju jednim pozivom")
+    void createEvents_WithInvalidItems_ShouldSaveValidOnesAndReportErrors() {
+        // Arrange
+        EventRequest valid = request("Konferencija", null);
+        EventRequest missingTitle = request("", null);
+        EventRequest unknownUser = request("Meetup", 999L);
+        
+        when(userRepository.findAllById(Set.of(1L, 999L))).thenReturn(List.of(creator));
+        doAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0);
+            long id = 100;
+            for (Event event : events) {
+                event.setId(id++);
+            }
+            return null;
+        }).when(eventRepository).insertAll(anyList(), anyInt());
+        
+        // Act
+        BatchResult result = eventService.createEvents(List.of(valid, missingTitle, unknownUser), 1L);
+        
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(100L), result.getCreatedIds());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertTrue(result.getErrors().get(0).getMessages().get(0).startsWith("title:"));
+        assertEquals(2, result.getErrors().get(1).getIndex());
+        
+        // Kreatori se učitavaju jednom za sve stavke
+        verify(userRepository, times(1)).findAllById(any());
+        verify(eventRepository, times(1)).insertAll(anyList(), eq(50));
+        verify(eventPublisher, times(1)).publishEvent(any(EventChangedEvent.class));
+    }
+    
+    @Test
+    @DisplayName("Treba da odbije zahtev sa više stavki od dozvoljenog")
+    void createEvents_WhenTooLarge_ShouldThrow() {
+        // Arrange
+        List<EventRequest> requests = Collections.nCopies(101, request("Događaj", null));
+        
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> eventService.createEvents(requests, 1L));
+        verifyNoInteractions(eventRepository);
+    }
+    
+    @Test
+    @DisplayName("totalMode=none treba da vrati Slice bez COUNT upita")
+    void findByStatus_WhenTotalModeNone_ShouldNotCount() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2);
+        when(eventRepository.findResponseSliceByStatus(EventStatus.PUBLISHED, pageable))
+                .thenReturn(new SliceImpl<>(responses(2), pageable, true));
+        
+        // Act
+        Slice<EventResponse> result = eventService.findByStatus(EventStatus.PUBLISHED, 0, 2, TotalMode.NONE);
+        
+        // Assert
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        verify(eventRepository, never()).countByStatus(any());
+        verifyNoInteractions(eventCountCache);
+    }
+    
+    @Test
+    @DisplayName("totalMode=estimated treba da uskladi procenu sa pročitanim redovima")
+    void findByStatus_WhenTotalModeEstimated_ShouldAdjustEstimate() {
+        // Arrange - procena (3) je manja od onoga što je već pročitano (stranica 2 od po 2, ima sledeća)
+        Pageable pageable = PageRequest.of(2, 2);
+        when(eventRepository.findResponseSliceByStatus(EventStatus.PUBLISHED, pageable))
+                .thenReturn(new SliceImpl<>(responses(2), pageable, true));
+        when(eventCountCache.get(anyString(), any(), any())).thenReturn(3L);
+        
+        // Act
+        Slice<EventResponse> result = eventService.findByStatus(EventStatus.PUBLISHED, 2, 2, TotalMode.ESTIMATED);
+        
+        // Assert - bar 6 pročitanih + 1 sledeći
+        Page<EventResponse> page = assertInstanceOf(Page.class, result);
+        assertEquals(7, page.getTotalElements());
+        assertFalse(page.isLast());
+        verify(eventRepository, never()).findResponsesByStatus(any(), any());
+    }
+    
+    @Test
+    @DisplayName("totalMode=estimated na poslednjoj stranici treba da vrati tačan ukupan broj")
+    void findByUserId_WhenEstimatedOnLastPage_ShouldReturnExactTotal() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 10);
+        when(eventRepository.findResponseSliceByCreatedById(1L, pageable))
+                .thenReturn(new SliceImpl<>(responses(4), pageable, false));
+        when(eventCountCache.get(anyString(), any(), any())).thenReturn(100L);
+        
+        // Act
+        Slice<EventResponse> result = eventService.findByUserId(1L, 1, 10, TotalMode.ESTIMATED);
+        
+        // Assert
+        Page<EventResponse> page = assertInstanceOf(Page.class, result);
+        assertEquals(14, page.getTotalElements());
+        assertTrue(page.isLast());
+        verify(eventRepository, never()).countByCreatedById(anyLong());
+    }
+    
+    @Test
+    @DisplayName("totalMode=estimated sa napunjenim brojačima treba da uzme totalElements iz brojača bez COUNT upita")
+    void findByStatus_WhenEstimatedAndCountersReady_ShouldUseCounter() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2);
+        when(eventCounters.isReady()).thenReturn(true);
+        when(eventCounters.countByStatus(EventStatus.PUBLISHED)).thenReturn(42L);
+        when(eventRepository.findResponseSliceByStatus(EventStatus.PUBLISHED, pageable))
+                .thenReturn(new SliceImpl<>(responses(2), pageable, true));
+        
+        // Act
+        Slice<EventResponse> result = eventService.findByStatus(EventStatus.PUBLISHED, 0, 2, TotalMode.ESTIMATED);
+        
+        // Assert
+        Page<EventResponse> page = assertInstanceOf(Page.class, result);
+        assertEquals(42, page.getTotalElements());
+        assertEquals(21, page.getTotalPages());
+        verify(eventRepository, never()).findResponsesByStatus(any(), any());
+        verify(eventRepository, never()).countByStatus(any());
+        verifyNoInteractions(eventCountCache);
+    }
+    
+    @Test
+    @DisplayName("totalMode=exact treba da uradi COUNT i kada su brojači napunjeni (brojači kasne za drugim čvorovima)")
+    void findByStatus_WhenExact_ShouldCountEvenWithCounters() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2);
+        when(eventRepository.findResponsesByStatus(EventStatus.PUBLISHED, pageable))
+                .thenReturn(new PageImpl<>(responses(2), pageable, 5));
+        
+        // Act
+        Slice<EventResponse> result = eventService.findByStatus(EventStatus.PUBLISHED, 0, 2, TotalMode.EXACT);
+        
+        // Assert
+        assertEquals(5, assertInstanceOf(Page.class, result).getTotalElements());
+        verifyNoInteractions(eventCounters);
+    }
+    
+    @Test
+    @DisplayName("Kada UPDATE ne izmeni red a vlasnik je isti, zastarela If-Match verzija treba da da 412")
+    void updateEvent_WhenVersionIsStale_ShouldThrowPreconditionFailed() {
+        // Arrange
+        Event changes = request("Konferencija", null).toEntity();
+        when(eventRepository.updateIfOwner(eq(10L), eq(1L), eq(3L), eq(changes), any()))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findVersionById(10L))
+                .thenReturn(Optional.of(new EventVersion(10L, 1L, 4L, LocalDateTime.now())));
+        
+        // Act
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> eventService.updateEvent(10L, changes, 1L, 3L));
+        
+        // Assert
+        assertEquals(4L, exception.getCurrentVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Kada UPDATE ne izmeni red a kreator je drugi, treba da baci UnauthorizedException pre provere verzije")
+    void updateStatus_WhenNotOwner_ShouldThrowUnauthorized() {
+        // Arrange
+        when(eventRepository.updateStatusIfOwner(eq(10L), eq(2L), eq(3L), eq(EventStatus.PUBLISHED), any()))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findVersionById(10L))
+                .thenReturn(Optional.of(new EventVersion(10L, 1L, 4L, LocalDateTime.now())));
+        
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> eventService.updateStatus(10L, EventStatus.PUBLISHED, 2L, 3L));
+    }
+    
+    @Test
+    @DisplayName("Sinhronizacija treba da razdvoji izmene i brisanja i vrati kursor poslednje promene")
+    void findChangesSince_ShouldSplitUpdatesAndTombstonesAndAdvanceCursor() {
+        // Arrange - size = 2, repository vraća size + 1 promenu (postoji sledeća stranica)
+        LocalDateTime at = LocalDateTime.of(2026, 10, 1, 12, 0);
+        EventResponse updated = EventResponse.builder().id(5L).title("Izmenjen").build();
+        when(eventRepository.findChangesAfter(ChangeCursor.START, 3))
+                .thenReturn(List.of(
+                        new SyncChange(5L, 1L, at, 100L, 1L, updated),
+                        new SyncChange(7L, 1L, at.plusSeconds(1), 100L, 2L, null),
+                        new SyncChange(9L, 1L, at.plusSeconds(2), 101L, 3L, EventResponse.builder().id(9L).build())));
+        
+        // Act
+        EventSyncResponse response = eventService.findChangesSince(null, 2);
+        
+        // Assert
+        assertEquals(List.of(updated), response.getUpdated());
+        assertEquals(1, response.getDeleted().size());
+        assertEquals(7L, response.getDeleted().get(0).getId());
+        assertTrue(response.isHasMore());
+        assertEquals(new ChangeCursor(100L, 2L, at.plusSeconds(1)), ChangeCursor.decode(response.getNextCursor()));
+    }
+    
+    @Test
+    @DisplayName("Kursor stariji od čuvanja tombstone-a treba da da CursorExpiredException (410) bez upita")
+    void findChangesSince_WhenCursorIsOlderThanRetention_ShouldThrowCursorExpired() {
+        // Arrange
+        String since = new ChangeCursor(100L, 5L, LocalDateTime.now().minusDays(31)).encode();
+        
+        // Act & Assert
+        assertThrows(CursorExpiredException.class, () -> eventService.findChangesSince(since, 100));
+        verify(eventRepository, never()).findChangesAfter(any(), anyInt());
+    }
+    
+    private List<EventResponse> responses(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> EventResponse.builder().id(id).title("Događaj " + id).build())
+                .toList();
+    }
+    
+    private EventRequest request(String title, Long userId) {
+        return EventRequest.builder()
+                .title(title)
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .location("Beograd")
+                .userId(userId)
+                .build();
+    }
+}
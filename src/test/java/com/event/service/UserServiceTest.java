@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -41,6 +42,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * @InjectMocks - ovo je pravi UserService, ali sa mock-ovanim Repository-jem
      * Kada UserService pozove userRepository.save(), to je mock poziv
@@ -227,7 +231,7 @@ class UserServiceTest {
     }
     
     @Test
-    @DisplayName("Treba da obriše korisnika po ID-u")
+    @DisplayName("Treba da obriše korisnika po ID-u i objavi UserDeletedEvent")
     void deleteById_ShouldDeleteUserById() {
         // Arrange
         Long userId = 1L;
@@ -237,5 +241,7 @@ class UserServiceTest {
         
         // Assert
         verify(userRepository, times(1)).deleteById(userId);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserDeletedEvent deleted && deleted.getUserId().equals(userId)));
     }
 }